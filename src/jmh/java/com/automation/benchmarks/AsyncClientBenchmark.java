@@ -0,0 +1,95 @@
+package com.automation.benchmarks;
+
+import com.automation.api.ApiResponse;
+import com.automation.api.RestApiClient;
+import com.automation.config.ConfigManager;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+/**
+ * Fan-out of independent GETs: blocking RestAssured verbs vs CompletableFuture verbs.
+ * Both run against a local stub that adds a fixed server-side delay to model network wait.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AsyncClientBenchmark {
+    private static final byte[] POST = "{\"userId\":1,\"id\":1,\"title\":\"title\",\"body\":\"body\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Param({"50"})
+    public int requests;
+
+    @Param({"5"})
+    public int serverDelayMs;
+
+    private HttpServer server;
+
+    @Setup
+    public void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(64));
+        server.createContext("/posts", exchange -> {
+            try {
+                Thread.sleep(serverDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, POST.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(POST);
+            }
+        });
+        server.start();
+        ConfigManager.getInstance().setOverride("api.base.url", "http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @TearDown
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Benchmark
+    public void blockingFanOut(Blackhole blackhole) {
+        RestApiClient client = new RestApiClient();
+        for (int i = 0; i < requests; i++) {
+            blackhole.consume(client.get("/posts/1").getStatusCode());
+        }
+    }
+
+    @Benchmark
+    public void asyncFanOut(Blackhole blackhole) {
+        RestApiClient client = new RestApiClient();
+        List<CompletableFuture<ApiResponse>> futures = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            futures.add(client.getAsync("/posts/1"));
+        }
+        for (CompletableFuture<ApiResponse> future : futures) {
+            blackhole.consume(future.join().getStatusCode());
+        }
+    }
+}
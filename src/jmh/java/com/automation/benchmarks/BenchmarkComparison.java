@@ -0,0 +1,91 @@
+package com.automation.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files, e.g. from the commit before and after a change.
+ * A result counts as a regression when it got worse by more than the threshold and by more
+ * than the two results' error margins combined; throughput is better higher, all other modes lower.
+ * Usage: BenchmarkComparison baseline.json candidate.json [threshold percent, default 10]
+ */
+public final class BenchmarkComparison {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <candidate.json> [threshold %]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        Map<String, JsonNode> baseline = load(new File(args[0]));
+        Map<String, JsonNode> candidate = load(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s%n", "Benchmark", "Baseline", "Candidate", "Change");
+        for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue().path("primaryMetric");
+            String unit = after.path("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s  %s%n", entry.getKey(), "-", after.path("score").asDouble(), "new", unit);
+                continue;
+            }
+            before = before.path("primaryMetric");
+            double oldScore = before.path("score").asDouble();
+            double newScore = after.path("score").asDouble();
+            double change = oldScore == 0 ? 0 : 100 * (newScore - oldScore) / oldScore;
+            boolean higherIsBetter = "thrpt".equals(entry.getValue().path("mode").asText());
+            double worsening = higherIsBetter ? -change : change;
+            double noise = errorOf(before) + errorOf(after);
+            boolean regression = worsening > threshold && Math.abs(newScore - oldScore) > noise;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), oldScore, newScore, change, unit,
+                    regression ? "  REGRESSION" : "");
+        }
+        baseline.keySet().stream()
+                .filter(key -> !candidate.containsKey(key))
+                .forEach(key -> System.out.printf("%-70s %14s%n", key, "removed"));
+
+        System.out.printf("%d regression(s) above %.1f%%%n", regressions, threshold);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Results keyed by benchmark, mode and parameters
+     */
+    private static Map<String, JsonNode> load(File file) throws IOException {
+        Map<String, JsonNode> results = new TreeMap<>();
+        for (JsonNode result : objectMapper.readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText()
+                    .replace("com.automation.benchmarks.", ""))
+                    .append(" [").append(result.path("mode").asText());
+            Iterator<Map.Entry<String, JsonNode>> params = result.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(", ").append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            results.put(key.append(']').toString(), result);
+        }
+        return results;
+    }
+
+    private static double errorOf(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble();
+        // Single-iteration results report NaN as their error
+        return Double.isNaN(error) ? 0 : error;
+    }
+}
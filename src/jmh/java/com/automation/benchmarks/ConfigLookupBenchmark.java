@@ -0,0 +1,54 @@
+package com.automation.benchmarks;
+
+import com.automation.config.ConfigManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration lookups made from steps, hooks and page objects: untyped getProperty and
+ * getIntProperty against the snapshot's resolved map vs a typed getter reading a parsed field.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigLookupBenchmark {
+    private ConfigManager config;
+
+    @Setup
+    public void loadConfig() {
+        config = ConfigManager.getInstance();
+    }
+
+    @Benchmark
+    public String getProperty() {
+        return config.getProperty("api.base.url");
+    }
+
+    @Benchmark
+    public String getPropertyWithDefault() {
+        return config.getProperty("no.such.property", "default");
+    }
+
+    @Benchmark
+    public int getIntProperty() {
+        return config.getIntProperty("app.explicit.wait");
+    }
+
+    @Benchmark
+    public int typedGetter() {
+        return config.getExplicitWait();
+    }
+}
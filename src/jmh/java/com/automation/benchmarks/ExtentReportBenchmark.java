@@ -0,0 +1,36 @@
+package com.automation.benchmarks;
+
+import com.automation.utils.ExtentReportsUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-scenario report bookkeeping of the Cucumber hooks: ExtentReportsUtils.startTest and
+ * endTest for a passed scenario. The report keeps every test it has seen, so each measurement is
+ * a fixed batch of scenarios rather than as many as fit in a time window.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, batchSize = 1000)
+@Measurement(iterations = 10, batchSize = 1000)
+@Fork(1)
+public class ExtentReportBenchmark {
+    private long scenario;
+
+    @Benchmark
+    public void startAndEndTest() {
+        String name = "Scenario " + scenario++;
+        ExtentReportsUtils.startTest(name);
+        ExtentReportsUtils.endTest(name, true);
+    }
+}
@@ -0,0 +1,124 @@
+package com.automation.benchmarks;
+
+import com.automation.api.AsyncHttpTransport;
+import com.automation.metrics.LatencyRecorder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.io.ConnectionStatistics;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bursts of concurrent GETs against a local Jetty server speaking HTTP/1.1 and h2c:
+ * the transport's HTTP/1.1 client (a connection per in-flight request) vs its HTTP/2
+ * client (streams multiplexed over one connection). Each operation is one burst; the
+ * per-request latency distribution and the number of connections the server accepted
+ * are printed at the end of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpVersionBenchmark {
+    private static final byte[] BODY = ("{\"userId\":1,\"id\":1,\"title\":\"sunt aut facere repellat provident\","
+            + "\"body\":\"quia et suscipit suscipit recusandae consequuntur expedita et cum\"}").getBytes(StandardCharsets.UTF_8);
+
+    @Param({"HTTP_1_1", "HTTP_2"})
+    public String version;
+
+    // Requests in flight at once, as with parallel API scenarios hitting one host
+    @Param({"1", "64"})
+    public int concurrency;
+
+    private Server server;
+    private ConnectionStatistics connectionStats;
+    private ExecutorService executor;
+    private HttpClient client;
+    private HttpRequest request;
+    private final LatencyRecorder latencies = new LatencyRecorder();
+
+    @Setup
+    public void start() throws Exception {
+        server = new Server();
+        HttpConfiguration httpConfig = new HttpConfiguration();
+        ServerConnector connector = new ServerConnector(server,
+                new HttpConnectionFactory(httpConfig), new HTTP2CServerConnectionFactory(httpConfig));
+        connector.setHost("127.0.0.1");
+        connector.setPort(0);
+        connectionStats = new ConnectionStatistics();
+        connector.addBean(connectionStats);
+        server.addConnector(connector);
+        server.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest servletRequest,
+                               HttpServletResponse response) throws IOException {
+                response.setStatus(200);
+                response.setContentType("application/json");
+                response.setContentLength(BODY.length);
+                response.getOutputStream().write(BODY);
+                baseRequest.setHandled(true);
+            }
+        });
+        server.start();
+
+        executor = Executors.newFixedThreadPool(16);
+        client = AsyncHttpTransport.newClient(HttpClient.Version.valueOf(version), executor);
+        request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + connector.getLocalPort() + "/posts/1")).build();
+        // The first h2c request performs the HTTP/1.1 upgrade; keep it out of the measurement
+        client.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    @Benchmark
+    public int burst() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            long start = System.nanoTime();
+            responses[i] = client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                    .thenApply(response -> {
+                        latencies.record(version, System.nanoTime() - start);
+                        return response.body().length;
+                    });
+        }
+        CompletableFuture.allOf(responses).join();
+        return responses.length;
+    }
+
+    @TearDown
+    public void stop() throws Exception {
+        System.out.printf("%n%s x%d: server accepted %d connections (max %d open), per-request latency %s%n",
+                version, concurrency, connectionStats.getConnectionsTotal(), connectionStats.getConnectionsMax(),
+                latencies.summaries().get(version));
+        server.stop();
+        executor.shutdownNow();
+    }
+}
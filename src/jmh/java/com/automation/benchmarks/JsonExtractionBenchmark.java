@@ -0,0 +1,105 @@
+package com.automation.benchmarks;
+
+import com.automation.api.json.JsonDocument;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.restassured.path.json.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repeated assertions on a large array payload, as ApiTestSteps performs them:
+ * GPath re-parsing the body for every assertion vs a JsonDocument parsed once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonExtractionBenchmark {
+
+    @Param({"100", "5000"})
+    public int elements;
+
+    // Number of Then steps asserting on the same response
+    @Param({"3"})
+    public int assertions;
+
+    private String body;
+    private byte[] bodyBytes;
+    private JsonPath parsedJsonPath;
+    private JsonDocument parsedDocument;
+
+    @Setup
+    public void createPayload() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= elements; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append("{\"userId\":").append(i % 10 + 1)
+                    .append(",\"id\":").append(i)
+                    .append(",\"title\":\"title ").append(i)
+                    .append("\",\"body\":\"body of post ").append(i).append("\"}");
+        }
+        body = json.append(']').toString();
+        bodyBytes = body.getBytes(StandardCharsets.UTF_8);
+        parsedJsonPath = new JsonPath(body);
+        parsedDocument = JsonDocument.parse(bodyBytes);
+    }
+
+    @Benchmark
+    public void gpathParseEveryAssertion(Blackhole blackhole) {
+        for (int i = 0; i < assertions; i++) {
+            List<Map<String, Object>> posts = new JsonPath(body).getList("$");
+            for (Map<String, Object> post : posts) {
+                blackhole.consume(post.containsKey("id"));
+            }
+        }
+    }
+
+    @Benchmark
+    public void documentParseOnce(Blackhole blackhole) {
+        JsonDocument document = JsonDocument.parse(bodyBytes);
+        for (int i = 0; i < assertions; i++) {
+            for (JsonNode post : document.getArray("$")) {
+                blackhole.consume(post.has("id"));
+            }
+        }
+    }
+
+    @Benchmark
+    public Object gpathParseOnly() {
+        return new JsonPath(body).getList("$");
+    }
+
+    @Benchmark
+    public Object documentParseOnly() {
+        return JsonDocument.parse(bodyBytes);
+    }
+
+    @Benchmark
+    public void gpathQueryOnly(Blackhole blackhole) {
+        blackhole.consume(parsedJsonPath.getString("[42].title"));
+    }
+
+    @Benchmark
+    public void documentQueryOnly(Blackhole blackhole) {
+        blackhole.consume(parsedDocument.getString("[42].title"));
+    }
+}
@@ -0,0 +1,39 @@
+package com.automation.benchmarks;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+
+/**
+ * WebDriver that talks to no browser, so benchmarks measure the framework code around driver calls.
+ * Screenshots return a fixed base64 PNG; lookups find nothing and other calls return null.
+ */
+final class NoOpWebDriver {
+
+    private NoOpWebDriver() {
+    }
+
+    static WebDriver create(String screenshotBase64) {
+        return (WebDriver) Proxy.newProxyInstance(NoOpWebDriver.class.getClassLoader(),
+                new Class<?>[]{WebDriver.class, TakesScreenshot.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getScreenshotAs":
+                            return ((OutputType<?>) args[0]).convertFromBase64Png(screenshotBase64);
+                        case "findElements":
+                            return Collections.emptyList();
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "NoOpWebDriver";
+                        default:
+                            return null;
+                    }
+                });
+    }
+}
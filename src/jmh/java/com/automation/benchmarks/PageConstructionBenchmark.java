@@ -0,0 +1,44 @@
+package com.automation.benchmarks;
+
+import com.automation.pageobjects.GoogleSearchPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Page object construction as step classes perform it: BasePage setup plus PageFactory creating
+ * a lazy proxy for every @FindBy field. No element is looked up, so no browser is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageConstructionBenchmark {
+    private WebDriver driver;
+    private WebDriverWait wait;
+
+    @Setup
+    public void createDriver() {
+        driver = NoOpWebDriver.create("");
+        wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+    }
+
+    @Benchmark
+    public GoogleSearchPage googleSearchPage() {
+        return new GoogleSearchPage(driver, wait);
+    }
+}
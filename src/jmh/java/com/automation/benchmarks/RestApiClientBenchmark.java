@@ -0,0 +1,65 @@
+package com.automation.benchmarks;
+
+import com.automation.api.RestApiClient;
+import com.automation.api.stub.StubServer;
+import com.automation.config.ConfigManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What every API scenario pays in RestApiClient: building the RestAssured request specification
+ * (as each step class does), adding headers and query parameters, and one GET against the
+ * embedded stub server on loopback, so the server side costs as little as possible.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RestApiClientBenchmark {
+    private StubServer stubServer;
+    private RestApiClient client;
+
+    @Setup
+    public void startServer() throws Exception {
+        stubServer = StubServer.start(Paths.get("src/test/resources/stubs"), 8);
+        ConfigManager.getInstance().setOverride("api.base.url", stubServer.getBaseUrl());
+        client = new RestApiClient();
+    }
+
+    @TearDown
+    public void stopServer() {
+        stubServer.close();
+    }
+
+    @Benchmark
+    public RestApiClient specConstruction() {
+        return new RestApiClient();
+    }
+
+    @Benchmark
+    public RestApiClient specWithHeadersAndParams() {
+        return new RestApiClient()
+                .addHeader("Accept", "application/json")
+                .addHeader("X-Request-Source", "benchmark")
+                .addQueryParam("userId", "1");
+    }
+
+    @Benchmark
+    public int getAgainstLocalServer() {
+        return client.get("/posts/1").getStatusCode();
+    }
+}
@@ -0,0 +1,66 @@
+package com.automation.benchmarks;
+
+import com.automation.api.json.JsonDocument;
+import com.automation.api.json.JsonSchemaRegistry;
+import io.restassured.module.jsv.JsonSchemaValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schema validation of a post list: RestAssured's classpath matcher, which loads and
+ * compiles the schema and re-parses the body on every call, vs JsonSchemaRegistry
+ * validating the already parsed tree against a schema compiled once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchemaValidationBenchmark {
+    private static final String SCHEMA = "schemas/post-list.json";
+
+    @Param({"10", "100"})
+    public int elements;
+
+    private String body;
+    private JsonDocument document;
+
+    @Setup
+    public void createPayload() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= elements; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append("{\"userId\":").append(i % 10 + 1)
+                    .append(",\"id\":").append(i)
+                    .append(",\"title\":\"title ").append(i)
+                    .append("\",\"body\":\"body of post ").append(i).append("\"}");
+        }
+        body = json.append(']').toString();
+        document = JsonDocument.parse(body);
+        JsonSchemaRegistry.get(SCHEMA);
+    }
+
+    @Benchmark
+    public boolean schemaLoadedPerCall() {
+        return JsonSchemaValidator.matchesJsonSchemaInClasspath(SCHEMA).matches(body);
+    }
+
+    @Benchmark
+    public boolean compiledSchemaCached() {
+        return JsonSchemaRegistry.validate(SCHEMA, document.root()).isEmpty();
+    }
+}
@@ -0,0 +1,65 @@
+package com.automation.benchmarks;
+
+import com.automation.utils.ScreenshotUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base64 handling of failure screenshots: encoding PNG bytes, ScreenshotUtils capturing from
+ * a driver that already holds the base64 string (as a remote driver does), and decoding back.
+ * PNG data is already compressed, so random bytes stand in for it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScreenshotBenchmark {
+
+    // Typical headless viewport and full-HD captures
+    @Param({"150", "1500"})
+    public int sizeKb;
+
+    private final ScreenshotUtils screenshotUtils = new ScreenshotUtils();
+    private byte[] png;
+    private String base64;
+    private WebDriver driver;
+
+    @Setup
+    public void createScreenshot() {
+        png = new byte[sizeKb * 1024];
+        new Random(42).nextBytes(png);
+        base64 = OutputType.BASE64.convertFromPngBytes(png);
+        driver = NoOpWebDriver.create(base64);
+    }
+
+    @Benchmark
+    public String encode() {
+        return OutputType.BASE64.convertFromPngBytes(png);
+    }
+
+    @Benchmark
+    public String takeScreenshotAsBase64() {
+        return screenshotUtils.takeScreenshotAsBase64(driver);
+    }
+
+    @Benchmark
+    public byte[] decode() {
+        return screenshotUtils.base64ToBytes(base64);
+    }
+}
@@ -0,0 +1,16 @@
+package com.automation.api;
+
+/**
+ * Callback notified after every request sent through a RestApiClient, blocking or async
+ */
+@FunctionalInterface
+public interface ApiExchangeListener {
+
+    /**
+     * @param method      HTTP method
+     * @param path        request path as passed to the client, before query parameters
+     * @param statusCode  response status code
+     * @param elapsedNanos round-trip time in nanoseconds
+     */
+    void onExchange(String method, String path, int statusCode, long elapsedNanos);
+}
@@ -0,0 +1,20 @@
+package com.automation.api;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Hook around every request sent by RestApiClient, for both the blocking (RestAssured)
+ * and the async (JDK HttpClient) transports. An interceptor may short-circuit the
+ * exchange by returning a response without calling the chain.
+ */
+public interface ApiInterceptor {
+
+    CompletableFuture<ApiResponse> intercept(ApiRequest request, Chain chain);
+
+    /**
+     * Remaining interceptors followed by the transport
+     */
+    interface Chain {
+        CompletableFuture<ApiResponse> proceed(ApiRequest request);
+    }
+}
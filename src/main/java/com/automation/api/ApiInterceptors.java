@@ -0,0 +1,72 @@
+package com.automation.api;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Global, ordered registry of API interceptors. The first registered interceptor is the outermost.
+ */
+public final class ApiInterceptors {
+    private static final Logger logger = LogManager.getLogger(ApiInterceptors.class);
+    private static final CopyOnWriteArrayList<ApiInterceptor> interceptors = new CopyOnWriteArrayList<>();
+
+    private ApiInterceptors() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static void register(ApiInterceptor interceptor) {
+        interceptors.add(interceptor);
+        logger.info("API interceptor registered: {}", interceptor.getClass().getSimpleName());
+    }
+
+    public static void unregister(ApiInterceptor interceptor) {
+        interceptors.remove(interceptor);
+    }
+
+    public static boolean isEmpty() {
+        return interceptors.isEmpty();
+    }
+
+    /**
+     * Registered interceptors of the given type, outermost first
+     */
+    public static <T extends ApiInterceptor> List<T> registered(Class<T> type) {
+        return interceptors.stream().filter(type::isInstance).map(type::cast).collect(Collectors.toList());
+    }
+
+    /**
+     * Run request through all interceptors, ending with the given transport
+     */
+    public static CompletableFuture<ApiResponse> execute(ApiRequest request,
+                                                         Function<ApiRequest, CompletableFuture<ApiResponse>> transport) {
+        ApiInterceptor[] chain = interceptors.toArray(new ApiInterceptor[0]);
+        return proceed(chain, 0, request, transport);
+    }
+
+    /**
+     * Run request through the registered interceptors of the given type only, ending with the given transport,
+     * for exchanges the others cannot handle
+     */
+    public static CompletableFuture<ApiResponse> execute(ApiRequest request, Class<? extends ApiInterceptor> type,
+                                                         Function<ApiRequest, CompletableFuture<ApiResponse>> transport) {
+        return proceed(registered(type).toArray(new ApiInterceptor[0]), 0, request, transport);
+    }
+
+    private static CompletableFuture<ApiResponse> proceed(ApiInterceptor[] chain, int index, ApiRequest request,
+                                                          Function<ApiRequest, CompletableFuture<ApiResponse>> transport) {
+        try {
+            if (index == chain.length) {
+                return transport.apply(request);
+            }
+            return chain[index].intercept(request, next -> proceed(chain, index + 1, next, transport));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.automation.api;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of a request built from a RestApiClient's fluent configuration
+ */
+public final class ApiRequest {
+    private final String method;
+    private final URI uri;
+    private final Map<String, String> headers;
+    private final byte[] body;
+
+    public ApiRequest(String method, URI uri, Map<String, String> headers, byte[] body) {
+        this.method = method;
+        this.uri = uri;
+        this.headers = Collections.unmodifiableMap(new LinkedHashMap<>(headers));
+        this.body = body;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public URI getUri() {
+        return uri;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Get header value, matching the name case-insensitively
+     */
+    public String getHeader(String name) {
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name)) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Request body bytes, or null when the request has no body
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * Copy of this request with an additional or replaced header
+     */
+    public ApiRequest withHeader(String name, String value) {
+        Map<String, String> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            if (!header.getKey().equalsIgnoreCase(name)) {
+                copy.put(header.getKey(), header.getValue());
+            }
+        }
+        copy.put(name, value);
+        return new ApiRequest(method, uri, copy, body);
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + uri;
+    }
+}
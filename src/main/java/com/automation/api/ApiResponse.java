@@ -0,0 +1,69 @@
+package com.automation.api;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Transport-neutral HTTP response returned by the asynchronous RestApiClient verbs
+ */
+public final class ApiResponse {
+    private final int statusCode;
+    private final Map<String, List<String>> headers;
+    private final byte[] body;
+    private final long timeMs;
+
+    public ApiResponse(int statusCode, Map<String, List<String>> headers, byte[] body, long timeMs) {
+        this.statusCode = statusCode;
+        Map<String, List<String>> sorted = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        sorted.putAll(headers);
+        this.headers = Collections.unmodifiableMap(sorted);
+        this.body = body != null ? body : new byte[0];
+        this.timeMs = timeMs;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Get all headers, keyed case-insensitively
+     */
+    public Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Get first value of a header, or null when absent
+     */
+    public String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    public String getContentType() {
+        return getHeader("Content-Type");
+    }
+
+    public byte[] asByteArray() {
+        return body;
+    }
+
+    public String asString() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Round-trip time in milliseconds
+     */
+    public long getTime() {
+        return timeMs;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ApiResponse{status=%d, size=%d bytes, time=%d ms}", statusCode, body.length, timeMs);
+    }
+}
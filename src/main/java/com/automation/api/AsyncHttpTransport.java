@@ -0,0 +1,267 @@
+package com.automation.api;
+
+import com.automation.api.stream.StreamingResponse;
+import com.automation.config.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Non-blocking HTTP transport built on the JDK HttpClient.
+ * Clients and the executor are shared by every RestApiClient so that concurrent
+ * requests reuse pooled (HTTP/1.1) or multiplexed (HTTP/2) connections instead of opening new ones.
+ */
+public final class AsyncHttpTransport {
+    private static final Logger logger = LogManager.getLogger(AsyncHttpTransport.class);
+
+    // Headers the JDK client manages itself and rejects when set explicitly
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    private AsyncHttpTransport() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Lazily created shared clients, so API-less runs never start the executor.
+     * HTTP/1.1 uses one client whose pool opens a connection per in-flight request;
+     * HTTP/2 uses api.http2.connections clients, each multiplexing streams over one connection per host.
+     */
+    private static final class Holder {
+        private static final ConfigManager config = ConfigManager.getInstance();
+        private static final ExecutorService EXECUTOR = createExecutor(config.getApiAsyncThreadCount());
+        private static final HttpClient.Version VERSION = parseVersion(config.getApiHttpVersion());
+        private static final Connection[] CONNECTIONS = createConnections(
+                VERSION, VERSION == HttpClient.Version.HTTP_2 ? Math.max(1, config.getApiHttp2Connections()) : 1);
+
+        static {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                EXECUTOR.shutdown();
+                try {
+                    EXECUTOR.awaitTermination(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            logger.info("Async HTTP transport initialized: {} with {} client(s), {} executor threads",
+                    VERSION, CONNECTIONS.length, config.getApiAsyncThreadCount());
+            // Timeouts are read per request; the pool size is the only setting applied on reload
+            config.subscribe(changedKeys -> {
+                if (changedKeys.contains("api.async.threads")) {
+                    resize(EXECUTOR, config.getApiAsyncThreadCount());
+                }
+            }, "api.async.threads");
+        }
+
+        private static Connection[] createConnections(HttpClient.Version version, int count) {
+            Connection[] connections = new Connection[count];
+            for (int i = 0; i < count; i++) {
+                connections[i] = new Connection(newClient(version, EXECUTOR));
+            }
+            return connections;
+        }
+    }
+
+    /**
+     * One shared client and its stream accounting
+     */
+    private static final class Connection {
+        private final HttpClient client;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger peakInFlight = new AtomicInteger();
+        private final LongAdder requests = new LongAdder();
+
+        private Connection(HttpClient client) {
+            this.client = client;
+        }
+
+        private void acquire() {
+            requests.increment();
+            int current = inFlight.incrementAndGet();
+            peakInFlight.accumulateAndGet(current, Math::max);
+        }
+
+        private void release() {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static final LongAdder http2Responses = new LongAdder();
+    private static final LongAdder http1Responses = new LongAdder();
+
+    /**
+     * Client configured like the shared transport clients, for the given protocol version
+     */
+    public static HttpClient newClient(HttpClient.Version version, Executor executor) {
+        return HttpClient.newBuilder()
+                .version(version)
+                .executor(executor)
+                .connectTimeout(Duration.ofMillis(Holder.config.getApiConnectionTimeout()))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * Whether the transport is configured for HTTP/2 (h2 over TLS, h2c upgrade for plain HTTP)
+     */
+    public static boolean isHttp2() {
+        return Holder.VERSION == HttpClient.Version.HTTP_2;
+    }
+
+    /**
+     * Per-connection stream counts and negotiated protocol totals
+     */
+    public static TransportStats stats() {
+        Connection[] connections = Holder.CONNECTIONS;
+        int[] inFlight = new int[connections.length];
+        int[] peakStreams = new int[connections.length];
+        long[] requests = new long[connections.length];
+        for (int i = 0; i < connections.length; i++) {
+            inFlight[i] = connections[i].inFlight.get();
+            peakStreams[i] = connections[i].peakInFlight.get();
+            requests[i] = connections[i].requests.sum();
+        }
+        return new TransportStats(Holder.VERSION.name(), inFlight, peakStreams, requests,
+                http2Responses.sum(), http1Responses.sum());
+    }
+
+    private static HttpClient.Version parseVersion(String value) {
+        String normalized = value.trim().toUpperCase(Locale.ROOT).replace('/', '_').replace('.', '_');
+        if (normalized.equals("HTTP_2") || normalized.equals("H2") || normalized.equals("H2C")) {
+            return HttpClient.Version.HTTP_2;
+        }
+        if (!normalized.equals("HTTP_1_1")) {
+            logger.warn("Unknown api.http.version '{}', using HTTP/1.1", value);
+        }
+        return HttpClient.Version.HTTP_1_1;
+    }
+
+    /**
+     * Client with the fewest in-flight requests, so streams spread evenly across connections
+     */
+    private static Connection pickConnection() {
+        Connection[] connections = Holder.CONNECTIONS;
+        Connection best = connections[0];
+        for (int i = 1; i < connections.length; i++) {
+            if (connections[i].inFlight.get() < best.inFlight.get()) {
+                best = connections[i];
+            }
+        }
+        return best;
+    }
+
+    private static void countProtocol(HttpResponse<?> response) {
+        if (response.version() == HttpClient.Version.HTTP_2) {
+            http2Responses.increment();
+        } else {
+            http1Responses.increment();
+        }
+    }
+
+    private static ExecutorService createExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "api-async-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(threads, factory);
+    }
+
+    private static void resize(ExecutorService executor, int threads) {
+        if (!(executor instanceof ThreadPoolExecutor)) {
+            return;
+        }
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+        // Core size may never exceed the maximum, so the order depends on the direction
+        if (threads > pool.getMaximumPoolSize()) {
+            pool.setMaximumPoolSize(threads);
+            pool.setCorePoolSize(threads);
+        } else {
+            pool.setCorePoolSize(threads);
+            pool.setMaximumPoolSize(threads);
+        }
+        logger.info("Async HTTP executor resized to {} threads", threads);
+    }
+
+    /**
+     * Shared executor used for response handling and dependent stages
+     */
+    public static ExecutorService executor() {
+        return Holder.EXECUTOR;
+    }
+
+    /**
+     * Send request without blocking the calling thread
+     */
+    public static CompletableFuture<ApiResponse> send(ApiRequest request) {
+        HttpRequest httpRequest = toHttpRequest(request);
+        Connection connection = pickConnection();
+        connection.acquire();
+        long start = System.nanoTime();
+        return connection.client.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((httpResponse, error) -> connection.release())
+                .thenApply(httpResponse -> {
+                    countProtocol(httpResponse);
+                    long timeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    ApiResponse response = new ApiResponse(httpResponse.statusCode(),
+                            httpResponse.headers().map(), httpResponse.body(), timeMs);
+                    logger.debug("Async {} completed: {}", request, response);
+                    return response;
+                });
+    }
+
+    /**
+     * Send request and spool the body as it arrives, without ever holding more than
+     * the spill threshold in memory. Blocks the calling thread until the body is read.
+     */
+    public static StreamingResponse sendStreaming(ApiRequest request, long spillThresholdBytes, Path tempDir)
+            throws IOException, InterruptedException {
+        Connection connection = pickConnection();
+        connection.acquire();
+        try {
+            HttpResponse<InputStream> httpResponse = connection.client.send(toHttpRequest(request), HttpResponse.BodyHandlers.ofInputStream());
+            countProtocol(httpResponse);
+            return StreamingResponse.spool(httpResponse.statusCode(), httpResponse.headers().map(),
+                    httpResponse.body(), spillThresholdBytes, tempDir);
+        } finally {
+            connection.release();
+        }
+    }
+
+    private static HttpRequest toHttpRequest(ApiRequest request) {
+        byte[] body = request.getBody();
+        HttpRequest.BodyPublisher publisher = body != null
+                ? HttpRequest.BodyPublishers.ofByteArray(body)
+                : HttpRequest.BodyPublishers.noBody();
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(request.getUri())
+                .timeout(Duration.ofMillis(Holder.config.getApiReadTimeout()))
+                .method(request.getMethod(), publisher);
+
+        for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+            if (!RESTRICTED_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT))) {
+                builder.header(header.getKey(), header.getValue());
+            }
+        }
+        return builder.build();
+    }
+}
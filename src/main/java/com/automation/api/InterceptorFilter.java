@@ -0,0 +1,155 @@
+package com.automation.api;
+
+import io.restassured.authentication.AuthenticationScheme;
+import io.restassured.authentication.BasicAuthScheme;
+import io.restassured.authentication.ExplicitNoAuthScheme;
+import io.restassured.authentication.NoAuthScheme;
+import io.restassured.authentication.PreemptiveBasicAuthScheme;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * RestAssured filter that runs the blocking verbs through the registered ApiInterceptors.
+ * With api.http.version=HTTP_2 it also sends them on the shared HTTP/2 transport instead of
+ * RestAssured's HTTP/1.1-only client. Basic auth and form parameters are carried over to the
+ * JDK client; multi-part requests and other auth schemes (OAuth, form login, certificates)
+ * always stay on RestAssured.
+ */
+public class InterceptorFilter implements Filter {
+    public static final InterceptorFilter INSTANCE = new InterceptorFilter();
+
+    private InterceptorFilter() {
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        boolean restAssuredOnly = !requestSpec.getMultiPartParams().isEmpty()
+                || !isPortableAuth(requestSpec.getAuthenticationScheme());
+        boolean http2 = AsyncHttpTransport.isHttp2() && !restAssuredOnly;
+        if (ApiInterceptors.isEmpty() && !http2) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        // Keep the RestAssured response from the network so it can be returned as-is
+        // when no interceptor replaced it
+        Response[] networkResponse = new Response[1];
+        ApiResponse[] networkApiResponse = new ApiResponse[1];
+
+        ApiRequest original = toApiRequest(requestSpec);
+        Thread caller = Thread.currentThread();
+        ApiResponse result;
+        try {
+            result = ApiInterceptors.execute(original, request -> {
+                boolean resend = networkResponse[0] != null;
+                if (restAssuredOnly) {
+                    if (resend) {
+                        // Such a request can only be sent by RestAssured, so retries see the first response
+                        return CompletableFuture.completedFuture(networkApiResponse[0]);
+                    }
+                } else if (http2 || resend || Thread.currentThread() != caller) {
+                    // RestAssured's filter context sends once, on the calling thread; re-sends and
+                    // requests released later by an interceptor (e.g. throttling) use the JDK client
+                    return AsyncHttpTransport.send(request);
+                }
+                // Apply only the headers an interceptor added or changed (e.g. conditional headers)
+                for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+                    if (!header.getValue().equals(original.getHeader(header.getKey()))) {
+                        requestSpec.replaceHeader(header.getKey(), header.getValue());
+                    }
+                }
+                networkResponse[0] = ctx.next(requestSpec, responseSpec);
+                networkApiResponse[0] = toApiResponse(networkResponse[0]);
+                return CompletableFuture.completedFuture(networkApiResponse[0]);
+            }).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+
+        return result == networkApiResponse[0] ? networkResponse[0] : toRestAssuredResponse(result);
+    }
+
+    private static ApiRequest toApiRequest(FilterableRequestSpecification requestSpec) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (Header header : requestSpec.getHeaders()) {
+            headers.put(header.getName(), header.getValue());
+        }
+        if (requestSpec.getContentType() != null) {
+            headers.putIfAbsent("Content-Type", requestSpec.getContentType());
+        }
+        // RestAssured adds basic credentials itself, so they are not among the spec's headers
+        AuthenticationScheme auth = requestSpec.getAuthenticationScheme();
+        if (auth instanceof BasicAuthScheme) {
+            BasicAuthScheme basic = (BasicAuthScheme) auth;
+            headers.putIfAbsent("Authorization", RestApiClient.basicAuthorization(basic.getUserName(), basic.getPassword()));
+        } else if (auth instanceof PreemptiveBasicAuthScheme) {
+            PreemptiveBasicAuthScheme basic = (PreemptiveBasicAuthScheme) auth;
+            headers.putIfAbsent("Authorization", RestApiClient.basicAuthorization(basic.getUserName(), basic.getPassword()));
+        }
+        Object body = requestSpec.getBody();
+        byte[] bodyBytes = null;
+        if (body instanceof byte[]) {
+            bodyBytes = (byte[]) body;
+        } else if (body != null) {
+            bodyBytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        } else if (!requestSpec.getFormParams().isEmpty()) {
+            bodyBytes = RestApiClient.encodeParams(requestSpec.getFormParams()).getBytes(StandardCharsets.UTF_8);
+            headers.keySet().removeIf(name -> name.equalsIgnoreCase("Content-Type"));
+            headers.put("Content-Type", "application/x-www-form-urlencoded");
+        }
+        return new ApiRequest(requestSpec.getMethod(), URI.create(requestSpec.getURI()), headers, bodyBytes);
+    }
+
+    /**
+     * Whether the JDK client can send a request authenticated this way
+     */
+    private static boolean isPortableAuth(AuthenticationScheme auth) {
+        return auth == null || auth instanceof NoAuthScheme || auth instanceof ExplicitNoAuthScheme
+                || auth instanceof BasicAuthScheme || auth instanceof PreemptiveBasicAuthScheme;
+    }
+
+    /**
+     * Convert a RestAssured response to the transport-neutral form
+     */
+    public static ApiResponse toApiResponse(Response response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (Header header : response.getHeaders()) {
+            headers.computeIfAbsent(header.getName(), name -> new ArrayList<>()).add(header.getValue());
+        }
+        return new ApiResponse(response.getStatusCode(), headers, response.asByteArray(), response.getTime());
+    }
+
+    /**
+     * Convert a transport-neutral response to a RestAssured response usable by step definitions
+     */
+    public static Response toRestAssuredResponse(ApiResponse response) {
+        List<Header> headers = new ArrayList<>();
+        response.getHeaders().forEach((name, values) -> values.forEach(value -> headers.add(new Header(name, value))));
+        String contentType = response.getContentType();
+        return new ResponseBuilder()
+                .setStatusCode(response.getStatusCode())
+                .setStatusLine("HTTP/1.1 " + response.getStatusCode())
+                .setHeaders(new Headers(headers))
+                .setContentType(contentType != null ? contentType : "")
+                .setBody(response.asByteArray())
+                .build();
+    }
+}
@@ -1,24 +1,83 @@
 package com.automation.api;
 
+import com.automation.api.cache.CachingInterceptor;
+import com.automation.api.cache.ResponseCache;
+import com.automation.api.cassette.CassetteInterceptor;
+import com.automation.api.json.BodyTemplate;
+import com.automation.api.throttle.ThrottlingInterceptor;
+import com.automation.api.stream.StreamingResponse;
 import com.automation.config.ConfigManager;
+import com.automation.impact.ImpactRecorder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
+import io.restassured.http.Header;
 import io.restassured.http.Headers;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * REST API Client using RestAssured
+ * Blocking verbs go through RestAssured; the *Async verbs go through the shared
+ * JDK HttpClient in AsyncHttpTransport using the same fluent configuration.
  */
 public class RestApiClient {
     private static final Logger logger = LogManager.getLogger(RestApiClient.class);
     private static final ConfigManager config = ConfigManager.getInstance();
+    private static final ObjectWriter bodyWriter = new ObjectMapper().writer();
+    private static final CopyOnWriteArrayList<ApiExchangeListener> exchangeListeners = new CopyOnWriteArrayList<>();
     private RequestSpecification requestSpec;
 
+    static {
+        // Interceptors configured by properties; the first registered is the outermost
+        if (config.isApiCacheEnabled()) {
+            ApiInterceptors.register(new CachingInterceptor(ResponseCache.shared()));
+        }
+        if (CassetteInterceptor.configuredMode() != CassetteInterceptor.Mode.OFF) {
+            ApiInterceptors.register(CassetteInterceptor.shared());
+        }
+        // Innermost, so only requests that reach the network are throttled
+        if (config.isApiThrottleEnabled()) {
+            ApiInterceptors.register(ThrottlingInterceptor.shared());
+        }
+    }
+
+    // Mirror of the fluent configuration, used to build requests for the async transport
+    private String baseUri;
+    private final Map<String, String> headers = new LinkedHashMap<>();
+    private final Map<String, String> queryParams = new LinkedHashMap<>();
+    private final Map<String, String> pathParams = new LinkedHashMap<>();
+    private final Map<String, String> formParams = new LinkedHashMap<>();
+    private Object body;
+    private final List<Map.Entry<String, Object>> multiParts = new ArrayList<>();
+
     public RestApiClient() {
         initializeRequestSpec();
     }
@@ -29,7 +88,17 @@ public class RestApiClient {
     private void initializeRequestSpec() {
         requestSpec = RestAssured.given()
                 .baseUri(config.getApiBaseUrl())
-                .contentType(ContentType.JSON);
+                .contentType(ContentType.JSON)
+                .filter(InterceptorFilter.INSTANCE);
+
+        baseUri = config.getApiBaseUrl();
+        headers.clear();
+        headers.put("Content-Type", "application/json");
+        queryParams.clear();
+        pathParams.clear();
+        formParams.clear();
+        body = null;
+        multiParts.clear();
         
         logger.info("REST API Client initialized with base URL: {}", config.getApiBaseUrl());
     }
@@ -39,6 +108,7 @@ public class RestApiClient {
      */
     public RestApiClient setBaseUri(String baseUri) {
         requestSpec.baseUri(baseUri);
+        this.baseUri = baseUri;
         logger.info("Base URI set to: {}", baseUri);
         return this;
     }
@@ -48,6 +118,7 @@ public class RestApiClient {
      */
     public RestApiClient setContentType(ContentType contentType) {
         requestSpec.contentType(contentType);
+        headers.put("Content-Type", contentType.toString());
         logger.info("Content type set to: {}", contentType);
         return this;
     }
@@ -57,6 +128,7 @@ public class RestApiClient {
      */
     public RestApiClient addHeader(String name, String value) {
         requestSpec.header(name, value);
+        headers.put(name, value);
         logger.info("Header added: {} = {}", name, value);
         return this;
     }
@@ -66,6 +138,7 @@ public class RestApiClient {
      */
     public RestApiClient addHeaders(Map<String, String> headers) {
         requestSpec.headers(headers);
+        this.headers.putAll(headers);
         logger.info("Headers added: {}", headers);
         return this;
     }
@@ -75,6 +148,9 @@ public class RestApiClient {
      */
     public RestApiClient addHeaders(Headers headers) {
         requestSpec.headers(headers);
+        for (Header header : headers) {
+            this.headers.put(header.getName(), header.getValue());
+        }
         logger.info("Headers added: {}", headers);
         return this;
     }
@@ -84,6 +160,7 @@ public class RestApiClient {
      */
     public RestApiClient addQueryParam(String name, String value) {
         requestSpec.queryParam(name, value);
+        queryParams.put(name, value);
         logger.info("Query parameter added: {} = {}", name, value);
         return this;
     }
@@ -93,6 +170,7 @@ public class RestApiClient {
      */
     public RestApiClient addQueryParams(Map<String, String> params) {
         requestSpec.queryParams(params);
+        queryParams.putAll(params);
         logger.info("Query parameters added: {}", params);
         return this;
     }
@@ -102,6 +180,7 @@ public class RestApiClient {
      */
     public RestApiClient addPathParam(String name, String value) {
         requestSpec.pathParam(name, value);
+        pathParams.put(name, value);
         logger.info("Path parameter added: {} = {}", name, value);
         return this;
     }
@@ -111,24 +190,57 @@ public class RestApiClient {
      */
     public RestApiClient addPathParams(Map<String, String> params) {
         requestSpec.pathParams(params);
+        pathParams.putAll(params);
         logger.info("Path parameters added: {}", params);
         return this;
     }
 
     /**
-     * Set request body
+     * Set request body. JSON bodies are serialized here with a cached ObjectWriter, so
+     * RestAssured sends the bytes as-is instead of picking an object mapper per request.
      */
     public RestApiClient setBody(Object body) {
+        if (body instanceof byte[]) {
+            return setBody((byte[]) body);
+        }
+        if (body instanceof String) {
+            return setBody((String) body);
+        }
+        if (body != null && isJsonContentType()) {
+            // Logged once, as the JSON actually sent
+            return setBody(serialize(body));
+        }
         requestSpec.body(body);
+        this.body = body;
         logger.info("Request body set: {}", body);
         return this;
     }
 
+    /**
+     * Set pre-serialized request body
+     */
+    public RestApiClient setBody(byte[] body) {
+        requestSpec.body(body);
+        this.body = body;
+        if (logger.isInfoEnabled()) {
+            logger.info("Request body set: {}", new String(body, StandardCharsets.UTF_8));
+        }
+        return this;
+    }
+
+    /**
+     * Set request body rendered from a pre-serialized template
+     */
+    public RestApiClient setBody(BodyTemplate template, Map<String, ?> values) {
+        return setBody(template.render(values));
+    }
+
     /**
      * Set request body as string
      */
     public RestApiClient setBody(String body) {
         requestSpec.body(body);
+        this.body = body;
         logger.info("Request body set: {}", body);
         return this;
     }
@@ -138,6 +250,7 @@ public class RestApiClient {
      */
     public RestApiClient setFormParams(Map<String, String> params) {
         requestSpec.formParams(params);
+        formParams.putAll(params);
         logger.info("Form parameters set: {}", params);
         return this;
     }
@@ -147,6 +260,7 @@ public class RestApiClient {
      */
     public RestApiClient setFormParam(String name, String value) {
         requestSpec.formParam(name, value);
+        formParams.put(name, value);
         logger.info("Form parameter set: {} = {}", name, value);
         return this;
     }
@@ -156,15 +270,17 @@ public class RestApiClient {
      */
     public RestApiClient setMultiPart(String name, Object file) {
         requestSpec.multiPart(name, file);
+        multiParts.add(new AbstractMap.SimpleImmutableEntry<>(name, file));
         logger.info("Multi-part file set: {} = {}", name, file);
         return this;
     }
 
     /**
-     * Set authentication
+     * Set authentication, sent preemptively like the JDK client does rather than after a 401 challenge
      */
     public RestApiClient setAuth(String username, String password) {
-        requestSpec.auth().basic(username, password);
+        requestSpec.auth().preemptive().basic(username, password);
+        headers.put("Authorization", basicAuthorization(username, password));
         logger.info("Basic authentication set for user: {}", username);
         return this;
     }
@@ -174,6 +290,7 @@ public class RestApiClient {
      */
     public RestApiClient setBearerToken(String token) {
         requestSpec.header("Authorization", "Bearer " + token);
+        headers.put("Authorization", "Bearer " + token);
         logger.info("Bearer token set");
         return this;
     }
@@ -183,6 +300,7 @@ public class RestApiClient {
      */
     public RestApiClient setApiKey(String apiKey) {
         requestSpec.header("X-API-Key", apiKey);
+        headers.put("X-API-Key", apiKey);
         logger.info("API key set");
         return this;
     }
@@ -192,7 +310,10 @@ public class RestApiClient {
      */
     public Response get(String path) {
         logger.info("Sending GET request to: {}", path);
+        ImpactRecorder.recordEndpoint(RestApiClient.class, "GET", path);
+        long start = System.nanoTime();
         Response response = requestSpec.get(path);
+        notifyExchange("GET", path, response.getStatusCode(), start);
         logResponse(response);
         return response;
     }
@@ -202,7 +323,10 @@ public class RestApiClient {
      */
     public Response post(String path) {
         logger.info("Sending POST request to: {}", path);
+        ImpactRecorder.recordEndpoint(RestApiClient.class, "POST", path);
+        long start = System.nanoTime();
         Response response = requestSpec.post(path);
+        notifyExchange("POST", path, response.getStatusCode(), start);
         logResponse(response);
         return response;
     }
@@ -212,7 +336,10 @@ public class RestApiClient {
      */
     public Response put(String path) {
         logger.info("Sending PUT request to: {}", path);
+        ImpactRecorder.recordEndpoint(RestApiClient.class, "PUT", path);
+        long start = System.nanoTime();
         Response response = requestSpec.put(path);
+        notifyExchange("PUT", path, response.getStatusCode(), start);
         logResponse(response);
         return response;
     }
@@ -222,7 +349,10 @@ public class RestApiClient {
      */
     public Response delete(String path) {
         logger.info("Sending DELETE request to: {}", path);
+        ImpactRecorder.recordEndpoint(RestApiClient.class, "DELETE", path);
+        long start = System.nanoTime();
         Response response = requestSpec.delete(path);
+        notifyExchange("DELETE", path, response.getStatusCode(), start);
         logResponse(response);
         return response;
     }
@@ -232,7 +362,10 @@ public class RestApiClient {
      */
     public Response patch(String path) {
         logger.info("Sending PATCH request to: {}", path);
+        ImpactRecorder.recordEndpoint(RestApiClient.class, "PATCH", path);
+        long start = System.nanoTime();
         Response response = requestSpec.patch(path);
+        notifyExchange("PATCH", path, response.getStatusCode(), start);
         logResponse(response);
         return response;
     }
@@ -242,7 +375,10 @@ public class RestApiClient {
      */
     public Response head(String path) {
         logger.info("Sending HEAD request to: {}", path);
+        ImpactRecorder.recordEndpoint(RestApiClient.class, "HEAD", path);
+        long start = System.nanoTime();
         Response response = requestSpec.head(path);
+        notifyExchange("HEAD", path, response.getStatusCode(), start);
         logResponse(response);
         return response;
     }
@@ -252,11 +388,305 @@ public class RestApiClient {
      */
     public Response options(String path) {
         logger.info("Sending OPTIONS request to: {}", path);
+        ImpactRecorder.recordEndpoint(RestApiClient.class, "OPTIONS", path);
+        long start = System.nanoTime();
         Response response = requestSpec.options(path);
+        notifyExchange("OPTIONS", path, response.getStatusCode(), start);
         logResponse(response);
         return response;
     }
 
+    /**
+     * Asynchronous GET request
+     */
+    public CompletableFuture<ApiResponse> getAsync(String path) {
+        return sendAsync("GET", path);
+    }
+
+    /**
+     * Asynchronous POST request
+     */
+    public CompletableFuture<ApiResponse> postAsync(String path) {
+        return sendAsync("POST", path);
+    }
+
+    /**
+     * Asynchronous PUT request
+     */
+    public CompletableFuture<ApiResponse> putAsync(String path) {
+        return sendAsync("PUT", path);
+    }
+
+    /**
+     * Asynchronous DELETE request
+     */
+    public CompletableFuture<ApiResponse> deleteAsync(String path) {
+        return sendAsync("DELETE", path);
+    }
+
+    /**
+     * Asynchronous PATCH request
+     */
+    public CompletableFuture<ApiResponse> patchAsync(String path) {
+        return sendAsync("PATCH", path);
+    }
+
+    /**
+     * Asynchronous HEAD request
+     */
+    public CompletableFuture<ApiResponse> headAsync(String path) {
+        return sendAsync("HEAD", path);
+    }
+
+    /**
+     * Asynchronous OPTIONS request
+     */
+    public CompletableFuture<ApiResponse> optionsAsync(String path) {
+        return sendAsync("OPTIONS", path);
+    }
+
+    /**
+     * Send request asynchronously on the shared JDK HttpClient.
+     * The request is snapshotted immediately, so the client may be reconfigured
+     * and reused while earlier requests are still in flight.
+     */
+    public CompletableFuture<ApiResponse> sendAsync(String method, String path) {
+        ApiRequest request;
+        try {
+            request = buildRequest(method, path);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        logger.info("Sending async {} request to: {}", method, request.getUri());
+        ImpactRecorder.recordEndpoint(RestApiClient.class, method, path);
+        long start = System.nanoTime();
+        return ApiInterceptors.execute(request, AsyncHttpTransport::send).thenApply(response -> {
+            notifyExchange(method, path, response.getStatusCode(), start);
+            return response;
+        });
+    }
+
+    /**
+     * GET request for very large payloads: the body is spooled to a temp file once it
+     * exceeds api.stream.spill.threshold.bytes and is never logged or buffered whole.
+     * Only throttling interceptors apply, as the others operate on fully buffered responses;
+     * with a replaying cassette registered the request fails rather than going to the network.
+     */
+    public StreamingResponse getStreaming(String path) {
+        ApiRequest request = buildRequest("GET", path);
+        for (CassetteInterceptor cassette : ApiInterceptors.registered(CassetteInterceptor.class)) {
+            if (cassette.getMode() == CassetteInterceptor.Mode.REPLAY) {
+                throw new IllegalStateException("Streaming GET " + request.getUri()
+                        + " cannot be replayed from a cassette; use get() for recorded responses");
+            }
+        }
+        logger.info("Sending streaming GET request to: {}", request.getUri());
+        ImpactRecorder.recordEndpoint(RestApiClient.class, "GET", path);
+        long start = System.nanoTime();
+        // The throttle only reads the status and headers; a response it retries is closed with its spill file
+        AtomicReference<StreamingResponse> streamed = new AtomicReference<>();
+        try {
+            ApiInterceptors.execute(request, ThrottlingInterceptor.class, next -> {
+                StreamingResponse previous = streamed.getAndSet(null);
+                if (previous != null) {
+                    previous.close();
+                }
+                try {
+                    StreamingResponse response = AsyncHttpTransport.sendStreaming(next,
+                            config.getApiStreamSpillThresholdBytes(), Paths.get(config.getApiStreamTempDir()));
+                    streamed.set(response);
+                    return CompletableFuture.completedFuture(
+                            new ApiResponse(response.getStatusCode(), response.getHeaders(), null, 0));
+                } catch (IOException e) {
+                    return CompletableFuture.failedFuture(new UncheckedIOException(e));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return CompletableFuture.failedFuture(e);
+                }
+            }).join();
+        } catch (CompletionException e) {
+            StreamingResponse partial = streamed.getAndSet(null);
+            if (partial != null) {
+                partial.close();
+            }
+            if (e.getCause() instanceof UncheckedIOException) {
+                IOException cause = ((UncheckedIOException) e.getCause()).getCause();
+                throw new UncheckedIOException("Streaming GET " + path + " failed: " + cause.getMessage(), cause);
+            }
+            if (e.getCause() instanceof InterruptedException) {
+                throw new IllegalStateException("Streaming GET " + path + " interrupted", e.getCause());
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        StreamingResponse response = streamed.get();
+        notifyExchange("GET", path, response.getStatusCode(), start);
+        logger.info("Streaming response status: {}, size: {} bytes, spilled to disk: {}",
+                response.getStatusCode(), response.getSize(), response.isSpilledToDisk());
+        return response;
+    }
+
+    /**
+     * Register a listener notified after every request from any client
+     */
+    public static void addExchangeListener(ApiExchangeListener listener) {
+        exchangeListeners.add(listener);
+    }
+
+    /**
+     * Remove a previously registered exchange listener
+     */
+    public static void removeExchangeListener(ApiExchangeListener listener) {
+        exchangeListeners.remove(listener);
+    }
+
+    private static void notifyExchange(String method, String path, int statusCode, long startNanos) {
+        if (exchangeListeners.isEmpty()) {
+            return;
+        }
+        long elapsed = System.nanoTime() - startNanos;
+        for (ApiExchangeListener listener : exchangeListeners) {
+            try {
+                listener.onExchange(method, path, statusCode, elapsed);
+            } catch (RuntimeException e) {
+                logger.warn("Exchange listener failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Build an immutable request from the current fluent configuration
+     */
+    public ApiRequest buildRequest(String method, String path) {
+        String resolvedPath = path;
+        for (Map.Entry<String, String> param : pathParams.entrySet()) {
+            resolvedPath = resolvedPath.replace("{" + param.getKey() + "}", encode(param.getValue()));
+        }
+
+        StringBuilder url = new StringBuilder(baseUri);
+        if (url.length() > 0 && url.charAt(url.length() - 1) == '/' && resolvedPath.startsWith("/")) {
+            url.setLength(url.length() - 1);
+        }
+        url.append(resolvedPath);
+        if (!queryParams.isEmpty()) {
+            url.append(resolvedPath.contains("?") ? '&' : '?').append(encodeParams(queryParams));
+        }
+
+        Map<String, String> requestHeaders = new LinkedHashMap<>(headers);
+        byte[] requestBody = serializeBody();
+        if (!multiParts.isEmpty()) {
+            String boundary = "RestApiClient" + UUID.randomUUID().toString().replace("-", "");
+            requestBody = encodeMultiPart(boundary);
+            requestHeaders.put("Content-Type", "multipart/form-data; boundary=" + boundary);
+        } else if (requestBody == null && !formParams.isEmpty()) {
+            requestBody = encodeParams(formParams).getBytes(StandardCharsets.UTF_8);
+            requestHeaders.put("Content-Type", "application/x-www-form-urlencoded");
+        }
+        return new ApiRequest(method, URI.create(url.toString()), requestHeaders, requestBody);
+    }
+
+    /**
+     * Encode form parameters and multi-part files as multipart/form-data: files with their name,
+     * byte arrays and streams as binary, strings as text, and other objects as JSON
+     */
+    private byte[] encodeMultiPart(String boundary) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (Map.Entry<String, String> param : formParams.entrySet()) {
+            writePart(out, boundary, param.getKey(), null, "text/plain; charset=UTF-8",
+                    param.getValue().getBytes(StandardCharsets.UTF_8));
+        }
+        for (Map.Entry<String, Object> part : multiParts) {
+            Object value = part.getValue();
+            try {
+                if (value instanceof File) {
+                    writePart(out, boundary, part.getKey(), ((File) value).getName(), "application/octet-stream",
+                            Files.readAllBytes(((File) value).toPath()));
+                } else if (value instanceof byte[]) {
+                    writePart(out, boundary, part.getKey(), "file", "application/octet-stream", (byte[]) value);
+                } else if (value instanceof InputStream) {
+                    writePart(out, boundary, part.getKey(), "file", "application/octet-stream",
+                            ((InputStream) value).readAllBytes());
+                } else if (value instanceof String) {
+                    writePart(out, boundary, part.getKey(), null, "text/plain; charset=UTF-8",
+                            ((String) value).getBytes(StandardCharsets.UTF_8));
+                } else {
+                    writePart(out, boundary, part.getKey(), null, "application/json", serialize(value));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read multi-part " + part.getKey() + ": " + e.getMessage(), e);
+            }
+        }
+        out.writeBytes(("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+
+    private static void writePart(ByteArrayOutputStream out, String boundary, String name, String fileName,
+                                  String contentType, byte[] content) {
+        StringBuilder head = new StringBuilder("--").append(boundary).append("\r\n")
+                .append("Content-Disposition: form-data; name=\"").append(name).append('"');
+        if (fileName != null) {
+            head.append("; filename=\"").append(fileName).append('"');
+        }
+        head.append("\r\nContent-Type: ").append(contentType).append("\r\n\r\n");
+        out.writeBytes(head.toString().getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(content);
+        out.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private byte[] serializeBody() {
+        if (body == null) {
+            return null;
+        }
+        if (body instanceof byte[]) {
+            return (byte[]) body;
+        }
+        if (body instanceof String) {
+            return ((String) body).getBytes(StandardCharsets.UTF_8);
+        }
+        return serialize(body);
+    }
+
+    private static byte[] serialize(Object body) {
+        try {
+            return bodyWriter.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize request body: " + e.getMessage(), e);
+        }
+    }
+
+    private boolean isJsonContentType() {
+        String contentType = headers.get("Content-Type");
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).contains("json");
+    }
+
+    /**
+     * Authorization header value for HTTP basic authentication
+     */
+    static String basicAuthorization(String username, String password) {
+        String credentials = username + ":" + password;
+        return "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * URL-encode parameters as name=value pairs joined by '&'
+     */
+    static String encodeParams(Map<String, String> params) {
+        StringBuilder encoded = new StringBuilder();
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            if (encoded.length() > 0) {
+                encoded.append('&');
+            }
+            encoded.append(encode(param.getKey())).append('=').append(encode(param.getValue()));
+        }
+        return encoded.toString();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
     /**
      * Log response details
      */
@@ -0,0 +1,73 @@
+package com.automation.api;
+
+import java.util.Arrays;
+
+/**
+ * Snapshot of the async transport: configured protocol, per-connection stream counts
+ * and how many responses were actually served over HTTP/2 vs HTTP/1.1
+ */
+public class TransportStats {
+    private final String httpVersion;
+    private final int[] inFlight;
+    private final int[] peakStreams;
+    private final long[] requests;
+    private final long http2Responses;
+    private final long http1Responses;
+
+    TransportStats(String httpVersion, int[] inFlight, int[] peakStreams, long[] requests,
+                   long http2Responses, long http1Responses) {
+        this.httpVersion = httpVersion;
+        this.inFlight = inFlight;
+        this.peakStreams = peakStreams;
+        this.requests = requests;
+        this.http2Responses = http2Responses;
+        this.http1Responses = http1Responses;
+    }
+
+    public String getHttpVersion() {
+        return httpVersion;
+    }
+
+    /**
+     * Number of shared clients; with HTTP/2 each holds one multiplexed connection per host
+     */
+    public int getConnections() {
+        return inFlight.length;
+    }
+
+    /**
+     * Requests currently in flight on each connection
+     */
+    public int[] getInFlight() {
+        return inFlight.clone();
+    }
+
+    /**
+     * Highest number of concurrent streams seen on each connection
+     */
+    public int[] getPeakStreams() {
+        return peakStreams.clone();
+    }
+
+    /**
+     * Total requests sent on each connection
+     */
+    public long[] getRequests() {
+        return requests.clone();
+    }
+
+    public long getHttp2Responses() {
+        return http2Responses;
+    }
+
+    public long getHttp1Responses() {
+        return http1Responses;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("version=%s connections=%d peakStreams=%s requests=%s inFlight=%s responses[h2=%d, http/1.1=%d]",
+                httpVersion, getConnections(), Arrays.toString(peakStreams), Arrays.toString(requests),
+                Arrays.toString(inFlight), http2Responses, http1Responses);
+    }
+}
@@ -0,0 +1,47 @@
+package com.automation.api.cache;
+
+import com.automation.api.ApiResponse;
+
+/**
+ * Stored response with its freshness lifetime and validators
+ */
+final class CacheEntry {
+    private final ApiResponse response;
+    private final String etag;
+    private final String lastModified;
+    private final long freshUntilMillis;
+
+    CacheEntry(ApiResponse response, long freshUntilMillis) {
+        this.response = response;
+        this.etag = response.getHeader("ETag");
+        this.lastModified = response.getHeader("Last-Modified");
+        this.freshUntilMillis = freshUntilMillis;
+    }
+
+    ApiResponse getResponse() {
+        return response;
+    }
+
+    String getEtag() {
+        return etag;
+    }
+
+    String getLastModified() {
+        return lastModified;
+    }
+
+    boolean isFresh(long nowMillis) {
+        return nowMillis < freshUntilMillis;
+    }
+
+    boolean hasValidators() {
+        return etag != null || lastModified != null;
+    }
+
+    /**
+     * Copy with a new freshness lifetime, after a successful revalidation
+     */
+    CacheEntry refreshed(long freshUntilMillis) {
+        return new CacheEntry(response, freshUntilMillis);
+    }
+}
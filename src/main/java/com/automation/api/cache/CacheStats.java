@@ -0,0 +1,43 @@
+package com.automation.api.cache;
+
+/**
+ * Point-in-time response cache counters
+ */
+public class CacheStats {
+    private final long hits;
+    private final long misses;
+    private final long revalidations;
+    private final long notModified;
+    private final long bypasses;
+    private final long evictions;
+    private final int size;
+
+    CacheStats(long hits, long misses, long revalidations, long notModified, long bypasses, long evictions, int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.revalidations = revalidations;
+        this.notModified = notModified;
+        this.bypasses = bypasses;
+        this.evictions = evictions;
+        this.size = size;
+    }
+
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getRevalidations() { return revalidations; }
+    public long getNotModified() { return notModified; }
+    public long getBypasses() { return bypasses; }
+    public long getEvictions() { return evictions; }
+    public int getSize() { return size; }
+
+    public double getHitRatio() {
+        long lookups = hits + misses + revalidations;
+        return lookups == 0 ? 0 : (hits + notModified) / (double) lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CacheStats{hits=%d, misses=%d, revalidations=%d (304: %d), bypasses=%d, evictions=%d, size=%d, hitRatio=%.2f}",
+                hits, misses, revalidations, notModified, bypasses, evictions, size, getHitRatio());
+    }
+}
@@ -0,0 +1,137 @@
+package com.automation.api.cache;
+
+import com.automation.api.ApiInterceptor;
+import com.automation.api.ApiRequest;
+import com.automation.api.ApiResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Serves idempotent GET/HEAD requests from a ResponseCache, honouring Cache-Control and
+ * revalidating stale entries with If-None-Match / If-Modified-Since.
+ */
+public class CachingInterceptor implements ApiInterceptor {
+    private static final Logger logger = LogManager.getLogger(CachingInterceptor.class);
+
+    private final ResponseCache cache;
+
+    public CachingInterceptor(ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public CompletableFuture<ApiResponse> intercept(ApiRequest request, Chain chain) {
+        if (!isCacheableMethod(request.getMethod())) {
+            // A successful unsafe request invalidates cached representations of the same URL
+            return chain.proceed(request).thenApply(response -> {
+                if (response.getStatusCode() < 400) {
+                    cache.invalidate(request.getUri().toString());
+                }
+                return response;
+            });
+        }
+        String requestDirectives = lower(request.getHeader("Cache-Control"));
+        if (ResponseCache.isBypassedForCurrentThread()
+                || requestDirectives.contains("no-cache") || requestDirectives.contains("no-store")) {
+            cache.bypasses.increment();
+            return chain.proceed(request);
+        }
+
+        String key = cache.keyOf(request);
+        CacheEntry entry = cache.get(key);
+        long now = System.currentTimeMillis();
+
+        if (entry != null && entry.isFresh(now)) {
+            cache.hits.increment();
+            logger.debug("Cache hit: {}", request);
+            return CompletableFuture.completedFuture(entry.getResponse());
+        }
+
+        if (entry != null && entry.hasValidators()) {
+            cache.revalidations.increment();
+            ApiRequest conditional = request;
+            if (entry.getEtag() != null) {
+                conditional = conditional.withHeader("If-None-Match", entry.getEtag());
+            }
+            if (entry.getLastModified() != null) {
+                conditional = conditional.withHeader("If-Modified-Since", entry.getLastModified());
+            }
+            return chain.proceed(conditional).thenApply(response -> {
+                if (response.getStatusCode() == 304) {
+                    cache.notModified.increment();
+                    cache.put(key, entry.refreshed(freshUntil(response, System.currentTimeMillis())));
+                    logger.debug("Cache revalidated (304): {}", request);
+                    return entry.getResponse();
+                }
+                store(key, response);
+                return response;
+            });
+        }
+
+        cache.misses.increment();
+        return chain.proceed(request).thenApply(response -> {
+            store(key, response);
+            return response;
+        });
+    }
+
+    private void store(String key, ApiResponse response) {
+        String directives = lower(response.getHeader("Cache-Control"));
+        if (response.getStatusCode() != 200 || directives.contains("no-store")) {
+            cache.remove(key);
+            return;
+        }
+        CacheEntry entry = new CacheEntry(response, freshUntil(response, System.currentTimeMillis()));
+        // Without a lifetime or a validator the entry could never be served
+        if (entry.isFresh(System.currentTimeMillis()) || entry.hasValidators()) {
+            cache.put(key, entry);
+        }
+    }
+
+    /**
+     * Expiry time from max-age minus Age; no-cache means the entry must always be revalidated
+     */
+    static long freshUntil(ApiResponse response, long nowMillis) {
+        String directives = lower(response.getHeader("Cache-Control"));
+        if (directives.contains("no-cache")) {
+            return 0;
+        }
+        long maxAge = directiveSeconds(directives, "max-age");
+        if (maxAge <= 0) {
+            return 0;
+        }
+        long age = 0;
+        try {
+            String ageHeader = response.getHeader("Age");
+            age = ageHeader != null ? Long.parseLong(ageHeader.trim()) : 0;
+        } catch (NumberFormatException e) {
+            // Ignore malformed Age header
+        }
+        return nowMillis + Math.max(0, maxAge - age) * 1000;
+    }
+
+    private static long directiveSeconds(String directives, String name) {
+        for (String directive : directives.split(",")) {
+            String[] parts = directive.trim().split("=", 2);
+            if (parts.length == 2 && parts[0].equals(name)) {
+                try {
+                    return Long.parseLong(parts[1].trim().replace("\"", ""));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static boolean isCacheableMethod(String method) {
+        return "GET".equalsIgnoreCase(method) || "HEAD".equalsIgnoreCase(method);
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+}
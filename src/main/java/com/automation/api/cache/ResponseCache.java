@@ -0,0 +1,126 @@
+package com.automation.api.cache;
+
+import com.automation.api.ApiRequest;
+import com.automation.config.ConfigManager;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Size-bounded LRU store of GET/HEAD responses shared by all RestApiClient instances.
+ * Keys combine method, full URL (including query) and the values of the configured vary-headers.
+ */
+public class ResponseCache {
+    private static volatile ResponseCache shared;
+
+    // Scenarios that need fresh data (strict mode) bypass the cache on their thread
+    private static final ThreadLocal<Boolean> bypass = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final int maxEntries;
+    private final List<String> varyHeaders;
+    private final LinkedHashMap<String, CacheEntry> entries;
+
+    final LongAdder hits = new LongAdder();
+    final LongAdder misses = new LongAdder();
+    final LongAdder revalidations = new LongAdder();
+    final LongAdder notModified = new LongAdder();
+    final LongAdder bypasses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ResponseCache(int maxEntries, List<String> varyHeaders) {
+        this.maxEntries = maxEntries;
+        this.varyHeaders = varyHeaders;
+        // Access-ordered map: iteration order is least recently used first
+        this.entries = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                if (size() > ResponseCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Cache configured by api.cache.* properties, shared by all clients
+     */
+    public static ResponseCache shared() {
+        if (shared == null) {
+            synchronized (ResponseCache.class) {
+                if (shared == null) {
+                    ConfigManager config = ConfigManager.getInstance();
+                    List<String> vary = Arrays.stream(config.getApiCacheVaryHeaders().split(","))
+                            .map(String::trim)
+                            .filter(header -> !header.isEmpty())
+                            .collect(Collectors.toList());
+                    shared = new ResponseCache(config.getApiCacheMaxEntries(), vary);
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Bypass (or stop bypassing) the cache for requests made on the current thread
+     */
+    public static void setBypassForCurrentThread(boolean enabled) {
+        bypass.set(enabled);
+    }
+
+    static boolean isBypassedForCurrentThread() {
+        return bypass.get();
+    }
+
+    String keyOf(ApiRequest request) {
+        StringBuilder key = new StringBuilder(request.getMethod()).append(' ').append(request.getUri());
+        for (String header : varyHeaders) {
+            String value = request.getHeader(header);
+            if (value != null) {
+                key.append('\n').append(header.toLowerCase()).append(':').append(value);
+            }
+        }
+        return key.toString();
+    }
+
+    synchronized CacheEntry get(String key) {
+        return entries.get(key);
+    }
+
+    synchronized void put(String key, CacheEntry entry) {
+        entries.put(key, entry);
+    }
+
+    synchronized void remove(String key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Remove GET and HEAD entries for a URL, whatever their vary-header values
+     */
+    synchronized void invalidate(String url) {
+        entries.keySet().removeIf(key -> matchesUrl(key, "GET " + url) || matchesUrl(key, "HEAD " + url));
+    }
+
+    private static boolean matchesUrl(String key, String prefix) {
+        return key.startsWith(prefix) && (key.length() == prefix.length() || key.charAt(prefix.length()) == '\n');
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public CacheStats getStats() {
+        int size;
+        synchronized (this) {
+            size = entries.size();
+        }
+        return new CacheStats(hits.sum(), misses.sum(), revalidations.sum(), notModified.sum(),
+                bypasses.sum(), evictions.sum(), size);
+    }
+}
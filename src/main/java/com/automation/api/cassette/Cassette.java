@@ -0,0 +1,245 @@
+package com.automation.api.cassette;
+
+import com.automation.api.ApiRequest;
+import com.automation.api.ApiResponse;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Read-only, memory-mapped store of recorded HTTP exchanges.
+ *
+ * Layout (big-endian): a 16-byte header (magic, version, slot count, entry count), an
+ * open-addressing hash index of (key hash, entry offset) slots, then the entries
+ * (key, status, headers, body). A lookup hashes the request key, probes the index and
+ * decodes only the matching entry, so opening a cassette never parses it whole.
+ */
+public final class Cassette implements AutoCloseable {
+    private static final int MAGIC = 0x43535431; // "CST1"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int SLOT_SIZE = 16;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int slotCount;
+    private final int entryCount;
+
+    private Cassette(Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a cassette file: " + path);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported cassette version " + buffer.getInt(4) + ": " + path);
+        }
+        this.slotCount = buffer.getInt(8);
+        this.entryCount = buffer.getInt(12);
+    }
+
+    /**
+     * Map a cassette file into memory
+     */
+    public static Cassette open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Cassette larger than 2 GB: " + path);
+            }
+            return new Cassette(path, channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Recorded response for a request, or null when the cassette has no matching exchange
+     */
+    public ApiResponse find(ApiRequest request) {
+        return find(keyOf(request));
+    }
+
+    ApiResponse find(String key) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(keyBytes);
+        int mask = slotCount - 1;
+        for (int probe = 0, slot = (int) (hash & mask); probe < slotCount; probe++, slot = (slot + 1) & mask) {
+            int slotPosition = HEADER_SIZE + slot * SLOT_SIZE;
+            long offset = buffer.getLong(slotPosition + 8);
+            if (offset == 0) {
+                return null;
+            }
+            if (buffer.getLong(slotPosition) == hash) {
+                ByteBuffer entry = buffer.duplicate();
+                entry.position((int) offset);
+                if (Arrays.equals(readBytes(entry), keyBytes)) {
+                    return readResponse(entry);
+                }
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return entryCount;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Write exchanges keyed by keyOf to a new cassette file, replacing any existing one atomically
+     */
+    public static void write(Path path, Map<String, ApiResponse> exchanges) throws IOException {
+        // Sorted keys keep re-recorded cassettes byte-identical when the traffic is unchanged
+        Map<String, ApiResponse> sorted = new TreeMap<>(exchanges);
+        int slotCount = Integer.highestOneBit(Math.max(2, sorted.size() * 2) - 1) << 1;
+        long[] slotHashes = new long[slotCount];
+        long[] slotOffsets = new long[slotCount];
+
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        DataOutputStream entries = new DataOutputStream(data);
+        long dataStart = HEADER_SIZE + (long) slotCount * SLOT_SIZE;
+        int mask = slotCount - 1;
+        for (Map.Entry<String, ApiResponse> exchange : sorted.entrySet()) {
+            byte[] keyBytes = exchange.getKey().getBytes(StandardCharsets.UTF_8);
+            long hash = hash(keyBytes);
+            int slot = (int) (hash & mask);
+            while (slotOffsets[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slotHashes[slot] = hash;
+            slotOffsets[slot] = dataStart + entries.size();
+            writeEntry(entries, keyBytes, exchange.getValue());
+        }
+        entries.flush();
+        if (dataStart + data.size() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Cassette would exceed 2 GB: " + path);
+        }
+
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try (OutputStream file = Files.newOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(slotCount);
+            out.writeInt(sorted.size());
+            for (int slot = 0; slot < slotCount; slot++) {
+                out.writeLong(slotHashes[slot]);
+                out.writeLong(slotOffsets[slot]);
+            }
+            data.writeTo(out);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Lookup key for a request: method, full URI and a digest of the body when there is one
+     */
+    public static String keyOf(ApiRequest request) {
+        StringBuilder key = new StringBuilder(request.getMethod()).append(' ').append(request.getUri());
+        byte[] body = request.getBody();
+        if (body != null && body.length > 0) {
+            key.append(' ').append(sha256(body));
+        }
+        return key.toString();
+    }
+
+    private static void writeEntry(DataOutputStream out, byte[] keyBytes, ApiResponse response) throws IOException {
+        writeBytes(out, keyBytes);
+        out.writeInt(response.getStatusCode());
+        List<String[]> headers = new ArrayList<>();
+        response.getHeaders().forEach((name, values) -> values.forEach(value -> headers.add(new String[]{name, value})));
+        out.writeInt(headers.size());
+        for (String[] header : headers) {
+            writeBytes(out, header[0].getBytes(StandardCharsets.UTF_8));
+            writeBytes(out, header[1].getBytes(StandardCharsets.UTF_8));
+        }
+        writeBytes(out, response.asByteArray());
+    }
+
+    private static ApiResponse readResponse(ByteBuffer entry) {
+        int status = entry.getInt();
+        int headerCount = entry.getInt();
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (int i = 0; i < headerCount; i++) {
+            String name = new String(readBytes(entry), StandardCharsets.UTF_8);
+            String value = new String(readBytes(entry), StandardCharsets.UTF_8);
+            headers.computeIfAbsent(name, k -> new ArrayList<>()).add(value);
+        }
+        return new ApiResponse(status, headers, readBytes(entry), 0);
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(ByteBuffer entry) {
+        byte[] bytes = new byte[entry.getInt()];
+        entry.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * 64-bit FNV-1a with a final avalanche so the low bits index the table well
+     */
+    private static long hash(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.automation.api.cassette;
+
+import com.automation.api.ApiInterceptor;
+import com.automation.api.ApiRequest;
+import com.automation.api.ApiResponse;
+import com.automation.config.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records real exchanges into a cassette, or replays them from one without touching the network.
+ * In record mode exchanges are kept in memory and written when the interceptor is closed;
+ * in replay mode unmatched requests fail with a message naming the request and the cassette.
+ * Streaming GETs bypass interceptors and are therefore never recorded or replayed.
+ */
+public class CassetteInterceptor implements ApiInterceptor, AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(CassetteInterceptor.class);
+    private static volatile CassetteInterceptor shared;
+
+    public enum Mode {
+        OFF, RECORD, REPLAY
+    }
+
+    private final Mode mode;
+    private final Path path;
+    private final ConcurrentHashMap<String, ApiResponse> recorded = new ConcurrentHashMap<>();
+    private final Set<String> unmatched = ConcurrentHashMap.newKeySet();
+    private final Cassette cassette;
+
+    private CassetteInterceptor(Mode mode, Path path, Cassette cassette) {
+        this.mode = mode;
+        this.path = path;
+        this.cassette = cassette;
+    }
+
+    /**
+     * Interceptor capturing every exchange, written to path on close
+     */
+    public static CassetteInterceptor record(Path path) {
+        return new CassetteInterceptor(Mode.RECORD, path, null);
+    }
+
+    /**
+     * Interceptor serving every request from the cassette at path
+     */
+    public static CassetteInterceptor replay(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            throw new IllegalArgumentException("Cassette not found: " + path + " (record it first with api.cassette.mode=record)");
+        }
+        Cassette cassette = Cassette.open(path);
+        logger.info("Replaying {} recorded exchanges from {}", cassette.size(), path);
+        return new CassetteInterceptor(Mode.REPLAY, path, cassette);
+    }
+
+    /**
+     * Configured mode, from api.cassette.mode (off, record or replay)
+     */
+    public static Mode configuredMode() {
+        return Mode.valueOf(ConfigManager.getInstance().getApiCassetteMode().trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Interceptor configured by api.cassette.* properties, shared by all clients
+     */
+    public static CassetteInterceptor shared() {
+        if (shared == null) {
+            synchronized (CassetteInterceptor.class) {
+                if (shared == null) {
+                    Path path = Paths.get(ConfigManager.getInstance().getApiCassettePath());
+                    try {
+                        shared = configuredMode() == Mode.REPLAY ? replay(path) : record(path);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Failed to open cassette " + path + ": " + e.getMessage(), e);
+                    }
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Close the shared interceptor if one was created, saving or reporting as its mode requires
+     */
+    public static void closeShared() {
+        CassetteInterceptor interceptor = shared;
+        if (interceptor != null) {
+            interceptor.close();
+        }
+    }
+
+    @Override
+    public CompletableFuture<ApiResponse> intercept(ApiRequest request, Chain chain) {
+        if (mode == Mode.REPLAY) {
+            ApiResponse response = cassette.find(request);
+            if (response == null) {
+                String key = Cassette.keyOf(request);
+                unmatched.add(key);
+                return CompletableFuture.failedFuture(new IllegalStateException(
+                        "No recorded exchange for " + key + " in cassette " + path));
+            }
+            return CompletableFuture.completedFuture(response);
+        }
+        return chain.proceed(request).thenApply(response -> {
+            if (mode == Mode.RECORD) {
+                // First exchange wins, so a cassette captures each request once
+                recorded.putIfAbsent(Cassette.keyOf(request), response);
+            }
+            return response;
+        });
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Requests that found no recorded exchange during replay
+     */
+    public List<String> getUnmatched() {
+        List<String> keys = new ArrayList<>(unmatched);
+        Collections.sort(keys);
+        return keys;
+    }
+
+    /**
+     * Write the recorded exchanges to the cassette file; no-op outside record mode
+     */
+    public void save() throws IOException {
+        if (mode == Mode.RECORD) {
+            Cassette.write(path, recorded);
+            logger.info("Recorded {} exchanges to cassette {}", recorded.size(), path);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            save();
+            if (cassette != null) {
+                cassette.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close cassette " + path + ": " + e.getMessage(), e);
+        }
+        if (!unmatched.isEmpty()) {
+            logger.warn("{} request(s) had no recorded exchange in cassette {}:\n  {}",
+                    unmatched.size(), path, String.join("\n  ", getUnmatched()));
+        }
+    }
+}
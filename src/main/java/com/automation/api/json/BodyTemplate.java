@@ -0,0 +1,216 @@
+package com.automation.api.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JSON request body serialized once into byte segments with placeholder slots between them.
+ * Rendering splices the slot values into a single exactly-sized array: quoted slots ("${name}")
+ * take JSON-escaped strings, bare slots (${name}) take any value written by a cached ObjectWriter.
+ * A placeholder may not sit inside a longer string literal ("Hello ${name}"): a bare value spliced
+ * there would not be escaped or quoted, so compile rejects it.
+ */
+public final class BodyTemplate {
+    private static final ObjectWriter valueWriter = new ObjectMapper().writer();
+    private static final JsonStringEncoder stringEncoder = JsonStringEncoder.getInstance();
+    private static final ConcurrentHashMap<String, BodyTemplate> fieldTemplates = new ConcurrentHashMap<>();
+
+    private final byte[][] segments;
+    private final String[] slotNames;
+    private final boolean[] quoted;
+    private final Map<String, Integer> slotIndex;
+
+    private BodyTemplate(byte[][] segments, String[] slotNames, boolean[] quoted) {
+        this.segments = segments;
+        this.slotNames = slotNames;
+        this.quoted = quoted;
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < slotNames.length; i++) {
+            if (index.putIfAbsent(slotNames[i], i) != null) {
+                throw new IllegalArgumentException("Duplicate placeholder in body template: " + slotNames[i]);
+            }
+        }
+        this.slotIndex = Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * Compile a JSON template such as {"title":"${title}","userId":${userId}}
+     *
+     * @throws IllegalArgumentException if a placeholder is unterminated or part of a longer string literal
+     */
+    public static BodyTemplate compile(String template) {
+        List<byte[]> segments = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<Boolean> quotedSlots = new ArrayList<>();
+        int position = 0;
+        int start;
+        while ((start = template.indexOf("${", position)) >= 0) {
+            int end = template.indexOf('}', start);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unterminated placeholder in body template: " + template);
+            }
+            int stringStart = openStringStart(template, position, start);
+            boolean isQuoted = stringStart == start - 1
+                    && end + 1 < template.length() && template.charAt(end + 1) == '"';
+            if (stringStart >= 0 && !isQuoted) {
+                throw new IllegalArgumentException("Placeholder " + template.substring(start, end + 1)
+                        + " inside a string literal in body template; a placeholder must be the whole value, e.g. \""
+                        + template.substring(start, end + 1) + "\": " + template);
+            }
+            int literalEnd = isQuoted ? start - 1 : start;
+            segments.add(template.substring(position, literalEnd).getBytes(StandardCharsets.UTF_8));
+            names.add(template.substring(start + 2, end));
+            quotedSlots.add(isQuoted);
+            position = isQuoted ? end + 2 : end + 1;
+        }
+        segments.add(template.substring(position).getBytes(StandardCharsets.UTF_8));
+
+        boolean[] quoted = new boolean[quotedSlots.size()];
+        for (int i = 0; i < quoted.length; i++) {
+            quoted[i] = quotedSlots.get(i);
+        }
+        return new BodyTemplate(segments.toArray(new byte[0][]), names.toArray(new String[0]), quoted);
+    }
+
+    /**
+     * Index of the opening quote of the string literal that is still open at {@code to}, or -1.
+     * Scanning starts at {@code from}, which must lie outside any string literal.
+     */
+    private static int openStringStart(String template, int from, int to) {
+        int stringStart = -1;
+        for (int i = from; i < to; i++) {
+            char c = template.charAt(i);
+            if (stringStart >= 0 && c == '\\') {
+                i++;
+            } else if (c == '"') {
+                stringStart = stringStart >= 0 ? -1 : i;
+            }
+        }
+        return stringStart;
+    }
+
+    /**
+     * Cached template for a flat object of string fields, e.g. the columns of a DataTable row
+     */
+    public static BodyTemplate forFields(List<String> fieldNames) {
+        String key = String.join("\u0000", fieldNames);
+        BodyTemplate template = fieldTemplates.get(key);
+        if (template == null) {
+            template = fieldTemplates.computeIfAbsent(key, k -> {
+                StringBuilder json = new StringBuilder("{");
+                for (String name : fieldNames) {
+                    if (json.length() > 1) {
+                        json.append(',');
+                    }
+                    json.append('"').append(new String(stringEncoder.quoteAsString(name))).append("\":\"${")
+                            .append(name).append("}\"");
+                }
+                return compile(json.append('}').toString());
+            });
+        }
+        return template;
+    }
+
+    public List<String> getSlotNames() {
+        return Collections.unmodifiableList(Arrays.asList(slotNames));
+    }
+
+    /**
+     * Render with values looked up by placeholder name; a missing value renders as null
+     */
+    public byte[] render(Map<String, ?> values) {
+        Object[] ordered = new Object[slotNames.length];
+        for (int i = 0; i < slotNames.length; i++) {
+            ordered[i] = values.get(slotNames[i]);
+        }
+        return renderOrdered(ordered);
+    }
+
+    /**
+     * Render with values given in placeholder order
+     */
+    public byte[] renderOrdered(Object... values) {
+        if (values.length != slotNames.length) {
+            throw new IllegalArgumentException("Body template expects " + slotNames.length + " values, got " + values.length);
+        }
+        // Encoded slot values; null entries are plain ASCII strings copied directly in the second pass
+        byte[][] encoded = new byte[values.length][];
+        int size = 0;
+        for (byte[] segment : segments) {
+            size += segment.length;
+        }
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (quoted[i] && value != null) {
+                String text = value.toString();
+                if (isPlainAscii(text)) {
+                    size += text.length() + 2;
+                    continue;
+                }
+                encoded[i] = stringEncoder.quoteAsUTF8(text);
+                size += encoded[i].length + 2;
+            } else {
+                encoded[i] = writeValue(value);
+                size += encoded[i].length;
+            }
+        }
+
+        byte[] body = new byte[size];
+        int offset = 0;
+        for (int i = 0; i < values.length; i++) {
+            System.arraycopy(segments[i], 0, body, offset, segments[i].length);
+            offset += segments[i].length;
+            if (quoted[i] && values[i] != null) {
+                body[offset++] = '"';
+                if (encoded[i] == null) {
+                    String text = values[i].toString();
+                    for (int c = 0; c < text.length(); c++) {
+                        body[offset++] = (byte) text.charAt(c);
+                    }
+                } else {
+                    System.arraycopy(encoded[i], 0, body, offset, encoded[i].length);
+                    offset += encoded[i].length;
+                }
+                body[offset++] = '"';
+            } else {
+                System.arraycopy(encoded[i], 0, body, offset, encoded[i].length);
+                offset += encoded[i].length;
+            }
+        }
+        byte[] last = segments[segments.length - 1];
+        System.arraycopy(last, 0, body, offset, last.length);
+        return body;
+    }
+
+    /**
+     * Printable ASCII without quote or backslash needs no escaping and maps one char to one byte
+     */
+    private static boolean isPlainAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x20 || c > 0x7e || c == '"' || c == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] writeValue(Object value) {
+        try {
+            return valueWriter.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize body template value: " + e.getMessage(), e);
+        }
+    }
+}
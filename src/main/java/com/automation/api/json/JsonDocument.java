@@ -0,0 +1,77 @@
+package com.automation.api.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Response body parsed once into a Jackson tree, queried with compiled JsonPathExpressions
+ */
+public final class JsonDocument {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final JsonNode root;
+
+    private JsonDocument(JsonNode root) {
+        this.root = root;
+    }
+
+    public static JsonDocument parse(byte[] body) {
+        try {
+            return new JsonDocument(objectMapper.readTree(body));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Response body is not valid JSON: " + e.getMessage(), e);
+        }
+    }
+
+    public static JsonDocument parse(String body) {
+        try {
+            return new JsonDocument(objectMapper.readTree(body));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Response body is not valid JSON: " + e.getMessage(), e);
+        }
+    }
+
+    public JsonNode root() {
+        return root;
+    }
+
+    public JsonNode get(JsonPathExpression path) {
+        return path.evaluate(root);
+    }
+
+    public JsonNode get(String path) {
+        return get(JsonPathExpression.compile(path));
+    }
+
+    /**
+     * Text value at path, or null when the value is missing or JSON null
+     */
+    public String getString(String path) {
+        JsonNode node = get(path);
+        return node.isMissingNode() || node.isNull() ? null : node.asText();
+    }
+
+    public boolean has(String path) {
+        JsonNode node = get(path);
+        return !node.isMissingNode() && !node.isNull();
+    }
+
+    /**
+     * Elements of the array at path; empty when the value is not an array
+     */
+    public List<JsonNode> getArray(String path) {
+        JsonNode node = get(path);
+        if (!node.isArray()) {
+            return Collections.emptyList();
+        }
+        List<JsonNode> elements = new ArrayList<>(node.size());
+        node.forEach(elements::add);
+        return elements;
+    }
+}
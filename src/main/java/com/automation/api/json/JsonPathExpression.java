@@ -0,0 +1,95 @@
+package com.automation.api.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precompiled path into a JSON tree, e.g. "$", "id", "address.city", "[0].title", "$.items[2].name".
+ * Expressions are parsed once and cached, so evaluating them is a plain walk over the tree
+ * with no GPath/Groovy evaluation.
+ */
+public final class JsonPathExpression {
+    private static final ConcurrentHashMap<String, JsonPathExpression> cache = new ConcurrentHashMap<>();
+
+    private final String expression;
+    // Each segment is either a String field name or an Integer array index
+    private final Object[] segments;
+
+    private JsonPathExpression(String expression, Object[] segments) {
+        this.expression = expression;
+        this.segments = segments;
+    }
+
+    /**
+     * Compile (or fetch the cached compilation of) a path expression
+     */
+    public static JsonPathExpression compile(String expression) {
+        JsonPathExpression compiled = cache.get(expression);
+        if (compiled == null) {
+            compiled = cache.computeIfAbsent(expression, JsonPathExpression::parse);
+        }
+        return compiled;
+    }
+
+    private static JsonPathExpression parse(String expression) {
+        String path = expression.trim();
+        if (path.startsWith("$")) {
+            path = path.substring(1);
+        }
+        List<Object> segments = new ArrayList<>();
+        int i = 0;
+        while (i < path.length()) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                i++;
+            } else if (c == '[') {
+                int end = path.indexOf(']', i);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unclosed '[' in JSON path: " + expression);
+                }
+                String index = path.substring(i + 1, end).trim();
+                if (index.startsWith("'") || index.startsWith("\"")) {
+                    segments.add(index.substring(1, index.length() - 1));
+                } else {
+                    try {
+                        segments.add(Integer.valueOf(index));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid array index '" + index + "' in JSON path: " + expression);
+                    }
+                }
+                i = end + 1;
+            } else {
+                int end = i;
+                while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+                segments.add(path.substring(i, end));
+                i = end;
+            }
+        }
+        return new JsonPathExpression(expression, segments.toArray());
+    }
+
+    /**
+     * Evaluate against a tree; returns MissingNode when any segment is absent
+     */
+    public JsonNode evaluate(JsonNode root) {
+        JsonNode node = root;
+        for (Object segment : segments) {
+            if (node == null || node.isMissingNode()) {
+                return MissingNode.getInstance();
+            }
+            node = segment instanceof Integer ? node.path((Integer) segment) : node.path((String) segment);
+        }
+        return node == null ? MissingNode.getInstance() : node;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
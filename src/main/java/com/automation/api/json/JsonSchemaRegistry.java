@@ -0,0 +1,96 @@
+package com.automation.api.json;
+
+import com.automation.metrics.LatencyRecorder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JSON schemas loaded from the classpath and compiled once per JVM, cached by path.
+ * Validation runs on an already parsed tree, and its latency is recorded per schema.
+ */
+public final class JsonSchemaRegistry {
+    private static final Logger logger = LogManager.getLogger(JsonSchemaRegistry.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final JsonSchemaFactory factory = JsonSchemaFactory.byDefault();
+    private static final ConcurrentHashMap<String, JsonSchema> schemas = new ConcurrentHashMap<>();
+    private static final LatencyRecorder latencies = new LatencyRecorder();
+
+    private JsonSchemaRegistry() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Compiled schema for a classpath resource, e.g. "schemas/user-list.json"
+     */
+    public static JsonSchema get(String schemaPath) {
+        JsonSchema schema = schemas.get(schemaPath);
+        if (schema == null) {
+            schema = schemas.computeIfAbsent(schemaPath, JsonSchemaRegistry::load);
+        }
+        return schema;
+    }
+
+    /**
+     * Validate a parsed document against a cached schema
+     *
+     * @return validation error messages, empty when the document is valid
+     */
+    public static List<String> validate(String schemaPath, JsonNode instance) {
+        JsonSchema schema = get(schemaPath);
+        long start = System.nanoTime();
+        try {
+            ProcessingReport report = schema.validate(instance);
+            if (report.isSuccess()) {
+                return Collections.emptyList();
+            }
+            List<String> errors = new ArrayList<>();
+            for (ProcessingMessage message : report) {
+                JsonNode pointer = message.asJson().path("instance").path("pointer");
+                errors.add((pointer.asText().isEmpty() ? "/" : pointer.asText()) + ": " + message.getMessage());
+            }
+            return errors;
+        } catch (ProcessingException e) {
+            throw new IllegalStateException("Schema " + schemaPath + " could not be applied: " + e.getMessage(), e);
+        } finally {
+            latencies.record(schemaPath, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Validation latency per schema path
+     */
+    public static LatencyRecorder latencies() {
+        return latencies;
+    }
+
+    private static JsonSchema load(String schemaPath) {
+        String resource = schemaPath.startsWith("/") ? schemaPath.substring(1) : schemaPath;
+        try (InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Schema not found on classpath: " + schemaPath);
+            }
+            JsonSchema schema = factory.getJsonSchema(objectMapper.readTree(in));
+            logger.info("Compiled JSON schema: {}", schemaPath);
+            return schema;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read schema " + schemaPath + ": " + e.getMessage(), e);
+        } catch (ProcessingException e) {
+            throw new IllegalArgumentException("Invalid schema " + schemaPath + ": " + e.getMessage(), e);
+        }
+    }
+}
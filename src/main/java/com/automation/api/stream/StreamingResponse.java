@@ -0,0 +1,171 @@
+package com.automation.api.stream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Response whose body is kept in memory up to a threshold and spooled to a temp file beyond it.
+ * The body is read back as a stream, so assertions over very large payloads run element by
+ * element with flat heap usage. Close the response to delete the spill file.
+ */
+public class StreamingResponse implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(StreamingResponse.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final int statusCode;
+    private final Map<String, List<String>> headers;
+    private final byte[] memoryBody;
+    private final Path spillFile;
+    private final long size;
+
+    private StreamingResponse(int statusCode, Map<String, List<String>> headers, byte[] memoryBody, Path spillFile, long size) {
+        this.statusCode = statusCode;
+        Map<String, List<String>> sorted = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        sorted.putAll(headers);
+        this.headers = Collections.unmodifiableMap(sorted);
+        this.memoryBody = memoryBody;
+        this.spillFile = spillFile;
+        this.size = size;
+    }
+
+    /**
+     * Read a body stream to completion, spilling to a temp file once it exceeds the threshold
+     */
+    public static StreamingResponse spool(int statusCode, Map<String, List<String>> headers, InputStream body,
+                                          long spillThresholdBytes, Path tempDir) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] chunk = new byte[CHUNK_SIZE];
+        long size = 0;
+        try (InputStream in = body) {
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                size += read;
+                if (size > spillThresholdBytes) {
+                    Files.createDirectories(tempDir);
+                    Path file = Files.createTempFile(tempDir, "api-response-", ".json");
+                    try (OutputStream out = Files.newOutputStream(file)) {
+                        buffer.writeTo(out);
+                        buffer = null;
+                        out.write(chunk, 0, read);
+                        while ((read = in.read(chunk)) != -1) {
+                            out.write(chunk, 0, read);
+                            size += read;
+                        }
+                    } catch (IOException e) {
+                        Files.deleteIfExists(file);
+                        throw e;
+                    }
+                    logger.info("Response body spilled to {} ({} bytes)", file, size);
+                    return new StreamingResponse(statusCode, headers, null, file, size);
+                }
+                buffer.write(chunk, 0, read);
+            }
+        }
+        return new StreamingResponse(statusCode, headers, buffer.toByteArray(), null, size);
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    /**
+     * Get all headers, keyed case-insensitively
+     */
+    public Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Body size in bytes
+     */
+    public long getSize() {
+        return size;
+    }
+
+    public boolean isSpilledToDisk() {
+        return spillFile != null;
+    }
+
+    /**
+     * Temp file holding the body, deleted on close, or null when the body is kept in memory
+     */
+    public Path getSpillFile() {
+        return spillFile;
+    }
+
+    /**
+     * Open a new stream over the body; each call starts from the beginning
+     */
+    public InputStream openBody() throws IOException {
+        return spillFile != null
+                ? new BufferedInputStream(Files.newInputStream(spillFile), CHUNK_SIZE)
+                : new ByteArrayInputStream(memoryBody);
+    }
+
+    /**
+     * Visit every element of a top-level JSON array, materializing one element at a time
+     *
+     * @return number of elements visited
+     */
+    public long forEachElement(ElementVisitor visitor) {
+        try (InputStream in = openBody(); JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalStateException("Streaming assertions require a top-level JSON array");
+            }
+            long index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                JsonNode element = objectMapper.readTree(parser);
+                if (!visitor.visit(index, element)) {
+                    return index + 1;
+                }
+                index++;
+            }
+            return index;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to stream response body: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (spillFile != null) {
+            try {
+                Files.deleteIfExists(spillFile);
+            } catch (IOException e) {
+                logger.warn("Could not delete spilled response body {}: {}", spillFile, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Callback for streamed array elements; return false to stop early
+     */
+    @FunctionalInterface
+    public interface ElementVisitor {
+        boolean visit(long index, JsonNode element);
+    }
+}
@@ -0,0 +1,159 @@
+package com.automation.api.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * One stub route definition: method, path pattern, optional query and request header match and the canned response.
+ * Path patterns match segment by segment; "{name}" matches any single segment.
+ * Response bodies are serialized once when the route is loaded.
+ */
+public class StubRoute {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String method;
+    private final String[] pathSegments;
+    private final Map<String, String> query;
+    private final Map<String, String> requestHeaders;
+    private final int status;
+    private final Map<String, String> headers;
+    private final JsonNode body;
+    private final byte[] bodyBytes;
+    private final long latencyMs;
+    private final boolean mergeRequestBody;
+
+    private StubRoute(String method, String path, Map<String, String> query, Map<String, String> requestHeaders,
+                      int status, Map<String, String> headers, JsonNode body, long latencyMs,
+                      boolean mergeRequestBody) throws IOException {
+        this.method = method.toUpperCase();
+        this.pathSegments = split(path);
+        this.query = query;
+        this.requestHeaders = requestHeaders;
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+        this.bodyBytes = body == null ? new byte[0] : objectMapper.writeValueAsBytes(body);
+        this.latencyMs = latencyMs;
+        this.mergeRequestBody = mergeRequestBody;
+    }
+
+    /**
+     * Parse a route definition; bodyFile is resolved relative to the routes directory
+     */
+    static StubRoute parse(JsonNode definition, Path routesDir) throws IOException {
+        String method = definition.path("method").asText(null);
+        String path = definition.path("path").asText(null);
+        if (method == null || path == null) {
+            throw new IllegalArgumentException("Stub route needs both 'method' and 'path': " + definition);
+        }
+
+        JsonNode body = definition.get("body");
+        if (definition.has("bodyFile")) {
+            body = objectMapper.readTree(Files.readAllBytes(routesDir.resolve(definition.get("bodyFile").asText())));
+        }
+
+        return new StubRoute(method, path,
+                toStringMap(definition.get("query")),
+                toStringMap(definition.get("requestHeaders")),
+                definition.path("status").asInt(200),
+                toStringMap(definition.get("headers")),
+                body,
+                definition.path("latencyMs").asLong(0),
+                definition.path("mergeRequestBody").asBoolean(false));
+    }
+
+    /**
+     * Whether this route serves the given request
+     *
+     * @param requestHeader first value of a request header by name, or null when it is absent
+     */
+    boolean matches(String requestMethod, String requestPath, Map<String, String> requestQuery,
+                    Function<String, String> requestHeader) {
+        if (!method.equals("*") && !method.equals(requestMethod)) {
+            return false;
+        }
+        String[] segments = split(requestPath);
+        if (segments.length != pathSegments.length) {
+            return false;
+        }
+        for (int i = 0; i < segments.length; i++) {
+            String pattern = pathSegments[i];
+            if (!(pattern.startsWith("{") && pattern.endsWith("}")) && !pattern.equals(segments[i])) {
+                return false;
+            }
+        }
+        for (Map.Entry<String, String> expected : query.entrySet()) {
+            if (!expected.getValue().equals(requestQuery.get(expected.getKey()))) {
+                return false;
+            }
+        }
+        for (Map.Entry<String, String> expected : requestHeaders.entrySet()) {
+            if (!expected.getValue().equals(requestHeader.apply(expected.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Response body for a request; precomputed unless the route merges the request body in
+     */
+    byte[] responseBody(byte[] requestBody) throws IOException {
+        if (!mergeRequestBody || requestBody.length == 0) {
+            return bodyBytes;
+        }
+        JsonNode request = objectMapper.readTree(requestBody);
+        if (!request.isObject()) {
+            return bodyBytes;
+        }
+        ObjectNode merged = body != null && body.isObject() ? ((ObjectNode) body).deepCopy() : objectMapper.createObjectNode();
+        Iterator<Map.Entry<String, JsonNode>> fields = request.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            merged.set(field.getKey(), field.getValue());
+        }
+        return objectMapper.writeValueAsBytes(merged);
+    }
+
+    int getStatus() {
+        return status;
+    }
+
+    Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    long getLatencyMs() {
+        return latencyMs;
+    }
+
+    @Override
+    public String toString() {
+        return method + " /" + String.join("/", pathSegments) + (query.isEmpty() ? "" : " " + query)
+                + (requestHeaders.isEmpty() ? "" : " " + requestHeaders);
+    }
+
+    private static String[] split(String path) {
+        String trimmed = path.replaceAll("^/+|/+$", "");
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/");
+    }
+
+    private static Map<String, String> toStringMap(JsonNode node) {
+        if (node == null || !node.isObject()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> values = new LinkedHashMap<>();
+        node.fields().forEachRemaining(field -> values.put(field.getKey(), field.getValue().asText()));
+        return Collections.unmodifiableMap(values);
+    }
+}
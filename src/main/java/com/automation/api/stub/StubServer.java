@@ -0,0 +1,219 @@
+package com.automation.api.stub;
+
+import com.automation.config.ConfigManager;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Embedded HTTP stub server for API scenarios, bound to an ephemeral loopback port.
+ * Routes are read from every *.json file in the routes directory (each an array of
+ * route definitions, first match wins). Responses are precomputed, and simulated latency
+ * is scheduled rather than slept so handler threads never block.
+ */
+public final class StubServer implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(StubServer.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String BASE_URL_PROPERTY = "api.base.url";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService delayer;
+    private final List<StubRoute> routes;
+    private final AtomicLong requestCount = new AtomicLong();
+    private boolean overridesBaseUrl;
+
+    private StubServer(List<StubRoute> routes, int threads) throws IOException {
+        this.routes = routes;
+        this.executor = Executors.newFixedThreadPool(threads, daemonThreads("api-stub-"));
+        this.delayer = Executors.newSingleThreadScheduledExecutor(daemonThreads("api-stub-latency-"));
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * Start a server serving the routes found in a directory
+     */
+    public static StubServer start(Path routesDir, int threads) throws IOException {
+        return new StubServer(loadRoutes(routesDir), threads);
+    }
+
+    /**
+     * Start the stub server when api.stub.enabled is set and point api.base.url at it
+     *
+     * @return the running server, or null when stubbing is disabled
+     */
+    public static StubServer startIfEnabled() {
+        ConfigManager config = ConfigManager.getInstance();
+        if (!config.isApiStubEnabled()) {
+            return null;
+        }
+        try {
+            StubServer stub = start(Paths.get(config.getApiStubRoutesPath()), config.getApiStubThreadCount());
+            stub.overrideBaseUrl();
+            return stub;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to start API stub server: " + e.getMessage(), e);
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + getPort();
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    private void overrideBaseUrl() {
+        overridesBaseUrl = true;
+        ConfigManager.getInstance().setOverride(BASE_URL_PROPERTY, getBaseUrl());
+        logger.info("API stub server serving {} routes at {}", routes.size(), getBaseUrl());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        delayer.shutdownNow();
+        if (overridesBaseUrl) {
+            ConfigManager.getInstance().setOverride(BASE_URL_PROPERTY, null);
+        }
+        logger.info("API stub server stopped after {} requests", requestCount.get());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        String method = exchange.getRequestMethod().toUpperCase();
+        String path = exchange.getRequestURI().getRawPath();
+        byte[] requestBody;
+        try (InputStream in = exchange.getRequestBody()) {
+            requestBody = in.readAllBytes();
+        }
+
+        StubRoute route = findRoute(method, path, parseQuery(exchange.getRequestURI().getRawQuery()),
+                exchange.getRequestHeaders()::getFirst);
+        if (route == null) {
+            logger.warn("No stub route for {} {}", method, exchange.getRequestURI());
+            String error = "{\"error\":\"No stub route for " + method + " " + path + "\"}";
+            respond(exchange, 404, Collections.emptyMap(), error.getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+
+        byte[] body = route.responseBody(requestBody);
+        if (route.getLatencyMs() > 0) {
+            delayer.schedule(() -> respond(exchange, route.getStatus(), route.getHeaders(), body),
+                    route.getLatencyMs(), TimeUnit.MILLISECONDS);
+        } else {
+            respond(exchange, route.getStatus(), route.getHeaders(), body);
+        }
+    }
+
+    private StubRoute findRoute(String method, String path, Map<String, String> query,
+                                Function<String, String> requestHeader) {
+        for (StubRoute route : routes) {
+            if (route.matches(method, path, query, requestHeader)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static void respond(HttpExchange exchange, int status, Map<String, String> headers, byte[] body) {
+        try {
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            headers.forEach((name, value) -> exchange.getResponseHeaders().set(name, value));
+            boolean noBody = "HEAD".equals(exchange.getRequestMethod()) || status == 204 || status == 304 || body.length == 0;
+            exchange.sendResponseHeaders(status, noBody ? -1 : body.length);
+            if (!noBody) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Stub response for {} failed: {}", exchange.getRequestURI(), e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> query = new HashMap<>();
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            query.putIfAbsent(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static List<StubRoute> loadRoutes(Path routesDir) throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(routesDir)) {
+            files = listing.filter(file -> file.toString().endsWith(".json")).sorted().collect(Collectors.toList());
+        }
+        List<StubRoute> routes = new ArrayList<>();
+        for (Path file : files) {
+            JsonNode definitions = objectMapper.readTree(file.toFile());
+            if (!definitions.isArray()) {
+                throw new IllegalArgumentException("Stub route file must contain a JSON array: " + file);
+            }
+            for (JsonNode definition : definitions) {
+                routes.add(StubRoute.parse(definition, routesDir));
+            }
+        }
+        if (routes.isEmpty()) {
+            throw new IllegalArgumentException("No stub routes found in " + routesDir);
+        }
+        logger.debug("Loaded {} stub routes from {}", routes.size(), routesDir);
+        return Collections.unmodifiableList(routes);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
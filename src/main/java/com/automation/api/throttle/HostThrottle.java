@@ -0,0 +1,143 @@
+package com.automation.api.throttle;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token bucket and in-flight governor for one target host.
+ *
+ * The bucket is a generic cell rate algorithm: each request reserves the next free send slot,
+ * so callers learn how long to wait without sleeping while holding a lock. The rate adapts
+ * AIMD-style: halved when the target answers 429, then restored step by step on success,
+ * never above the configured rate.
+ */
+class HostThrottle {
+    private static final double MIN_RATE_FRACTION = 0.05;
+    private static final double RECOVERY_STEPS = 50.0;
+
+    private final String host;
+    // Replaced on a configuration reload
+    private volatile ThrottlePolicy policy;
+
+    // Token bucket state, guarded by this
+    private double currentRate;
+    private long nextFreeNanos = System.nanoTime();
+
+    // Governor state, guarded by waiters
+    private final ArrayDeque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private int available;
+
+    final LongAdder requests = new LongAdder();
+    final LongAdder throttledRequests = new LongAdder();
+    final LongAdder throttledNanos = new LongAdder();
+    final LongAdder tooManyRequests = new LongAdder();
+    final LongAdder retries = new LongAdder();
+
+    HostThrottle(String host, ThrottlePolicy policy) {
+        this.host = host;
+        this.policy = policy;
+        this.currentRate = policy.getRatePerSecond();
+        this.available = policy.getMaxInFlight();
+    }
+
+    /**
+     * Reserve the next send slot
+     *
+     * @return nanoseconds to wait before sending
+     */
+    synchronized long reserve() {
+        long now = System.nanoTime();
+        long interval = (long) (1_000_000_000L / currentRate);
+        // Unused capacity accumulates up to the burst size
+        nextFreeNanos = Math.max(nextFreeNanos, now - (policy.getBurst() - 1) * interval);
+        long wait = Math.max(0, nextFreeNanos - now);
+        nextFreeNanos += interval;
+        return wait;
+    }
+
+    /**
+     * Hold every send until the target's Retry-After has passed, and back off the rate
+     */
+    synchronized void onTooManyRequests(long retryAfterNanos) {
+        nextFreeNanos = Math.max(nextFreeNanos, System.nanoTime() + retryAfterNanos);
+        currentRate = Math.max(policy.getRatePerSecond() * MIN_RATE_FRACTION, currentRate / 2);
+    }
+
+    synchronized void onSuccess() {
+        if (currentRate < policy.getRatePerSecond()) {
+            currentRate = Math.min(policy.getRatePerSecond(), currentRate + policy.getRatePerSecond() / RECOVERY_STEPS);
+        }
+    }
+
+    /**
+     * Apply a new policy without dropping queued requests: the rate is reset to the new limit and
+     * the in-flight limit grows or shrinks as permits are released
+     */
+    void updatePolicy(ThrottlePolicy next) {
+        int added;
+        synchronized (this) {
+            ThrottlePolicy previous = policy;
+            policy = next;
+            currentRate = next.getRatePerSecond();
+            added = next.getMaxInFlight() - previous.getMaxInFlight();
+        }
+        synchronized (waiters) {
+            available += added;
+        }
+        // Wake requests the larger limit now admits
+        while (true) {
+            CompletableFuture<Void> waiter;
+            synchronized (waiters) {
+                if (available <= 0 || (waiter = waiters.poll()) == null) {
+                    return;
+                }
+                available--;
+            }
+            waiter.complete(null);
+        }
+    }
+
+    synchronized double getCurrentRate() {
+        return currentRate;
+    }
+
+    /**
+     * Permit to send; completes immediately while fewer than maxInFlight requests are outstanding
+     */
+    CompletableFuture<Void> acquire() {
+        synchronized (waiters) {
+            if (available > 0) {
+                available--;
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> permit = new CompletableFuture<>();
+            waiters.add(permit);
+            return permit;
+        }
+    }
+
+    void release() {
+        CompletableFuture<Void> next;
+        synchronized (waiters) {
+            // Below zero after the in-flight limit was lowered: retire the permit instead
+            if (available < 0 || (next = waiters.poll()) == null) {
+                available++;
+                return;
+            }
+        }
+        // Hand the permit over directly, outside the lock
+        next.complete(null);
+    }
+
+    ThrottleStats stats() {
+        int inFlight;
+        int queued;
+        synchronized (waiters) {
+            inFlight = policy.getMaxInFlight() - available;
+            queued = waiters.size();
+        }
+        return new ThrottleStats(host, policy, getCurrentRate(), requests.sum(), throttledRequests.sum(),
+                throttledNanos.sum(), tooManyRequests.sum(), retries.sum(), inFlight, queued);
+    }
+}
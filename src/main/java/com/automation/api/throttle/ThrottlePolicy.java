@@ -0,0 +1,61 @@
+package com.automation.api.throttle;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Limits for one target: sustained requests per second, burst size and maximum requests in flight
+ */
+public class ThrottlePolicy {
+    private final double ratePerSecond;
+    private final int burst;
+    private final int maxInFlight;
+
+    public ThrottlePolicy(double ratePerSecond, int burst, int maxInFlight) {
+        if (ratePerSecond <= 0 || burst < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("Invalid throttle policy: rate=" + ratePerSecond
+                    + " burst=" + burst + " maxInFlight=" + maxInFlight);
+        }
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Parse per-target overrides of the form "host[:port]=rate:burst:maxInFlight, ..."
+     */
+    public static Map<String, ThrottlePolicy> parseOverrides(String overrides) {
+        Map<String, ThrottlePolicy> policies = new HashMap<>();
+        if (overrides == null || overrides.trim().isEmpty()) {
+            return policies;
+        }
+        for (String entry : overrides.split(",")) {
+            String[] target = entry.trim().split("=");
+            String[] limits = target.length == 2 ? target[1].trim().split(":") : new String[0];
+            if (limits.length != 3) {
+                throw new IllegalArgumentException("Invalid api.throttle.overrides entry '" + entry.trim()
+                        + "', expected host[:port]=rate:burst:maxInFlight");
+            }
+            policies.put(target[0].trim().toLowerCase(), new ThrottlePolicy(Double.parseDouble(limits[0].trim()),
+                    Integer.parseInt(limits[1].trim()), Integer.parseInt(limits[2].trim())));
+        }
+        return policies;
+    }
+
+    public double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("rate=%.1f/s burst=%d maxInFlight=%d", ratePerSecond, burst, maxInFlight);
+    }
+}
@@ -0,0 +1,56 @@
+package com.automation.api.throttle;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of throttling for one target host
+ */
+public class ThrottleStats {
+    private final String host;
+    private final ThrottlePolicy policy;
+    private final double currentRate;
+    private final long requests;
+    private final long throttledRequests;
+    private final long throttledNanos;
+    private final long tooManyRequests;
+    private final long retries;
+    private final int inFlight;
+    private final int queued;
+
+    ThrottleStats(String host, ThrottlePolicy policy, double currentRate, long requests, long throttledRequests,
+                  long throttledNanos, long tooManyRequests, long retries, int inFlight, int queued) {
+        this.host = host;
+        this.policy = policy;
+        this.currentRate = currentRate;
+        this.requests = requests;
+        this.throttledRequests = throttledRequests;
+        this.throttledNanos = throttledNanos;
+        this.tooManyRequests = tooManyRequests;
+        this.retries = retries;
+        this.inFlight = inFlight;
+        this.queued = queued;
+    }
+
+    public String getHost() { return host; }
+    public ThrottlePolicy getPolicy() { return policy; }
+    public double getCurrentRate() { return currentRate; }
+    public long getRequests() { return requests; }
+    public long getThrottledRequests() { return throttledRequests; }
+    public long getTooManyRequests() { return tooManyRequests; }
+    public long getRetries() { return retries; }
+    public int getInFlight() { return inFlight; }
+    public int getQueued() { return queued; }
+
+    /**
+     * Total time requests spent waiting for a permit, a token or a Retry-After, in milliseconds
+     */
+    public long getThrottledMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(throttledNanos);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [%s] requests=%d throttled=%d throttledTime=%dms 429s=%d retries=%d currentRate=%.1f/s",
+                host, policy, requests, throttledRequests, getThrottledMillis(), tooManyRequests, retries, currentRate);
+    }
+}
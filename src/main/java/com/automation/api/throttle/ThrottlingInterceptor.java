@@ -0,0 +1,188 @@
+package com.automation.api.throttle;
+
+import com.automation.api.ApiInterceptor;
+import com.automation.api.ApiRequest;
+import com.automation.api.ApiResponse;
+import com.automation.api.AsyncHttpTransport;
+import com.automation.config.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side rate limiting for every request, shared across threads and clients.
+ * Each target host (host[:port] of the request URI) gets its own token bucket and in-flight
+ * governor. 429 responses, and 503 responses carrying Retry-After, pause the host for the
+ * advertised time, halve its rate and are retried up to api.throttle.max.retries times.
+ */
+public class ThrottlingInterceptor implements ApiInterceptor {
+    private static final Logger logger = LogManager.getLogger(ThrottlingInterceptor.class);
+    private static final long DEFAULT_RETRY_AFTER_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // Applied to the shared interceptor on reload; api.throttle.enabled is read once at startup
+    private static final String[] RELOADABLE_KEYS = {"api.throttle.rate.per.second", "api.throttle.burst",
+            "api.throttle.max.in.flight", "api.throttle.max.retries", "api.throttle.overrides"};
+    private static volatile ThrottlingInterceptor shared;
+
+    // Replaced together on a configuration reload
+    private volatile ThrottlePolicy defaultPolicy;
+    private volatile Map<String, ThrottlePolicy> overrides;
+    private volatile int maxRetries;
+    private final ConcurrentHashMap<String, HostThrottle> hosts = new ConcurrentHashMap<>();
+
+    public ThrottlingInterceptor(ThrottlePolicy defaultPolicy, Map<String, ThrottlePolicy> overrides, int maxRetries) {
+        this.defaultPolicy = defaultPolicy;
+        this.overrides = overrides;
+        this.maxRetries = maxRetries;
+    }
+
+    /**
+     * Interceptor configured by api.throttle.* properties, shared by all clients
+     */
+    public static ThrottlingInterceptor shared() {
+        if (shared == null) {
+            synchronized (ThrottlingInterceptor.class) {
+                if (shared == null) {
+                    ConfigManager config = ConfigManager.getInstance();
+                    ThrottlingInterceptor interceptor = new ThrottlingInterceptor(defaultPolicy(config),
+                            ThrottlePolicy.parseOverrides(config.getApiThrottleOverrides()),
+                            config.getApiThrottleMaxRetries());
+                    config.subscribe(changedKeys -> {
+                        if (changedKeys.stream().anyMatch(key -> key.startsWith("api.throttle."))) {
+                            interceptor.reconfigure(defaultPolicy(config),
+                                    ThrottlePolicy.parseOverrides(config.getApiThrottleOverrides()),
+                                    config.getApiThrottleMaxRetries());
+                        }
+                    }, RELOADABLE_KEYS);
+                    shared = interceptor;
+                    logger.info("API throttling enabled: default {}, overrides {}",
+                            interceptor.defaultPolicy, interceptor.overrides);
+                }
+            }
+        }
+        return shared;
+    }
+
+    private static ThrottlePolicy defaultPolicy(ConfigManager config) {
+        return new ThrottlePolicy(config.getApiThrottleRatePerSecond(),
+                config.getApiThrottleBurst(), config.getApiThrottleMaxInFlight());
+    }
+
+    /**
+     * Apply new limits to every known host; requests already waiting keep their place
+     */
+    public void reconfigure(ThrottlePolicy defaultPolicy, Map<String, ThrottlePolicy> overrides, int maxRetries) {
+        this.defaultPolicy = defaultPolicy;
+        this.overrides = overrides;
+        this.maxRetries = maxRetries;
+        hosts.forEach((authority, host) -> host.updatePolicy(policyFor(authority, hostOf(authority))));
+        logger.info("API throttling reconfigured: default {}, overrides {}", defaultPolicy, overrides);
+    }
+
+    @Override
+    public CompletableFuture<ApiResponse> intercept(ApiRequest request, Chain chain) {
+        HostThrottle host = hostFor(request.getUri());
+        host.requests.increment();
+        return attempt(host, request, chain, 0);
+    }
+
+    private CompletableFuture<ApiResponse> attempt(HostThrottle host, ApiRequest request, Chain chain, int retry) {
+        long waitStart = System.nanoTime();
+        return host.acquire().thenCompose(permit -> {
+            long wait = host.reserve();
+            CompletableFuture<ApiResponse> response = wait > 0
+                    ? CompletableFuture.runAsync(() -> { },
+                            CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS, AsyncHttpTransport.executor()))
+                            .thenCompose(ignored -> send(host, request, chain, waitStart))
+                    : send(host, request, chain, waitStart);
+            return response.whenComplete((result, error) -> host.release());
+        }).thenCompose(response -> {
+            long retryAfter = retryAfterNanos(response);
+            if (retryAfter < 0) {
+                host.onSuccess();
+                return CompletableFuture.completedFuture(response);
+            }
+            host.tooManyRequests.increment();
+            host.onTooManyRequests(retryAfter);
+            if (retry >= maxRetries) {
+                logger.warn("{} {} still throttled after {} retries", request.getMethod(), request.getUri(), retry);
+                return CompletableFuture.completedFuture(response);
+            }
+            host.retries.increment();
+            logger.info("{} {} answered {}, retrying in {} ms", request.getMethod(), request.getUri(),
+                    response.getStatusCode(), TimeUnit.NANOSECONDS.toMillis(retryAfter));
+            return attempt(host, request, chain, retry + 1);
+        });
+    }
+
+    private static CompletableFuture<ApiResponse> send(HostThrottle host, ApiRequest request, Chain chain, long waitStart) {
+        long waited = System.nanoTime() - waitStart;
+        // Sub-millisecond waits are scheduling noise, not throttling
+        if (waited > TimeUnit.MILLISECONDS.toNanos(1)) {
+            host.throttledRequests.increment();
+            host.throttledNanos.add(waited);
+        }
+        return chain.proceed(request);
+    }
+
+    /**
+     * Per-host throttling statistics, sorted by host
+     */
+    public Map<String, ThrottleStats> getStats() {
+        Map<String, ThrottleStats> stats = new TreeMap<>();
+        hosts.forEach((name, host) -> stats.put(name, host.stats()));
+        return stats;
+    }
+
+    private HostThrottle hostFor(URI uri) {
+        String authority = uri.getAuthority() == null ? "" : uri.getAuthority().toLowerCase();
+        HostThrottle host = hosts.get(authority);
+        if (host == null) {
+            host = hosts.computeIfAbsent(authority, key -> new HostThrottle(key, policyFor(key, uri.getHost())));
+        }
+        return host;
+    }
+
+    private ThrottlePolicy policyFor(String authority, String host) {
+        Map<String, ThrottlePolicy> current = overrides;
+        return current.getOrDefault(authority, current.getOrDefault(host, defaultPolicy));
+    }
+
+    private static String hostOf(String authority) {
+        int port = authority.lastIndexOf(':');
+        return port > authority.lastIndexOf(']') ? authority.substring(0, port) : authority;
+    }
+
+    /**
+     * Time the target asked us to back off, or -1 when the response is not a throttling response
+     */
+    private static long retryAfterNanos(ApiResponse response) {
+        String retryAfter = response.getHeader("Retry-After");
+        int status = response.getStatusCode();
+        if (status != 429 && !(status == 503 && retryAfter != null)) {
+            return -1;
+        }
+        if (retryAfter == null) {
+            return DEFAULT_RETRY_AFTER_NANOS;
+        }
+        try {
+            return TimeUnit.SECONDS.toNanos(Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime until = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(until.getZone()), until).toNanos());
+            } catch (DateTimeParseException ignored) {
+                return DEFAULT_RETRY_AFTER_NANOS;
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.automation.config;
+
+import java.util.Set;
+
+/**
+ * Notified after a new configuration snapshot has been published
+ */
+@FunctionalInterface
+public interface ConfigListener {
+
+    /**
+     * @param changedKeys keys whose effective value changed; getters already return the new values
+     */
+    void configChanged(Set<String> changedKeys);
+}
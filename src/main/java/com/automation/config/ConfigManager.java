@@ -1,178 +1,661 @@
 package com.automation.config;
 
 import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.config.Configurator;
 
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 /**
  * Configuration Manager to handle all framework configuration
+ * Configuration is resolved into an immutable ConfigSnapshot and getters read its final fields.
+ * Layers, lowest precedence first: config.properties on the classpath, the file named by
+ * -Dconfig.file (or CONFIG_FILE), environment variables, system properties and overrides.
+ * Environment variables and system properties are copied when the manager is created, so a later
+ * System.setProperty is never seen; change a value at run time with setOverride instead.
+ * With config.reload.enabled the files are watched; a valid change publishes a new snapshot
+ * atomically and notifies subscribers, an invalid one is rejected and the current snapshot kept.
  */
 public class ConfigManager {
     private static final Logger logger = LogManager.getLogger(ConfigManager.class);
-    private static ConfigManager instance;
-    private Properties properties;
+    private static final String RESOURCE = "config.properties";
+    // Used when resources are not on the classpath, e.g. running sources straight from an IDE
+    private static final String SOURCE_FILE = "src/main/resources/config.properties";
+    // Read each time they are used rather than once at startup, so a reload applies without a subscriber
+    private static final Set<String> PER_USE_KEYS = Set.of(
+            "app.base.url", "browser.name", "browser.headless", "browser.window.size",
+            "browser.command.tracking.enabled", "browser.command.report.path", "browser.performance.enabled",
+            "browser.performance.report.path", "browser.fixture.host", "api.base.url", "api.read.timeout",
+            "api.stream.spill.threshold.bytes", "api.stream.temp.dir", "retry.count", "retry.delay",
+            "history.flaky.report.path", "impact.report.path", "load.report.path", "startup.report.dir",
+            "step.latency.dir");
+
+    private final Map<String, String> environment;
+    private final ConfigSnapshot.Layer systemProperties;
+    private final AtomicReference<ConfigSnapshot> snapshot = new AtomicReference<>();
+    private final List<ConfigListener> listeners = new CopyOnWriteArrayList<>();
+    // Keys each listener applies when they change
+    private final Map<ConfigListener, Set<String>> appliedKeys = new ConcurrentHashMap<>();
+    // Guarded by this
+    private List<ConfigSnapshot.Layer> fileLayers;
+    private final Map<String, String> overrides = new HashMap<>();
+    private ConfigWatcher watcher;
 
     private ConfigManager() {
-        loadProperties();
+        fileLayers = loadFileLayers();
+        environment = Collections.unmodifiableMap(new HashMap<>(System.getenv()));
+        systemProperties = ConfigSnapshot.Layer.of("system property", System.getProperties(), null);
+        snapshot.set(resolve(fileLayers));
+        logger.info("Configuration properties loaded successfully from {}",
+                fileLayers.stream().map(layer -> layer.name).collect(Collectors.joining(", ")));
+        subscribe(ConfigManager::applyLogLevel, "logging.level");
+        if (current().configReloadEnabled) {
+            startWatching();
+        }
+    }
+
+    private static final class Holder {
+        // Initialized by the class loader on first use, so concurrent first calls are safe
+        private static final ConfigManager INSTANCE = new ConfigManager();
     }
 
     public static ConfigManager getInstance() {
-        if (instance == null) {
-            instance = new ConfigManager();
+        return Holder.INSTANCE;
+    }
+
+    private static List<ConfigSnapshot.Layer> loadFileLayers() {
+        List<ConfigSnapshot.Layer> layers = new ArrayList<>();
+        URL resource = ConfigManager.class.getClassLoader().getResource(RESOURCE);
+        if (resource != null) {
+            try (InputStream input = resource.openStream()) {
+                // A resource inside a jar cannot be watched; one under target/classes can
+                Path file = "file".equals(resource.getProtocol()) ? Paths.get(resource.toURI()) : null;
+                layers.add(ConfigSnapshot.Layer.of("classpath:" + RESOURCE, load(input), file));
+            } catch (IOException | URISyntaxException e) {
+                throw new IllegalStateException("Failed to load " + RESOURCE + " from the classpath", e);
+            }
+        } else if (Files.isRegularFile(Paths.get(SOURCE_FILE))) {
+            layers.add(loadFile(Paths.get(SOURCE_FILE)));
         }
-        return instance;
+
+        String configFile = System.getProperty("config.file", System.getenv("CONFIG_FILE"));
+        if (configFile != null && !configFile.isEmpty()) {
+            Path path = Paths.get(configFile);
+            if (!Files.isRegularFile(path)) {
+                throw new IllegalStateException("Configuration file " + path.toAbsolutePath() + " does not exist");
+            }
+            layers.add(loadFile(path));
+        }
+        if (layers.isEmpty()) {
+            throw new IllegalStateException(RESOURCE + " was not found on the classpath or at " + SOURCE_FILE
+                    + "; set -Dconfig.file to its location");
+        }
+        return layers;
     }
 
-    private void loadProperties() {
-        properties = new Properties();
-        try (InputStream input = new FileInputStream("src/main/resources/config.properties")) {
-            properties.load(input);
-            logger.info("Configuration properties loaded successfully");
+    private static ConfigSnapshot.Layer loadFile(Path path) {
+        try (InputStream input = Files.newInputStream(path)) {
+            return ConfigSnapshot.Layer.of(path.toString(), load(input), path);
         } catch (IOException e) {
-            logger.error("Error loading configuration properties: " + e.getMessage());
-            throw new RuntimeException("Failed to load configuration properties", e);
+            throw new IllegalStateException("Failed to load configuration properties from " + path, e);
         }
     }
 
-    public String getProperty(String key) {
-        // Check system property first, then fall back to properties file
-        String systemProperty = System.getProperty(key);
-        if (systemProperty != null) {
-            return systemProperty;
+    private static Properties load(InputStream input) throws IOException {
+        Properties properties = new Properties();
+        properties.load(input);
+        return properties;
+    }
+
+    private ConfigSnapshot resolve(List<ConfigSnapshot.Layer> layers) {
+        return new ConfigSnapshot(layers, environment, Arrays.asList(systemProperties,
+                new ConfigSnapshot.Layer("override", new HashMap<>(overrides), null)));
+    }
+
+    private ConfigSnapshot current() {
+        return snapshot.get();
+    }
+
+    /**
+     * Swap in a new snapshot and notify subscribers of the keys that changed.
+     * Readers never block: they see either the old snapshot or the new one, never a mix.
+     *
+     * @return the keys whose value changed
+     */
+    private Set<String> publish(ConfigSnapshot next) {
+        Map<String, String> previous = snapshot.getAndSet(next).values();
+        Set<String> changed = new TreeSet<>();
+        next.values().forEach((key, value) -> {
+            if (!value.equals(previous.get(key))) {
+                changed.add(key);
+            }
+        });
+        previous.keySet().stream().filter(key -> !next.values().containsKey(key)).forEach(changed::add);
+        if (changed.isEmpty()) {
+            return changed;
+        }
+        for (ConfigListener listener : listeners) {
+            try {
+                listener.configChanged(Collections.unmodifiableSet(changed));
+            } catch (RuntimeException e) {
+                logger.error("Configuration listener {} failed: {}", listener, e.getMessage(), e);
+            }
         }
-        return properties.getProperty(key);
+        return changed;
     }
 
-    public String getProperty(String key, String defaultValue) {
-        // Check system property first, then fall back to properties file
-        String systemProperty = System.getProperty(key);
-        if (systemProperty != null) {
-            return systemProperty;
+    /**
+     * Call the listener after every published change, on the thread that published it
+     *
+     * @param appliedKeys keys the listener puts into effect; a reload changing any other key that is
+     *                    only read at startup is logged as needing a restart
+     */
+    public void subscribe(ConfigListener listener, String... appliedKeys) {
+        this.appliedKeys.put(listener, Set.of(appliedKeys));
+        listeners.add(listener);
+    }
+
+    public void unsubscribe(ConfigListener listener) {
+        listeners.remove(listener);
+        appliedKeys.remove(listener);
+    }
+
+    /**
+     * Re-read the configuration files and publish them if they are valid
+     *
+     * @return true when a new snapshot was published
+     */
+    public synchronized boolean reload() {
+        ConfigSnapshot next;
+        List<ConfigSnapshot.Layer> layers;
+        try {
+            layers = loadFileLayers();
+            next = resolve(layers);
+        } catch (IllegalStateException e) {
+            logger.error("Configuration change rejected, keeping the current configuration: {}", e.getMessage());
+            return false;
         }
-        return properties.getProperty(key, defaultValue);
+        fileLayers = layers;
+        Set<String> changed = publish(next);
+        if (changed.isEmpty()) {
+            return false;
+        }
+        logger.info("Configuration reloaded from {}",
+                layers.stream().map(layer -> layer.name).collect(Collectors.joining(", ")));
+        Set<String> ignored = changed.stream()
+                .filter(key -> !PER_USE_KEYS.contains(key)
+                        && appliedKeys.values().stream().noneMatch(keys -> keys.contains(key)))
+                .collect(Collectors.toCollection(TreeSet::new));
+        if (!ignored.isEmpty()) {
+            logger.warn("Reloaded configuration changes {}, which are only read at startup; restart the run to apply them",
+                    ignored);
+        }
+        return true;
     }
 
-    public int getIntProperty(String key) {
-        return Integer.parseInt(properties.getProperty(key));
+    /**
+     * Watch the configuration files and reload them when they change; files inside a jar are not watched
+     */
+    public synchronized void startWatching() {
+        if (watcher != null) {
+            return;
+        }
+        List<Path> files = fileLayers.stream()
+                .map(layer -> layer.file)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        if (files.isEmpty()) {
+            logger.warn("Configuration reload enabled, but no configuration file can be watched; set -Dconfig.file");
+            return;
+        }
+        try {
+            watcher = new ConfigWatcher(files, current().configReloadDebounceMs, this::reload);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to watch configuration files " + files, e);
+        }
     }
 
-    public int getIntProperty(String key, int defaultValue) {
+    public synchronized void stopWatching() {
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
+    }
+
+    /**
+     * Override a key above every other layer for the rest of the run; a null value removes the override.
+     * The new value is validated like any other before the new snapshot is published.
+     */
+    public synchronized void setOverride(String key, String value) {
+        String previous = value == null ? overrides.remove(key) : overrides.put(key, value);
+        ConfigSnapshot next;
         try {
-            return Integer.parseInt(properties.getProperty(key));
-        } catch (NumberFormatException e) {
-            logger.warn("Could not parse property {} as integer, using default value: {}", key, defaultValue);
-            return defaultValue;
+            next = resolve(fileLayers);
+        } catch (IllegalStateException e) {
+            if (previous == null) {
+                overrides.remove(key);
+            } else {
+                overrides.put(key, previous);
+            }
+            throw e;
+        }
+        publish(next);
+        logger.info("Configuration override {}={}", key, value);
+    }
+
+    private static void applyLogLevel(Set<String> changedKeys) {
+        if (changedKeys.contains("logging.level")) {
+            String level = getInstance().getProperty("logging.level", "INFO");
+            Configurator.setRootLevel(Level.toLevel(level, Level.INFO));
+            logger.info("Root log level set to {}", level);
         }
     }
 
+    /**
+     * Where the effective value of a key came from: a file, environment variable, system property or override
+     */
+    public String getPropertySource(String key) {
+        return current().sourceOf(key);
+    }
+
+    public String getProperty(String key) {
+        return current().get(key);
+    }
+
+    public String getProperty(String key, String defaultValue) {
+        String value = current().get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    public int getIntProperty(String key) {
+        // One snapshot for both reads, so a reload in between cannot turn a present key into a default
+        ConfigSnapshot config = current();
+        if (config.get(key) == null) {
+            throw new IllegalStateException("Missing required configuration value for " + key);
+        }
+        return config.parseInt(key, 0);
+    }
+
+    public int getIntProperty(String key, int defaultValue) {
+        return current().parseInt(key, defaultValue);
+    }
+
     public boolean getBooleanProperty(String key) {
-        return Boolean.parseBoolean(properties.getProperty(key));
+        return current().parseBoolean(key, false);
     }
 
     public boolean getBooleanProperty(String key, boolean defaultValue) {
-        String value = properties.getProperty(key);
-        if (value == null) {
-            return defaultValue;
-        }
-        return Boolean.parseBoolean(value);
+        return current().parseBoolean(key, defaultValue);
     }
 
     // Application Configuration
     public String getAppBaseUrl() {
-        return getProperty("app.base.url");
+        return current().appBaseUrl;
     }
 
     public int getAppTimeout() {
-        return getIntProperty("app.timeout", 30);
+        return current().appTimeout;
     }
 
     public int getImplicitWait() {
-        return getIntProperty("app.implicit.wait", 10);
+        return current().implicitWait;
     }
 
     public int getExplicitWait() {
-        return getIntProperty("app.explicit.wait", 20);
+        return current().explicitWait;
     }
 
     // Browser Configuration
     public String getBrowserName() {
-        return getProperty("browser.name", "chrome");
+        return current().browserName;
     }
 
     public boolean isHeadless() {
-        return getBooleanProperty("browser.headless", false);
+        return current().headless;
     }
 
     public String getBrowserWindowSize() {
-        return getProperty("browser.window.size", "1920x1080");
+        return current().browserWindowSize;
     }
 
     public String getDownloadPath() {
-        return getProperty("browser.download.path", "downloads/");
+        return current().downloadPath;
+    }
+
+    public boolean isBrowserCommandTrackingEnabled() {
+        return current().browserCommandTrackingEnabled;
+    }
+
+    public String getBrowserCommandReportPath() {
+        return current().browserCommandReportPath;
+    }
+
+    public boolean isBrowserPerformanceEnabled() {
+        return current().browserPerformanceEnabled;
+    }
+
+    public String getBrowserPerformanceReportPath() {
+        return current().browserPerformanceReportPath;
+    }
+
+    /**
+     * Host name the browser uses to reach fixture pages served by the test JVM
+     */
+    public String getBrowserFixtureHost() {
+        return current().browserFixtureHost;
     }
 
     // API Configuration
     public String getApiBaseUrl() {
-        return getProperty("api.base.url");
+        return current().apiBaseUrl;
     }
 
     public int getApiTimeout() {
-        return getIntProperty("api.timeout", 30);
+        return current().apiTimeout;
     }
 
     public int getApiConnectionTimeout() {
-        return getIntProperty("api.connection.timeout", 10000);
+        return current().apiConnectionTimeout;
     }
 
     public int getApiReadTimeout() {
-        return getIntProperty("api.read.timeout", 30000);
+        return current().apiReadTimeout;
+    }
+
+    public int getApiAsyncThreadCount() {
+        return current().apiAsyncThreadCount;
+    }
+
+    public String getApiHttpVersion() {
+        return current().apiHttpVersion;
+    }
+
+    public int getApiHttp2Connections() {
+        return current().apiHttp2Connections;
+    }
+
+    public boolean isApiCacheEnabled() {
+        return current().apiCacheEnabled;
+    }
+
+    public int getApiCacheMaxEntries() {
+        return current().apiCacheMaxEntries;
+    }
+
+    public String getApiCacheVaryHeaders() {
+        return current().apiCacheVaryHeaders;
+    }
+
+    public long getApiStreamSpillThresholdBytes() {
+        return current().apiStreamSpillThresholdBytes;
+    }
+
+    public String getApiStreamTempDir() {
+        return current().apiStreamTempDir;
+    }
+
+    public boolean isApiThrottleEnabled() {
+        return current().apiThrottleEnabled;
+    }
+
+    public double getApiThrottleRatePerSecond() {
+        return current().apiThrottleRatePerSecond;
+    }
+
+    public int getApiThrottleBurst() {
+        return current().apiThrottleBurst;
+    }
+
+    public int getApiThrottleMaxInFlight() {
+        return current().apiThrottleMaxInFlight;
+    }
+
+    public int getApiThrottleMaxRetries() {
+        return current().apiThrottleMaxRetries;
+    }
+
+    public String getApiThrottleOverrides() {
+        return current().apiThrottleOverrides;
+    }
+
+    public boolean isApiStubEnabled() {
+        return current().apiStubEnabled;
+    }
+
+    public String getApiStubRoutesPath() {
+        return current().apiStubRoutesPath;
+    }
+
+    public int getApiStubThreadCount() {
+        return current().apiStubThreadCount;
+    }
+
+    public String getApiCassetteMode() {
+        return current().apiCassetteMode;
+    }
+
+    public String getApiCassettePath() {
+        return current().apiCassettePath;
     }
 
     // Test Configuration
     public String getTestDataPath() {
-        return getProperty("test.data.path", "src/test/resources/testdata/");
+        return current().testDataPath;
     }
 
     public String getTestReportsPath() {
-        return getProperty("test.reports.path", "target/cucumber-reports/");
+        return current().testReportsPath;
     }
 
     public String getScreenshotsPath() {
-        return getProperty("test.screenshots.path", "screenshots/");
+        return current().screenshotsPath;
     }
 
     // Parallel Execution Configuration
     public int getParallelThreadCount() {
-        return getIntProperty("parallel.thread.count", 4);
+        return current().parallelThreadCount;
     }
 
     public boolean isParallelExecutionEnabled() {
-        return getBooleanProperty("parallel.execution.enabled", true);
+        return current().parallelExecutionEnabled;
+    }
+
+    public boolean isApiVirtualThreadsEnabled() {
+        return current().apiVirtualThreadsEnabled;
+    }
+
+    public int getApiVirtualThreadsMaxConcurrency() {
+        return current().apiVirtualThreadsMaxConcurrency;
+    }
+
+    public boolean isLanesEnabled() {
+        return current().lanesEnabled;
+    }
+
+    public int getLanesUiThreads() {
+        return current().lanesUiThreads;
+    }
+
+    public int getLanesApiThreads() {
+        return current().lanesApiThreads;
+    }
+
+    // Load Generation Configuration
+    public String getLoadModel() {
+        return current().loadModel;
+    }
+
+    public int getLoadUsers() {
+        return current().loadUsers;
+    }
+
+    public double getLoadRatePerSecond() {
+        return current().loadRatePerSecond;
+    }
+
+    public int getLoadMaxUsers() {
+        return current().loadMaxUsers;
+    }
+
+    public int getLoadDurationSeconds() {
+        return current().loadDurationSeconds;
+    }
+
+    public String getLoadReportPath() {
+        return current().loadReportPath;
     }
 
     // Screenshot Configuration
     public boolean isScreenshotOnFailure() {
-        return getBooleanProperty("screenshot.on.failure", true);
+        return current().screenshotOnFailure;
     }
 
     public boolean isScreenshotOnSuccess() {
-        return getBooleanProperty("screenshot.on.success", false);
+        return current().screenshotOnSuccess;
     }
 
     public String getScreenshotFormat() {
-        return getProperty("screenshot.format", "png");
+        return current().screenshotFormat;
     }
 
     // Retry Configuration
     public int getRetryCount() {
-        return getIntProperty("retry.count", 2);
+        return current().retryCount;
     }
 
     public int getRetryDelay() {
-        return getIntProperty("retry.delay", 1000);
+        return current().retryDelay;
+    }
+
+    // Scenario History Configuration
+    public String getHistoryPath() {
+        return current().historyPath;
+    }
+
+    public int getHistoryMaxRuns() {
+        return current().historyMaxRuns;
+    }
+
+    public String getHistoryFlakyReportPath() {
+        return current().historyFlakyReportPath;
+    }
+
+    public String getHistoryBuildId() {
+        return current().historyBuildId;
+    }
+
+    // Test Impact Analysis
+    public String getImpactMapPath() {
+        return current().impactMapPath;
+    }
+
+    public boolean isImpactSelectionEnabled() {
+        return current().impactSelectionEnabled;
+    }
+
+    public String getImpactBaseRef() {
+        return current().impactBaseRef;
+    }
+
+    public String getImpactChangedFiles() {
+        return current().impactChangedFiles;
+    }
+
+    public String getImpactAlwaysTags() {
+        return current().impactAlwaysTags;
+    }
+
+    public String getImpactReportPath() {
+        return current().impactReportPath;
+    }
+
+    // Scheduling Configuration
+    public String getScheduleOrder() {
+        return current().scheduleOrder;
+    }
+
+    public int getShardIndex() {
+        return current().shardIndex;
+    }
+
+    public int getShardCount() {
+        return current().shardCount;
+    }
+
+    public String getShardSnapshotDir() {
+        return current().shardSnapshotDir;
+    }
+
+    public boolean isQueueEnabled() {
+        return current().queueEnabled;
+    }
+
+    public String getQueuePath() {
+        return current().queuePath;
+    }
+
+    /**
+     * Run the work queue belongs to; defaults to history.build.id
+     */
+    public String getQueueRunId() {
+        return current().queueRunId.isEmpty() ? current().historyBuildId : current().queueRunId;
+    }
+
+    public String getQueueWorkerId() {
+        return current().queueWorkerId;
+    }
+
+    public long getQueueLeaseMs() {
+        return current().queueLeaseMs;
+    }
+
+    /**
+     * Longest a scenario may run before its lease stops being renewed and another runner may take it
+     */
+    public long getQueueLeaseMaxMs() {
+        return current().queueLeaseMaxMs;
+    }
+
+    public long getQueuePollMs() {
+        return current().queuePollMs;
+    }
+
+    // Metrics Configuration
+    public String getStartupReportDir() {
+        return current().startupReportDir;
+    }
+
+    public String getStepLatencyDir() {
+        return current().stepLatencyDir;
+    }
+
+    // Configuration Reload
+    public boolean isConfigReloadEnabled() {
+        return current().configReloadEnabled;
+    }
+
+    public int getConfigReloadDebounceMs() {
+        return current().configReloadDebounceMs;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,420 @@
+package com.automation.config;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Immutable configuration resolved from layered sources, lowest precedence first:
+ * classpath config.properties, an optional external file, environment variables
+ * (api.base.url is read from API_BASE_URL), system properties and programmatic overrides.
+ * Typed values are parsed once here, so an invalid value fails at startup naming its key and source.
+ */
+final class ConfigSnapshot {
+
+    /**
+     * One named source of raw property values
+     */
+    static final class Layer {
+        final String name;
+        final Map<String, String> values;
+        // File the layer was read from, or null when it cannot be re-read (environment, system properties...)
+        final Path file;
+
+        Layer(String name, Map<String, String> values, Path file) {
+            this.name = name;
+            this.values = values;
+            this.file = file;
+        }
+
+        static Layer of(String name, Properties properties, Path file) {
+            Map<String, String> values = new HashMap<>();
+            properties.stringPropertyNames().forEach(key -> values.put(key, properties.getProperty(key)));
+            return new Layer(name, values, file);
+        }
+    }
+
+    private final Map<String, String> values;
+    private final Map<String, String> sources;
+    private final Map<String, String> environment;
+
+    // Application Configuration
+    final String appBaseUrl;
+    final int appTimeout;
+    final int implicitWait;
+    final int explicitWait;
+
+    // Browser Configuration
+    final String browserName;
+    final boolean headless;
+    final String browserWindowSize;
+    final String downloadPath;
+    final boolean browserCommandTrackingEnabled;
+    final String browserCommandReportPath;
+    final boolean browserPerformanceEnabled;
+    final String browserPerformanceReportPath;
+    final String browserFixtureHost;
+
+    // API Configuration
+    final String apiBaseUrl;
+    final int apiTimeout;
+    final int apiConnectionTimeout;
+    final int apiReadTimeout;
+    final int apiAsyncThreadCount;
+    final String apiHttpVersion;
+    final int apiHttp2Connections;
+    final boolean apiCacheEnabled;
+    final int apiCacheMaxEntries;
+    final String apiCacheVaryHeaders;
+    final long apiStreamSpillThresholdBytes;
+    final String apiStreamTempDir;
+    final boolean apiThrottleEnabled;
+    final double apiThrottleRatePerSecond;
+    final int apiThrottleBurst;
+    final int apiThrottleMaxInFlight;
+    final int apiThrottleMaxRetries;
+    final String apiThrottleOverrides;
+    final boolean apiStubEnabled;
+    final String apiStubRoutesPath;
+    final int apiStubThreadCount;
+    final String apiCassetteMode;
+    final String apiCassettePath;
+
+    // Test Configuration
+    final String testDataPath;
+    final String testReportsPath;
+    final String screenshotsPath;
+
+    // Parallel Execution Configuration
+    final int parallelThreadCount;
+    final boolean parallelExecutionEnabled;
+    final boolean apiVirtualThreadsEnabled;
+    final int apiVirtualThreadsMaxConcurrency;
+    final boolean lanesEnabled;
+    final int lanesUiThreads;
+    final int lanesApiThreads;
+
+    // Load Generation Configuration
+    final String loadModel;
+    final int loadUsers;
+    final double loadRatePerSecond;
+    final int loadMaxUsers;
+    final int loadDurationSeconds;
+    final String loadReportPath;
+
+    // Screenshot Configuration
+    final boolean screenshotOnFailure;
+    final boolean screenshotOnSuccess;
+    final String screenshotFormat;
+
+    // Retry Configuration
+    final int retryCount;
+    final int retryDelay;
+
+    // Scenario History Configuration
+    final String historyPath;
+    final int historyMaxRuns;
+    final String historyFlakyReportPath;
+    final String historyBuildId;
+
+    // Test Impact Analysis
+    final String impactMapPath;
+    final boolean impactSelectionEnabled;
+    final String impactBaseRef;
+    final String impactChangedFiles;
+    final String impactAlwaysTags;
+    final String impactReportPath;
+
+    // Scheduling
+    final String scheduleOrder;
+    final int shardIndex;
+    final int shardCount;
+    final String shardSnapshotDir;
+    final boolean queueEnabled;
+    final String queuePath;
+    final String queueRunId;
+    final String queueWorkerId;
+    final long queueLeaseMs;
+    final long queueLeaseMaxMs;
+    final long queuePollMs;
+
+    // Metrics Configuration
+    final String startupReportDir;
+    final String stepLatencyDir;
+
+    // Configuration Reload
+    final boolean configReloadEnabled;
+    final int configReloadDebounceMs;
+
+    /**
+     * @param lowerLayers property layers ranked below the environment, lowest precedence first
+     * @param environment environment variables, looked up as API_BASE_URL for api.base.url
+     * @param upperLayers property layers ranked above the environment, lowest precedence first
+     */
+    ConfigSnapshot(List<Layer> lowerLayers, Map<String, String> environment, List<Layer> upperLayers) {
+        this.environment = environment;
+        Map<String, String> resolved = new HashMap<>();
+        Map<String, String> resolvedFrom = new HashMap<>();
+        for (Layer layer : lowerLayers) {
+            apply(layer, resolved, resolvedFrom);
+        }
+        for (String key : resolved.keySet().toArray(new String[0])) {
+            String value = environment.get(environmentName(key));
+            if (value != null) {
+                resolved.put(key, value.trim());
+                resolvedFrom.put(key, "environment " + environmentName(key));
+            }
+        }
+        for (Layer layer : upperLayers) {
+            apply(layer, resolved, resolvedFrom);
+        }
+        this.values = Collections.unmodifiableMap(resolved);
+        this.sources = Collections.unmodifiableMap(resolvedFrom);
+
+        appBaseUrl = string("app.base.url", null);
+        appTimeout = positiveInt("app.timeout", 30);
+        implicitWait = nonNegativeInt("app.implicit.wait", 10);
+        explicitWait = nonNegativeInt("app.explicit.wait", 20);
+
+        browserName = string("browser.name", "chrome");
+        headless = parseBoolean("browser.headless", false);
+        browserWindowSize = string("browser.window.size", "1920x1080");
+        downloadPath = string("browser.download.path", "downloads/");
+        browserCommandTrackingEnabled = parseBoolean("browser.command.tracking.enabled", false);
+        browserCommandReportPath = string("browser.command.report.path", "target/webdriver-commands/summary.json");
+        browserPerformanceEnabled = parseBoolean("browser.performance.enabled", false);
+        browserPerformanceReportPath = string("browser.performance.report.path", "target/page-performance/pages.json");
+        browserFixtureHost = string("browser.fixture.host", "localhost");
+
+        apiBaseUrl = string("api.base.url", null);
+        apiTimeout = positiveInt("api.timeout", 30);
+        apiConnectionTimeout = positiveInt("api.connection.timeout", 10000);
+        apiReadTimeout = positiveInt("api.read.timeout", 30000);
+        apiAsyncThreadCount = positiveInt("api.async.threads", 16);
+        apiHttpVersion = string("api.http.version", "HTTP_1_1");
+        apiHttp2Connections = positiveInt("api.http2.connections", 2);
+        apiCacheEnabled = parseBoolean("api.cache.enabled", false);
+        apiCacheMaxEntries = positiveInt("api.cache.max.entries", 500);
+        apiCacheVaryHeaders = string("api.cache.vary.headers", "Accept,Authorization");
+        apiStreamSpillThresholdBytes = nonNegativeLong("api.stream.spill.threshold.bytes", 8 * 1024 * 1024);
+        apiStreamTempDir = string("api.stream.temp.dir", System.getProperty("java.io.tmpdir"));
+        apiThrottleEnabled = parseBoolean("api.throttle.enabled", false);
+        apiThrottleRatePerSecond = positiveDouble("api.throttle.rate.per.second", 50);
+        apiThrottleBurst = positiveInt("api.throttle.burst", 10);
+        apiThrottleMaxInFlight = positiveInt("api.throttle.max.in.flight", 20);
+        apiThrottleMaxRetries = nonNegativeInt("api.throttle.max.retries", 2);
+        apiThrottleOverrides = string("api.throttle.overrides", "");
+        apiStubEnabled = parseBoolean("api.stub.enabled", false);
+        apiStubRoutesPath = string("api.stub.routes.path", "src/test/resources/stubs/");
+        apiStubThreadCount = positiveInt("api.stub.threads", 32);
+        apiCassetteMode = oneOf("api.cassette.mode", "off", "off", "record", "replay");
+        apiCassettePath = string("api.cassette.path", "src/test/resources/cassettes/api.cassette");
+
+        testDataPath = string("test.data.path", "src/test/resources/testdata/");
+        testReportsPath = string("test.reports.path", "target/cucumber-reports/");
+        screenshotsPath = string("test.screenshots.path", "screenshots/");
+
+        parallelThreadCount = positiveInt("parallel.thread.count", 4);
+        parallelExecutionEnabled = parseBoolean("parallel.execution.enabled", true);
+        apiVirtualThreadsEnabled = parseBoolean("api.virtual.threads.enabled", false);
+        apiVirtualThreadsMaxConcurrency = positiveInt("api.virtual.threads.max.concurrency", 1000);
+        lanesEnabled = parseBoolean("lanes.enabled", false);
+        lanesUiThreads = positiveInt("lanes.ui.threads", 4);
+        lanesApiThreads = positiveInt("lanes.api.threads", 16);
+
+        loadModel = oneOf("load.model", "closed", "closed", "open");
+        loadUsers = positiveInt("load.users", 10);
+        loadRatePerSecond = positiveDouble("load.rate.per.second", 20);
+        loadMaxUsers = positiveInt("load.max.users", 200);
+        loadDurationSeconds = positiveInt("load.duration.seconds", 60);
+        loadReportPath = string("load.report.path", "target/load-reports/load-summary.json");
+
+        screenshotOnFailure = parseBoolean("screenshot.on.failure", true);
+        screenshotOnSuccess = parseBoolean("screenshot.on.success", false);
+        screenshotFormat = string("screenshot.format", "png");
+
+        retryCount = nonNegativeInt("retry.count", 2);
+        retryDelay = nonNegativeInt("retry.delay", 1000);
+
+        historyPath = string("history.path", "test-history/scenario-history.json");
+        historyMaxRuns = positiveInt("history.max.runs", 20);
+        historyFlakyReportPath = string("history.flaky.report.path", "target/rerun/flaky-scenarios.json");
+        // Runs of the same Jenkins build (first run and rerun phase) share a build id
+        historyBuildId = string("history.build.id", environment.getOrDefault("BUILD_NUMBER", "local"));
+
+        impactMapPath = string("impact.map.path", "test-history/impact-map.json");
+        impactSelectionEnabled = parseBoolean("impact.selection.enabled", false);
+        impactBaseRef = string("impact.base.ref", "origin/main");
+        impactChangedFiles = string("impact.changed.files", "");
+        impactAlwaysTags = string("impact.always.tags", "@smoke");
+        impactReportPath = string("impact.report.path", "target/impact/selection.json");
+
+        scheduleOrder = oneOf("schedule.order", "longest-first", "longest-first", "file");
+        shardCount = positiveInt("shard.count", 1);
+        shardIndex = nonNegativeInt("shard.index", 0);
+        if (shardIndex >= shardCount) {
+            throw invalid("shard.index", String.valueOf(shardIndex), "less than shard.count (" + shardCount + ")");
+        }
+        shardSnapshotDir = string("shard.snapshot.dir", "test-history/shard-snapshots");
+        queueEnabled = parseBoolean("queue.enabled", false);
+        if (queueEnabled && lanesEnabled) {
+            throw invalid("queue.enabled", "true", "false when lanes.enabled is set; queue runners use one pool");
+        }
+        if (queueEnabled && shardCount > 1) {
+            throw invalid("queue.enabled", "true", "false when shard.count is above 1; the queue replaces static shards");
+        }
+        queuePath = string("queue.path", "work-queue/queue.json");
+        queueRunId = string("queue.run.id", "");
+        queueWorkerId = string("queue.worker.id", "");
+        queueLeaseMs = nonNegativeLong("queue.lease.ms", 60000);
+        if (queueLeaseMs == 0) {
+            throw invalid("queue.lease.ms", "0", "a positive number of milliseconds");
+        }
+        queueLeaseMaxMs = nonNegativeLong("queue.lease.max.ms", 1800000);
+        if (queueLeaseMaxMs < queueLeaseMs) {
+            throw invalid("queue.lease.max.ms", String.valueOf(queueLeaseMaxMs), "at least queue.lease.ms (" + queueLeaseMs + ")");
+        }
+        queuePollMs = nonNegativeLong("queue.poll.ms", 500);
+
+        startupReportDir = string("startup.report.dir", "target/startup");
+        stepLatencyDir = string("step.latency.dir", "target/step-latency");
+
+        configReloadEnabled = parseBoolean("config.reload.enabled", false);
+        configReloadDebounceMs = nonNegativeInt("config.reload.debounce.ms", 500);
+    }
+
+    private static void apply(Layer layer, Map<String, String> resolved, Map<String, String> resolvedFrom) {
+        layer.values.forEach((key, value) -> {
+            resolved.put(key, value.trim());
+            resolvedFrom.put(key, layer.name);
+        });
+    }
+
+    static String environmentName(String key) {
+        return key.toUpperCase(Locale.ROOT).replace('.', '_').replace('-', '_');
+    }
+
+    /**
+     * Raw value of any key, or null when no layer defines it
+     */
+    String get(String key) {
+        String value = values.get(key);
+        return value != null ? value : environment.get(environmentName(key));
+    }
+
+    /**
+     * Where the effective value of a key came from, for diagnostics
+     */
+    String sourceOf(String key) {
+        String source = sources.get(key);
+        if (source == null && environment.containsKey(environmentName(key))) {
+            return "environment " + environmentName(key);
+        }
+        return source != null ? source : "default";
+    }
+
+    /**
+     * All resolved property values, for diagnostics and change detection
+     */
+    Map<String, String> values() {
+        return values;
+    }
+
+    private String string(String key, String defaultValue) {
+        String value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    int parseInt(String key, int defaultValue) {
+        String value = get(key);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw invalid(key, value, "an integer");
+        }
+    }
+
+    boolean parseBoolean(String key, boolean defaultValue) {
+        String value = get(key);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        if (value.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (value.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw invalid(key, value, "true or false");
+    }
+
+    private int positiveInt(String key, int defaultValue) {
+        int value = parseInt(key, defaultValue);
+        if (value < 1) {
+            throw invalid(key, String.valueOf(value), "a positive integer");
+        }
+        return value;
+    }
+
+    private int nonNegativeInt(String key, int defaultValue) {
+        int value = parseInt(key, defaultValue);
+        if (value < 0) {
+            throw invalid(key, String.valueOf(value), "zero or a positive integer");
+        }
+        return value;
+    }
+
+    private long nonNegativeLong(String key, long defaultValue) {
+        String value = get(key);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            long parsed = Long.parseLong(value);
+            if (parsed >= 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw invalid(key, value, "zero or a positive integer");
+    }
+
+    private double positiveDouble(String key, double defaultValue) {
+        String value = get(key);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            double parsed = Double.parseDouble(value);
+            if (parsed > 0 && !Double.isInfinite(parsed)) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw invalid(key, value, "a positive number");
+    }
+
+    private String oneOf(String key, String defaultValue, String... allowed) {
+        String value = string(key, defaultValue);
+        for (String candidate : allowed) {
+            if (candidate.equalsIgnoreCase(value)) {
+                return candidate;
+            }
+        }
+        throw invalid(key, value, "one of " + String.join(", ", allowed));
+    }
+
+    private IllegalStateException invalid(String key, String value, String expected) {
+        return new IllegalStateException(String.format("Invalid configuration value '%s' for %s (from %s): expected %s",
+                value, key, sourceOf(key), expected));
+    }
+}
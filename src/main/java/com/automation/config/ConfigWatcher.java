@@ -0,0 +1,99 @@
+package com.automation.config;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches configuration files with a WatchService and triggers a reload once edits settle.
+ * Editors often save in several steps (truncate, write, rename), so events are debounced
+ * and the files are read only after debounceMs without further changes.
+ */
+class ConfigWatcher implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(ConfigWatcher.class);
+
+    private final WatchService watchService;
+    private final Set<Path> files = new HashSet<>();
+    private final long debounceMs;
+    private final Runnable onChange;
+    private final Thread thread;
+
+    ConfigWatcher(Collection<Path> watchedFiles, long debounceMs, Runnable onChange) throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.debounceMs = debounceMs;
+        this.onChange = onChange;
+        Set<Path> directories = new HashSet<>();
+        for (Path file : watchedFiles) {
+            Path absolute = file.toAbsolutePath().normalize();
+            files.add(absolute);
+            // Directories are watched rather than files so atomic rename-on-save is seen
+            if (directories.add(absolute.getParent())) {
+                absolute.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+        }
+        thread = new Thread(this::run, "config-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Watching configuration files for changes: {}", files);
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                if (!touchesWatchedFile(watchService.take())) {
+                    continue;
+                }
+                // Keep draining until the files have been quiet for the debounce period
+                WatchKey next;
+                while ((next = watchService.poll(debounceMs, TimeUnit.MILLISECONDS)) != null) {
+                    touchesWatchedFile(next);
+                }
+                try {
+                    onChange.run();
+                } catch (RuntimeException e) {
+                    logger.error("Configuration reload failed: {}", e.getMessage(), e);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            logger.debug("Configuration watcher stopped");
+        }
+    }
+
+    /**
+     * Consume the key's events and report whether any touched a watched file
+     */
+    private boolean touchesWatchedFile(WatchKey key) {
+        boolean relevant = false;
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path && files.contains(directory.resolve((Path) event.context()))) {
+                relevant = true;
+            }
+        }
+        key.reset();
+        return relevant;
+    }
+
+    @Override
+    public void close() {
+        thread.interrupt();
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.debug("Error closing configuration watcher: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.automation.drivers;
+
+import com.automation.config.ConfigManager;
+import com.automation.metrics.LatencyRecorder;
+import com.automation.pageobjects.BasePage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Counts and times every WebDriver command of a decorated driver, per scenario, per command type
+ * (e.g. "WebElement.click") and per page object method that issued it (e.g. "GoogleSearchPage.search").
+ * A scenario's commands run on its own thread, like its driver, so they are collected per thread
+ * between startScenario and finishScenario. Drivers are only decorated when
+ * browser.command.tracking.enabled is set; otherwise commands never reach this class.
+ */
+public final class CommandTracker implements WebDriverListener {
+    private static final Logger logger = LogManager.getLogger(CommandTracker.class);
+    private static final CommandTracker INSTANCE = new CommandTracker();
+    private static final String OTHER_CALLER = "(outside page objects)";
+    private static final int TOP = 5;
+
+    // Calls answered by the decorator itself, without a round trip to the browser
+    private static final Set<String> LOCAL_METHODS = Set.of("manage", "navigate", "switchTo", "timeouts", "window",
+            "logs", "getWrappedDriver", "getWrappedElement", "toString", "hashCode", "equals");
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private final ThreadLocal<Deque<Long>> inFlight = ThreadLocal.withInitial(ArrayDeque::new);
+    private final ThreadLocal<ScenarioCommands> scenario = new ThreadLocal<>();
+
+    private final LatencyRecorder commandLatencies = new LatencyRecorder();
+    private final ConcurrentHashMap<String, Totals> pageMethods = new ConcurrentHashMap<>();
+    private final AtomicLong scenarios = new AtomicLong();
+    private final AtomicLong scenarioNanos = new AtomicLong();
+    private final AtomicLong commandNanos = new AtomicLong();
+
+    private CommandTracker() {
+    }
+
+    public static CommandTracker getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (!LOCAL_METHODS.contains(method.getName())) {
+            inFlight.get().push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finished(target, method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finished(target, method);
+    }
+
+    private void finished(Object target, Method method) {
+        Deque<Long> started = inFlight.get();
+        if (LOCAL_METHODS.contains(method.getName()) || started.isEmpty()) {
+            return;
+        }
+        long elapsed = System.nanoTime() - started.pop();
+        String command = targetType(target) + "." + method.getName();
+        String caller = pageMethod();
+
+        commandLatencies.record(command, elapsed);
+        commandNanos.addAndGet(elapsed);
+        pageMethods.computeIfAbsent(caller, key -> new Totals()).add(elapsed);
+        ScenarioCommands current = scenario.get();
+        if (current != null) {
+            current.record(command, caller, elapsed);
+        }
+    }
+
+    /**
+     * Start collecting the current thread's commands for a scenario
+     */
+    public void startScenario() {
+        scenario.set(new ScenarioCommands());
+    }
+
+    /**
+     * Stop collecting for the current thread's scenario
+     *
+     * @return a one-paragraph summary for the scenario report, or null when the scenario sent no commands
+     */
+    public String finishScenario() {
+        ScenarioCommands current = scenario.get();
+        scenario.remove();
+        if (current == null || current.commands.isEmpty()) {
+            return null;
+        }
+        long wallNanos = System.nanoTime() - current.startedNanos;
+        scenarios.incrementAndGet();
+        scenarioNanos.addAndGet(wallNanos);
+        return summary(current, wallNanos);
+    }
+
+    /**
+     * The summary finishScenario would return for the current thread's scenario so far, without finishing it
+     */
+    public String scenarioSummary() {
+        ScenarioCommands current = scenario.get();
+        if (current == null || current.commands.isEmpty()) {
+            return null;
+        }
+        return summary(current, System.nanoTime() - current.startedNanos);
+    }
+
+    private static String summary(ScenarioCommands current, long wallNanos) {
+        return String.format("WebDriver: %d command(s), %d ms of %d ms (%d%%) in round trips; commands: %s; page methods: %s",
+                current.count, TimeUnit.NANOSECONDS.toMillis(current.nanos), TimeUnit.NANOSECONDS.toMillis(wallNanos),
+                Math.round(100.0 * current.nanos / Math.max(1, wallNanos)),
+                top(current.commands), top(current.pageMethods));
+    }
+
+    /**
+     * Log the round-trip share and the chattiest page methods, and write the run summary as JSON
+     */
+    public void report(Path file) {
+        if (commandLatencies.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<String, Totals>> chattiest = pageMethods.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Totals> entry) -> entry.getValue().count.sum()).reversed())
+                .collect(Collectors.toList());
+        long scenarioMs = TimeUnit.NANOSECONDS.toMillis(scenarioNanos.get());
+        long commandMs = TimeUnit.NANOSECONDS.toMillis(commandNanos.get());
+        logger.info("WebDriver commands: {} ms in round trips over {} UI scenario(s) taking {} ms ({}%)",
+                commandMs, scenarios.get(), scenarioMs, scenarioMs == 0 ? 0 : Math.round(100.0 * commandMs / scenarioMs));
+        chattiest.stream().limit(TOP).forEach(entry -> logger.info("Chatty page method {}: {}", entry.getKey(), entry.getValue()));
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("scenarios", scenarios.get());
+        summary.put("scenarioMs", scenarioMs);
+        summary.put("commandMs", commandMs);
+        List<Map<String, Object>> methods = new ArrayList<>();
+        chattiest.forEach(entry -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("pageMethod", entry.getKey());
+            row.put("commands", entry.getValue().count.sum());
+            row.put("totalMs", TimeUnit.NANOSECONDS.toMillis(entry.getValue().nanos.sum()));
+            methods.add(row);
+        });
+        summary.put("pageMethods", methods);
+        summary.put("commands", commandLatencies.summaries());
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), summary);
+            logger.info("WebDriver command summary written to: {}", file);
+        } catch (IOException e) {
+            logger.warn("Could not write WebDriver command summary {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Report to browser.command.report.path
+     */
+    public void report() {
+        report(Paths.get(ConfigManager.getInstance().getBrowserCommandReportPath()));
+    }
+
+    private static String targetType(Object target) {
+        if (target instanceof WebElement) {
+            return "WebElement";
+        }
+        if (target instanceof WebDriver) {
+            return "WebDriver";
+        }
+        if (target instanceof Alert) {
+            return "Alert";
+        }
+        // Navigation, Options, Window, TargetLocator and the like are inner interfaces of WebDriver
+        for (Class<?> type : target.getClass().getInterfaces()) {
+            if (type.getEnclosingClass() == WebDriver.class) {
+                return type.getSimpleName();
+            }
+        }
+        return target.getClass().getSimpleName();
+    }
+
+    /**
+     * The innermost page object method on the stack, preferring a concrete page over BasePage helpers
+     */
+    private static String pageMethod() {
+        return STACK_WALKER.walk(frames -> {
+            String helper = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                Class<?> type = frame.getDeclaringClass();
+                // Lambdas passed to waits report the enclosing method further up the stack
+                if (!BasePage.class.isAssignableFrom(type) || frame.getMethodName().startsWith("lambda$")) {
+                    continue;
+                }
+                String name = type.getSimpleName() + "." + frame.getMethodName();
+                if (type != BasePage.class) {
+                    return name;
+                }
+                if (helper == null) {
+                    helper = name;
+                }
+            }
+            return helper != null ? helper : OTHER_CALLER;
+        });
+    }
+
+    private static String top(Map<String, long[]> totals) {
+        return totals.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> entry) -> entry.getValue()[0]).reversed())
+                .limit(TOP)
+                .map(entry -> String.format("%s x%d %d ms", entry.getKey(), entry.getValue()[0],
+                        TimeUnit.NANOSECONDS.toMillis(entry.getValue()[1])))
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Commands of the scenario running on one thread; only that thread touches it
+     */
+    private static final class ScenarioCommands {
+        private final long startedNanos = System.nanoTime();
+        private final Map<String, long[]> commands = new HashMap<>();
+        private final Map<String, long[]> pageMethods = new HashMap<>();
+        private long count;
+        private long nanos;
+
+        private void record(String command, String caller, long elapsed) {
+            count++;
+            nanos += elapsed;
+            add(commands, command, elapsed);
+            add(pageMethods, caller, elapsed);
+        }
+
+        private static void add(Map<String, long[]> totals, String key, long elapsed) {
+            long[] total = totals.computeIfAbsent(key, k -> new long[2]);
+            total[0]++;
+            total[1] += elapsed;
+        }
+    }
+
+    private static final class Totals {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        private void add(long elapsed) {
+            count.increment();
+            nanos.add(elapsed);
+        }
+
+        @Override
+        public String toString() {
+            return count.sum() + " command(s), " + TimeUnit.NANOSECONDS.toMillis(nanos.sum()) + " ms";
+        }
+    }
+}
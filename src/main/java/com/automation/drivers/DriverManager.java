@@ -14,14 +14,17 @@ import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.safari.SafariDriver;
 import org.openqa.selenium.safari.SafariOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.net.MalformedURLException;
 import java.net.URL;
 
 import java.time.Duration;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Thread-safe WebDriver Manager for parallel execution
@@ -35,23 +38,44 @@ public class DriverManager {
     private static final ConcurrentHashMap<Long, AtomicBoolean> quitFlags = new ConcurrentHashMap<>();
     
     private static final ConfigManager config = ConfigManager.getInstance();
+
+    // Bumped when wait settings are reloaded; each thread re-applies them to its own driver,
+    // since a WebDriver must not be driven from the config watcher thread
+    private static final Set<String> TIMEOUT_KEYS = Set.of("app.implicit.wait", "app.explicit.wait", "app.timeout");
+    private static final AtomicLong timeoutsVersion = new AtomicLong();
+    private static final ConcurrentHashMap<Long, Long> appliedTimeouts = new ConcurrentHashMap<>();
     
-    // Shutdown hook for cleanup
-    static {
+    private static final AtomicBoolean lifecycleRegistered = new AtomicBoolean();
+
+    private DriverManager() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Register the cleanup shutdown hook and the wait settings listener with the first driver,
+     * so runs that never open a browser skip both
+     */
+    private static void registerLifecycle() {
+        if (!lifecycleRegistered.compareAndSet(false, true)) {
+            return;
+        }
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             logger.info("JVM shutdown detected, cleaning up all WebDrivers...");
             quitAllDrivers();
         }));
-    }
-
-    private DriverManager() {
-        // Private constructor to prevent instantiation
+        config.subscribe(changedKeys -> {
+            if (changedKeys.stream().anyMatch(TIMEOUT_KEYS::contains)) {
+                timeoutsVersion.incrementAndGet();
+                logger.info("Wait settings changed, applying them to {} active driver(s) on next use", driverMap.size());
+            }
+        }, TIMEOUT_KEYS.toArray(new String[0]));
     }
 
     /**
      * Initialize WebDriver for current thread (thread-safe)
      */
     public static WebDriver initializeDriver() {
+        registerLifecycle();
         long threadId = Thread.currentThread().getId();
         String browserName = config.getBrowserName().toLowerCase();
         
@@ -64,6 +88,9 @@ public class DriverManager {
         }
         
         WebDriver driver = createDriver(browserName);
+        if (config.isBrowserCommandTrackingEnabled()) {
+            driver = new EventFiringDecorator<WebDriver>(CommandTracker.getInstance()).decorate(driver);
+        }
         driverMap.put(threadId, driver);
         
         // Set up WebDriverWait
@@ -74,6 +101,7 @@ public class DriverManager {
         quitFlags.put(threadId, new AtomicBoolean(false));
         
         // Configure driver
+        appliedTimeouts.put(threadId, timeoutsVersion.get());
         configureDriver(driver);
         
         logger.info("WebDriver initialized successfully for thread: {}", threadId);
@@ -90,6 +118,8 @@ public class DriverManager {
         if (driver == null) {
             logger.warn("No WebDriver found for thread: {}, creating new instance", threadId);
             driver = initializeDriver();
+        } else {
+            applyReloadedTimeouts(threadId, driver);
         }
         
         return driver;
@@ -100,6 +130,10 @@ public class DriverManager {
      */
     public static WebDriverWait getWait() {
         long threadId = Thread.currentThread().getId();
+        WebDriver current = driverMap.get(threadId);
+        if (current != null) {
+            applyReloadedTimeouts(threadId, current);
+        }
         WebDriverWait wait = waitMap.get(threadId);
         
         if (wait == null) {
@@ -134,6 +168,7 @@ public class DriverManager {
                     driverMap.remove(threadId);
                     waitMap.remove(threadId);
                     quitFlags.remove(threadId);
+                    appliedTimeouts.remove(threadId);
                     logger.info("WebDriver removed from maps for thread: {}", threadId);
                 }
             } else {
@@ -173,6 +208,7 @@ public class DriverManager {
                             driverMap.remove(threadId);
                             waitMap.remove(threadId);
                             quitFlags.remove(threadId);
+                            appliedTimeouts.remove(threadId);
                         }
                     }
                 }
@@ -314,6 +350,15 @@ public class DriverManager {
     }
 
     private static void configureDriver(WebDriver driver) {
+        configureTimeouts(driver);
+        
+        // Maximize window if not headless
+        if (!config.isHeadless()) {
+            driver.manage().window().maximize();
+        }
+    }
+
+    private static void configureTimeouts(WebDriver driver) {
         // Set implicit wait
         driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(config.getImplicitWait()));
         
@@ -322,10 +367,19 @@ public class DriverManager {
         
         // Set script timeout
         driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(config.getAppTimeout()));
-        
-        // Maximize window if not headless
-        if (!config.isHeadless()) {
-            driver.manage().window().maximize();
+    }
+
+    /**
+     * Re-apply wait settings changed by a configuration reload, keeping the browser session
+     */
+    private static void applyReloadedTimeouts(long threadId, WebDriver driver) {
+        long version = timeoutsVersion.get();
+        Long applied = appliedTimeouts.get(threadId);
+        if (applied != null && applied < version) {
+            appliedTimeouts.put(threadId, version);
+            configureTimeouts(driver);
+            waitMap.put(threadId, new WebDriverWait(driver, Duration.ofSeconds(config.getExplicitWait())));
+            logger.info("Reloaded wait settings applied for thread: {}", threadId);
         }
     }
-} 
\ No newline at end of file
+}
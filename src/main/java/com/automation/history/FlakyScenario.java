@@ -0,0 +1,58 @@
+package com.automation.history;
+
+/**
+ * A scenario whose recent history contains both passing and failing runs
+ */
+public class FlakyScenario {
+    private final String scenario;
+    private final int runs;
+    private final int failures;
+    private final int flips;
+    private final boolean passedOnRerun;
+    private final String lastStatus;
+
+    FlakyScenario(String scenario, int runs, int failures, int flips, boolean passedOnRerun, String lastStatus) {
+        this.scenario = scenario;
+        this.runs = runs;
+        this.failures = failures;
+        this.flips = flips;
+        this.passedOnRerun = passedOnRerun;
+        this.lastStatus = lastStatus;
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public int getRuns() {
+        return runs;
+    }
+
+    public int getFailures() {
+        return failures;
+    }
+
+    /**
+     * Number of pass/fail transitions between consecutive runs
+     */
+    public int getFlips() {
+        return flips;
+    }
+
+    /**
+     * Whether the scenario failed and then passed within the same build
+     */
+    public boolean isPassedOnRerun() {
+        return passedOnRerun;
+    }
+
+    public String getLastStatus() {
+        return lastStatus;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (%d/%d runs failed, %d flips%s, last %s)", scenario, failures, runs, flips,
+                passedOnRerun ? ", passed on rerun" : "", lastStatus);
+    }
+}
@@ -0,0 +1,194 @@
+package com.automation.history;
+
+import com.automation.utils.FileLocks;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Persistent per-scenario pass/fail history, keyed by feature path and scenario name.
+ * Only the most recent runs of each scenario are kept; the file survives target/ being cleaned.
+ */
+public class ScenarioHistory {
+    private static final Logger logger = LogManager.getLogger(ScenarioHistory.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final int maxRuns;
+    private final Map<String, Deque<ScenarioRun>> scenarios = new TreeMap<>();
+
+    public ScenarioHistory(int maxRuns) {
+        this.maxRuns = Math.max(1, maxRuns);
+    }
+
+    /**
+     * Load a history file; a missing or unreadable file starts an empty history
+     */
+    public static ScenarioHistory load(Path file, int maxRuns) {
+        ScenarioHistory history = new ScenarioHistory(maxRuns);
+        if (!Files.isRegularFile(file)) {
+            return history;
+        }
+        try {
+            JsonNode root = MAPPER.readTree(file.toFile());
+            Iterator<Map.Entry<String, JsonNode>> fields = root.path("scenarios").fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                for (JsonNode run : field.getValue()) {
+                    history.record(field.getKey(), new ScenarioRun(run.path("build").asText(),
+                            run.path("status").asText(), run.path("durationMs").asLong(), run.path("timestamp").asLong()));
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read scenario history {}, starting a new one: {}", file, e.getMessage());
+        }
+        return history;
+    }
+
+    /**
+     * Load the history as it was when the first process of a run asked for this snapshot. The snapshot
+     * is written from file under the file's lock unless it already exists, so processes starting at
+     * different times read the same history even after others have updated the file.
+     */
+    public static ScenarioHistory loadSnapshot(Path file, Path snapshot, int maxRuns) throws IOException {
+        FileLocks.withLock(file, () -> {
+            if (!Files.exists(snapshot)) {
+                load(file, maxRuns).save(snapshot);
+            }
+        });
+        return load(snapshot, maxRuns);
+    }
+
+    /**
+     * Stable scenario key: the feature path from "features/" on, so keys match across machines
+     */
+    public static String keyOf(URI featureUri, String scenarioName) {
+        String path = featureUri.toString();
+        int features = path.indexOf("features/");
+        return (features >= 0 ? path.substring(features) : path) + "::" + scenarioName;
+    }
+
+    public synchronized void record(String scenario, ScenarioRun run) {
+        Deque<ScenarioRun> runs = scenarios.computeIfAbsent(scenario, key -> new ArrayDeque<>());
+        runs.addLast(run);
+        while (runs.size() > maxRuns) {
+            runs.removeFirst();
+        }
+    }
+
+    /**
+     * Recorded runs of a scenario, oldest first
+     */
+    public synchronized List<ScenarioRun> getRuns(String scenario) {
+        Deque<ScenarioRun> runs = scenarios.get(scenario);
+        return runs == null ? Collections.emptyList() : new ArrayList<>(runs);
+    }
+
+    /**
+     * Median duration of the scenario's recent passed or failed runs; skipped runs end early and are ignored
+     *
+     * @return expected duration in milliseconds, or -1 when the scenario has no usable runs
+     */
+    public synchronized long expectedDurationMs(String scenario) {
+        Deque<ScenarioRun> runs = scenarios.get(scenario);
+        if (runs == null) {
+            return -1;
+        }
+        long[] durations = runs.stream()
+                .filter(run -> run.isPassed() || run.isFailed())
+                .mapToLong(ScenarioRun::getDurationMs)
+                .sorted()
+                .toArray();
+        return durations.length == 0 ? -1 : durations[durations.length / 2];
+    }
+
+    /**
+     * Keys of every scenario with recorded runs
+     */
+    public synchronized Set<String> getScenarios() {
+        return new TreeSet<>(scenarios.keySet());
+    }
+
+    /**
+     * Scenarios that both passed and failed within the kept window, most flips first
+     */
+    public synchronized List<FlakyScenario> flakyScenarios() {
+        List<FlakyScenario> flaky = new ArrayList<>();
+        scenarios.forEach((scenario, runs) -> {
+            int failures = 0;
+            int passes = 0;
+            int flips = 0;
+            ScenarioRun previous = null;
+            Set<String> failedBuilds = new HashSet<>();
+            boolean passedOnRerun = false;
+            for (ScenarioRun run : runs) {
+                if (!run.isPassed() && !run.isFailed()) {
+                    // Skipped or undefined runs say nothing about flakiness
+                    continue;
+                }
+                if (run.isFailed()) {
+                    failures++;
+                    failedBuilds.add(run.getBuild());
+                } else {
+                    passes++;
+                    passedOnRerun |= failedBuilds.contains(run.getBuild());
+                }
+                if (previous != null && previous.isPassed() != run.isPassed()) {
+                    flips++;
+                }
+                previous = run;
+            }
+            if (failures > 0 && passes > 0) {
+                flaky.add(new FlakyScenario(scenario, passes + failures, failures, flips, passedOnRerun,
+                        previous.getStatus()));
+            }
+        });
+        flaky.sort((a, b) -> Integer.compare(b.getFlips(), a.getFlips()));
+        return flaky;
+    }
+
+    /**
+     * Write the history atomically so an interrupted build cannot truncate it
+     */
+    public synchronized void save(Path file) throws IOException {
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("maxRuns", maxRuns);
+        ObjectNode scenarioNodes = root.putObject("scenarios");
+        scenarios.forEach((scenario, runs) -> {
+            ArrayNode runNodes = scenarioNodes.putArray(scenario);
+            for (ScenarioRun run : runs) {
+                runNodes.addObject()
+                        .put("build", run.getBuild())
+                        .put("status", run.getStatus())
+                        .put("durationMs", run.getDurationMs())
+                        .put("timestamp", run.getTimestamp());
+            }
+        });
+
+        Path target = file.toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        MAPPER.writeValue(temp.toFile(), root);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
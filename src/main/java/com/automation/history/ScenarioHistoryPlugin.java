@@ -0,0 +1,84 @@
+package com.automation.history;
+
+import com.automation.config.ConfigManager;
+import com.automation.utils.FileLocks;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.AbstractMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cucumber plugin appending every finished scenario to the persistent scenario history
+ * and reporting the scenarios that have become flaky when the run finishes.
+ */
+public class ScenarioHistoryPlugin implements ConcurrentEventListener {
+    private static final Logger logger = LogManager.getLogger(ScenarioHistoryPlugin.class);
+    private static final ConfigManager config = ConfigManager.getInstance();
+
+    private final Queue<Map.Entry<String, ScenarioRun>> finished = new ConcurrentLinkedQueue<>();
+    private final String build = config.getHistoryBuildId();
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> onTestRunFinished());
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        TestCase testCase = event.getTestCase();
+        ScenarioRun run = new ScenarioRun(build, event.getResult().getStatus().name(),
+                event.getResult().getDuration().toMillis(), System.currentTimeMillis());
+        finished.add(new AbstractMap.SimpleImmutableEntry<>(
+                ScenarioHistory.keyOf(testCase.getUri(), testCase.getName()), run));
+    }
+
+    private void onTestRunFinished() {
+        if (finished.isEmpty()) {
+            return;
+        }
+        Path historyFile = Paths.get(config.getHistoryPath());
+        AtomicReference<ScenarioHistory> updated = new AtomicReference<>();
+        try {
+            // Shards finishing together share the file, so each merges into what the others saved
+            FileLocks.withLock(historyFile, () -> {
+                ScenarioHistory history = ScenarioHistory.load(historyFile, config.getHistoryMaxRuns());
+                finished.forEach(entry -> history.record(entry.getKey(), entry.getValue()));
+                updated.set(history);
+                history.save(historyFile);
+            });
+        } catch (IOException e) {
+            logger.warn("Could not save scenario history {}: {}", historyFile, e.getMessage());
+        }
+        ScenarioHistory history = updated.get();
+        if (history == null) {
+            return;
+        }
+
+        List<FlakyScenario> flaky = history.flakyScenarios();
+        flaky.forEach(scenario -> logger.warn("Flaky scenario: {}", scenario));
+        Path report = Paths.get(config.getHistoryFlakyReportPath());
+        try {
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(report.toFile(), flaky);
+            logger.info("{} flaky scenario(s) written to: {}", flaky.size(), report);
+        } catch (IOException e) {
+            logger.warn("Could not write flaky scenario report {}: {}", report, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.automation.history;
+
+/**
+ * One recorded execution of a scenario
+ */
+public class ScenarioRun {
+    private final String build;
+    private final String status;
+    private final long durationMs;
+    private final long timestamp;
+
+    public ScenarioRun(String build, String status, long durationMs, long timestamp) {
+        this.build = build;
+        this.status = status;
+        this.durationMs = durationMs;
+        this.timestamp = timestamp;
+    }
+
+    public String getBuild() {
+        return build;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public boolean isPassed() {
+        return "PASSED".equals(status);
+    }
+
+    public boolean isFailed() {
+        return "FAILED".equals(status);
+    }
+}
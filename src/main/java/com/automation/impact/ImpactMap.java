@@ -0,0 +1,128 @@
+package com.automation.impact;
+
+import com.automation.utils.FileLocks;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Persistent map from scenario to the source files and API endpoints it used when it last ran
+ */
+public class ImpactMap {
+    private static final Logger logger = LogManager.getLogger(ImpactMap.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Map<String, Set<String>> sources = new TreeMap<>();
+    private final Map<String, Set<String>> endpoints = new TreeMap<>();
+
+    /**
+     * Load a map file; a missing or unreadable file gives an empty map
+     */
+    public static ImpactMap load(Path file) {
+        ImpactMap map = new ImpactMap();
+        if (!Files.isRegularFile(file)) {
+            return map;
+        }
+        try {
+            Iterator<Map.Entry<String, JsonNode>> scenarios = MAPPER.readTree(file.toFile()).path("scenarios").fields();
+            while (scenarios.hasNext()) {
+                Map.Entry<String, JsonNode> scenario = scenarios.next();
+                Set<String> scenarioSources = new TreeSet<>();
+                scenario.getValue().path("sources").forEach(node -> scenarioSources.add(node.asText()));
+                Set<String> scenarioEndpoints = new TreeSet<>();
+                scenario.getValue().path("endpoints").forEach(node -> scenarioEndpoints.add(node.asText()));
+                map.put(scenario.getKey(), scenarioSources, scenarioEndpoints, false);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read impact map {}, starting a new one: {}", file, e.getMessage());
+        }
+        return map;
+    }
+
+    /**
+     * Load the map as it was when the first process of a run asked for this snapshot; see
+     * ScenarioHistory.loadSnapshot
+     */
+    public static ImpactMap loadSnapshot(Path file, Path snapshot) throws IOException {
+        FileLocks.withLock(file, () -> {
+            if (!Files.exists(snapshot)) {
+                load(file).save(snapshot);
+            }
+        });
+        return load(snapshot);
+    }
+
+    public boolean isEmpty() {
+        return sources.isEmpty();
+    }
+
+    public boolean contains(String scenario) {
+        return sources.containsKey(scenario);
+    }
+
+    public Set<String> getSources(String scenario) {
+        return sources.getOrDefault(scenario, Collections.emptySet());
+    }
+
+    public Set<String> getEndpoints(String scenario) {
+        return endpoints.getOrDefault(scenario, Collections.emptySet());
+    }
+
+    /**
+     * Every source file any scenario depends on
+     */
+    public Set<String> allSources() {
+        Set<String> all = new TreeSet<>();
+        sources.values().forEach(all::addAll);
+        return all;
+    }
+
+    /**
+     * Store what a scenario used
+     *
+     * @param merge keep what earlier runs recorded, e.g. for a failed run that stopped before its last step
+     */
+    public synchronized void put(String scenario, Collection<String> scenarioSources,
+                                 Collection<String> scenarioEndpoints, boolean merge) {
+        if (!merge) {
+            sources.remove(scenario);
+            endpoints.remove(scenario);
+        }
+        sources.computeIfAbsent(scenario, key -> new TreeSet<>()).addAll(scenarioSources);
+        endpoints.computeIfAbsent(scenario, key -> new TreeSet<>()).addAll(scenarioEndpoints);
+    }
+
+    /**
+     * Write the map atomically so an interrupted build cannot truncate it
+     */
+    public synchronized void save(Path file) throws IOException {
+        ObjectNode root = MAPPER.createObjectNode();
+        ObjectNode scenarios = root.putObject("scenarios");
+        sources.forEach((scenario, scenarioSources) -> {
+            ObjectNode node = scenarios.putObject(scenario);
+            scenarioSources.forEach(node.putArray("sources")::add);
+            getEndpoints(scenario).forEach(node.putArray("endpoints")::add);
+        });
+
+        Path target = file.toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        MAPPER.writeValue(temp.toFile(), root);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,95 @@
+package com.automation.impact;
+
+import com.automation.config.ConfigManager;
+import com.automation.history.ScenarioHistory;
+import com.automation.utils.FileLocks;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cucumber plugin building the impact map while scenarios run: the feature file, every step
+ * definition and hook class executed, and the page objects and endpoints recorded through
+ * ImpactRecorder. The map is merged into impact.map.path when the run finishes.
+ */
+public class ImpactMapPlugin implements ConcurrentEventListener {
+    private static final Logger logger = LogManager.getLogger(ImpactMapPlugin.class);
+    private static final ConfigManager config = ConfigManager.getInstance();
+
+    private final Map<String, ImpactRecorder.Dependencies> recorded = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> passed = new ConcurrentHashMap<>();
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class,
+                event -> ImpactRecorder.begin(featurePathOf(event.getTestCase().getUri())));
+        publisher.registerHandlerFor(TestStepStarted.class,
+                event -> ImpactRecorder.recordCodeLocation(event.getTestStep().getCodeLocation()));
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> onTestRunFinished());
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        ImpactRecorder.Dependencies dependencies = ImpactRecorder.end();
+        if (dependencies == null) {
+            return;
+        }
+        TestCase testCase = event.getTestCase();
+        String scenario = ScenarioHistory.keyOf(testCase.getUri(), testCase.getName());
+        // Outline examples share a scenario key; keep the union of what they used
+        recorded.merge(scenario, dependencies, (previous, next) -> {
+            previous.getSources().addAll(next.getSources());
+            previous.getEndpoints().addAll(next.getEndpoints());
+            return previous;
+        });
+        passed.merge(scenario, event.getResult().getStatus() == Status.PASSED, Boolean::logicalAnd);
+    }
+
+    private void onTestRunFinished() {
+        if (recorded.isEmpty()) {
+            return;
+        }
+        Path mapFile = Paths.get(config.getImpactMapPath());
+        try {
+            FileLocks.withLock(mapFile, () -> {
+                ImpactMap map = ImpactMap.load(mapFile);
+                // A failed scenario may have stopped early, so it only adds to what earlier runs saw
+                recorded.forEach((scenario, dependencies) -> map.put(scenario, dependencies.getSources(),
+                        dependencies.getEndpoints(), !passed.getOrDefault(scenario, false)));
+                map.save(mapFile);
+            });
+            logger.info("Impact map updated for {} scenario(s): {}", recorded.size(), mapFile);
+        } catch (IOException e) {
+            logger.warn("Could not save impact map {}: {}", mapFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Repository-relative feature path, e.g. src/test/resources/features/ui/google_search.feature
+     */
+    static String featurePathOf(URI uri) {
+        if ("classpath".equals(uri.getScheme())) {
+            return "src/test/resources/" + uri.getSchemeSpecificPart().replaceFirst("^/", "");
+        }
+        if ("file".equals(uri.getScheme())) {
+            Path root = Paths.get("").toAbsolutePath();
+            Path feature = Paths.get(uri).toAbsolutePath();
+            return (feature.startsWith(root) ? root.relativize(feature) : feature).toString().replace('\\', '/');
+        }
+        return uri.toString();
+    }
+}
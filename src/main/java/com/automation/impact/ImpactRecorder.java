@@ -0,0 +1,112 @@
+package com.automation.impact;
+
+import java.net.URL;
+import java.security.CodeSource;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Collects what the scenario running on the current thread depends on: step definition and
+ * hook classes, page objects and API endpoints. Scenarios run on a single thread, so the
+ * running scenario is tracked in a ThreadLocal; recording outside a scenario does nothing.
+ */
+public final class ImpactRecorder {
+    private static final ThreadLocal<Dependencies> current = new ThreadLocal<>();
+
+    private ImpactRecorder() {
+    }
+
+    /**
+     * Source files and endpoints used by one scenario execution
+     */
+    public static final class Dependencies {
+        private final Set<String> sources = new TreeSet<>();
+        private final Set<String> endpoints = new TreeSet<>();
+
+        public Set<String> getSources() {
+            return sources;
+        }
+
+        public Set<String> getEndpoints() {
+            return endpoints;
+        }
+    }
+
+    static void begin(String featurePath) {
+        Dependencies dependencies = new Dependencies();
+        if (featurePath != null) {
+            dependencies.sources.add(featurePath);
+        }
+        current.set(dependencies);
+    }
+
+    static Dependencies end() {
+        Dependencies dependencies = current.get();
+        current.remove();
+        return dependencies;
+    }
+
+    /**
+     * Record a class used by the running scenario, e.g. a page object
+     */
+    public static void recordClass(Class<?> type) {
+        Dependencies dependencies = current.get();
+        if (dependencies != null) {
+            dependencies.sources.add(sourcePathOf(type));
+        }
+    }
+
+    /**
+     * Record an API endpoint called by the running scenario
+     */
+    public static void recordEndpoint(Class<?> client, String method, String path) {
+        Dependencies dependencies = current.get();
+        if (dependencies != null) {
+            dependencies.sources.add(sourcePathOf(client));
+            dependencies.endpoints.add(method + " " + path);
+        }
+    }
+
+    /**
+     * Record the class behind a Cucumber code location such as
+     * "com.automation.steps.ApiTestSteps.iSendAGetRequestTo(java.lang.String)"
+     */
+    static void recordCodeLocation(String codeLocation) {
+        Dependencies dependencies = current.get();
+        if (dependencies == null || codeLocation == null) {
+            return;
+        }
+        String method = codeLocation.contains("(") ? codeLocation.substring(0, codeLocation.indexOf('(')) : codeLocation;
+        int lastDot = method.lastIndexOf('.');
+        if (lastDot <= 0) {
+            return;
+        }
+        String className = method.substring(0, lastDot);
+        try {
+            dependencies.sources.add(sourcePathOf(Class.forName(className, false,
+                    Thread.currentThread().getContextClassLoader())));
+        } catch (ClassNotFoundException e) {
+            dependencies.sources.add(sourcePath(className, true));
+        }
+    }
+
+    /**
+     * Repository-relative source file of a class, e.g. src/main/java/com/automation/api/RestApiClient.java
+     */
+    static String sourcePathOf(Class<?> type) {
+        Class<?> topLevel = type;
+        while (topLevel.getEnclosingClass() != null) {
+            topLevel = topLevel.getEnclosingClass();
+        }
+        CodeSource codeSource = topLevel.getProtectionDomain().getCodeSource();
+        URL location = codeSource != null ? codeSource.getLocation() : null;
+        boolean test = location != null && location.getPath().contains("test-classes");
+        return sourcePath(topLevel.getName(), test);
+    }
+
+    private static String sourcePath(String className, boolean test) {
+        int nested = className.indexOf('$');
+        String topLevel = nested >= 0 ? className.substring(0, nested) : className;
+        return (test ? "src/test/java/" : "src/main/java/") + topLevel.replace('.', '/') + ".java";
+    }
+}
@@ -0,0 +1,188 @@
+package com.automation.impact;
+
+import com.automation.config.ConfigManager;
+import com.automation.runner.ShardPlanner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Chooses which scenarios to run for a change: those whose recorded dependencies include a
+ * changed file, those not in the impact map yet, and those carrying an impact.always.tags tag.
+ * Any changed source the map knows nothing about (a shared utility, pom.xml, test data...)
+ * could affect anything, so it selects every scenario.
+ */
+public class ImpactSelector {
+    private static final Logger logger = LogManager.getLogger(ImpactSelector.class);
+
+    private final ImpactMap map;
+    private final Set<String> changedFiles;
+    private final Set<String> alwaysTags;
+    private final String runAllReason;
+    private final Set<String> selected = new ConcurrentSkipListSet<>();
+    private final Set<String> skipped = new ConcurrentSkipListSet<>();
+
+    public ImpactSelector(ImpactMap map, Set<String> changedFiles, Set<String> alwaysTags) {
+        this.map = map;
+        this.changedFiles = changedFiles;
+        this.alwaysTags = alwaysTags;
+        this.runAllReason = runAllReason(map, changedFiles);
+    }
+
+    /**
+     * Selector configured by impact.* properties, or null when impact selection is disabled
+     */
+    public static ImpactSelector fromConfig() {
+        ConfigManager config = ConfigManager.getInstance();
+        if (!config.isImpactSelectionEnabled()) {
+            return null;
+        }
+        Path mapFile = Paths.get(config.getImpactMapPath());
+        ImpactMap map;
+        try {
+            // Every shard must select the same scenarios, whatever the shards before it have recorded
+            map = config.getShardCount() > 1 ? ImpactMap.loadSnapshot(mapFile, ShardPlanner.snapshotOf(mapFile))
+                    : ImpactMap.load(mapFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not snapshot impact map " + mapFile + ": " + e.getMessage(), e);
+        }
+        Set<String> changed = changedFiles(config.getImpactChangedFiles(), config.getImpactBaseRef());
+        Set<String> tags = Arrays.stream(config.getImpactAlwaysTags().split(","))
+                .map(String::trim)
+                .filter(tag -> !tag.isEmpty())
+                .collect(Collectors.toCollection(TreeSet::new));
+        return new ImpactSelector(map, changed, tags);
+    }
+
+    /**
+     * @return null when the change can be narrowed down, otherwise why every scenario must run
+     */
+    private static String runAllReason(ImpactMap map, Set<String> changedFiles) {
+        if (changedFiles == null) {
+            return "changed files could not be determined";
+        }
+        if (map.isEmpty()) {
+            return "no impact map recorded yet";
+        }
+        Set<String> known = map.allSources();
+        List<String> unknown = changedFiles.stream()
+                .filter(ImpactSelector::canAffectScenarios)
+                .filter(file -> !known.contains(file) && !file.endsWith(".feature"))
+                .collect(Collectors.toList());
+        return unknown.isEmpty() ? null : "changed files outside the impact map: " + unknown;
+    }
+
+    /**
+     * Documentation, pipeline files and benchmarks never change scenario outcomes
+     */
+    private static boolean canAffectScenarios(String file) {
+        return file.equals("pom.xml") || (file.startsWith("src/") && !file.startsWith("src/jmh/"));
+    }
+
+    public boolean shouldRun(String scenario, Collection<String> tags) {
+        boolean run = runAllReason != null
+                || !map.contains(scenario)
+                || tags.stream().anyMatch(alwaysTags::contains)
+                || map.getSources(scenario).stream().anyMatch(changedFiles::contains);
+        (run ? selected : skipped).add(scenario);
+        return run;
+    }
+
+    public int getSelectedCount() {
+        return selected.size();
+    }
+
+    public int getSkippedCount() {
+        return skipped.size();
+    }
+
+    /**
+     * Log the selection and write it as JSON
+     */
+    public void report(Path file) {
+        if (runAllReason != null) {
+            logger.info("Impact selection: running all {} scenario(s), {}", selected.size(), runAllReason);
+        } else {
+            logger.info("Impact selection: running {} scenario(s), skipped {} unaffected by {} changed file(s)",
+                    selected.size(), skipped.size(), changedFiles.size());
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("changedFiles", changedFiles);
+        report.put("alwaysTags", alwaysTags);
+        report.put("runAllReason", runAllReason);
+        report.put("selected", selected);
+        report.put("skipped", skipped);
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        } catch (IOException e) {
+            logger.warn("Could not write impact selection report {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Explicit comma-separated list if given, otherwise git diff against the base ref plus local changes
+     *
+     * @return changed repository-relative paths, or null when git could not tell
+     */
+    static Set<String> changedFiles(String explicit, String baseRef) {
+        if (explicit != null && !explicit.trim().isEmpty()) {
+            return Arrays.stream(explicit.split("[,\\s]+"))
+                    .map(String::trim)
+                    .filter(file -> !file.isEmpty())
+                    .collect(Collectors.toCollection(TreeSet::new));
+        }
+        Set<String> changed = new TreeSet<>();
+        if (!git(changed, "diff", "--name-only", baseRef + "...HEAD") || !git(changed, "diff", "--name-only", "HEAD")) {
+            return null;
+        }
+        return changed;
+    }
+
+    private static boolean git(Set<String> output, String... args) {
+        String[] command = new String[args.length + 1];
+        command[0] = "git";
+        System.arraycopy(args, 0, command, 1, args.length);
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            Set<String> lines = new TreeSet<>();
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                reader.lines().map(String::trim).filter(line -> !line.isEmpty()).forEach(lines::add);
+            }
+            if (!process.waitFor(30, TimeUnit.SECONDS) || process.exitValue() != 0) {
+                process.destroyForcibly();
+                logger.warn("git {} failed: {}", String.join(" ", args), lines);
+                return false;
+            }
+            output.addAll(lines);
+            return true;
+        } catch (IOException e) {
+            logger.warn("git {} failed: {}", String.join(" ", args), e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.automation.load;
+
+import com.automation.api.ApiExchangeListener;
+import com.automation.api.RestApiClient;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Replays scenarios as concurrent virtual users according to a LoadProfile.
+ * Scenarios are picked round-robin; an iteration fails when the executor throws.
+ *
+ * @param <T> scenario handle, e.g. a Cucumber pickle
+ */
+public class LoadGenerator<T> {
+    private static final Logger logger = LogManager.getLogger(LoadGenerator.class);
+
+    // Allow in-flight iterations this long to finish after the run duration has elapsed
+    private static final long DRAIN_TIMEOUT_SECONDS = 120;
+
+    private final LoadProfile profile;
+    private final List<T> scenarios;
+    private final Function<T, String> namer;
+    private final Consumer<T> executor;
+    private final AtomicLong cursor = new AtomicLong();
+
+    public LoadGenerator(LoadProfile profile, List<T> scenarios, Function<T, String> namer, Consumer<T> executor) {
+        if (scenarios.isEmpty()) {
+            throw new IllegalArgumentException("Load run requires at least one scenario");
+        }
+        this.profile = profile;
+        this.scenarios = scenarios;
+        this.namer = namer;
+        this.executor = executor;
+    }
+
+    /**
+     * Run the workload to completion and return its report
+     */
+    public LoadReport run() {
+        logger.info("Starting load run: {} over {} scenarios", profile, scenarios.size());
+        long start = System.nanoTime();
+        LoadMetrics metrics = new LoadMetrics(start);
+        ApiExchangeListener endpointRecorder =
+                (method, path, statusCode, elapsedNanos) -> metrics.recordEndpoint(method + " " + path, elapsedNanos);
+
+        RestApiClient.addExchangeListener(endpointRecorder);
+        LoadMetrics.activate(metrics);
+        try {
+            if (profile.getModel() == LoadProfile.Model.CLOSED) {
+                runClosed(metrics, start);
+            } else {
+                runOpen(metrics, start);
+            }
+        } finally {
+            LoadMetrics.deactivate();
+            RestApiClient.removeExchangeListener(endpointRecorder);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        logger.info("Load run finished: {} iterations in {} ms", metrics.getIterations(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return new LoadReport(profile, metrics, elapsed);
+    }
+
+    private void runClosed(LoadMetrics metrics, long start) {
+        long deadline = start + profile.getDuration().toNanos();
+        ExecutorService users = Executors.newFixedThreadPool(profile.getUsers(), threadFactory());
+        for (int i = 0; i < profile.getUsers(); i++) {
+            users.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    long iterationStart = System.nanoTime();
+                    iterate(nextScenario(), iterationStart, metrics);
+                }
+            });
+        }
+        drain(users);
+    }
+
+    private void runOpen(LoadMetrics metrics, long start) {
+        long deadline = start + profile.getDuration().toNanos();
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / profile.getRatePerSecond());
+        ExecutorService users = Executors.newFixedThreadPool(profile.getMaxUsers(), threadFactory());
+        for (long arrival = 0; ; arrival++) {
+            long intendedStart = start + arrival * intervalNanos;
+            if (intendedStart >= deadline) {
+                break;
+            }
+            // parkNanos may return early, and an iteration started ahead of its slot would understate queueing
+            long wait;
+            while ((wait = intendedStart - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            // Latency is measured from the intended start: when all users are busy the
+            // iteration queues, and that queueing time is part of what a real client would see
+            T scenario = nextScenario();
+            users.execute(() -> iterate(scenario, intendedStart, metrics));
+        }
+        drain(users);
+    }
+
+    private void iterate(T scenario, long intendedStart, LoadMetrics metrics) {
+        String name = namer.apply(scenario);
+        long actualStart = System.nanoTime();
+        boolean success = true;
+        try {
+            executor.accept(scenario);
+        } catch (Exception | AssertionError e) {
+            success = false;
+            metrics.recordError(name, e);
+            logger.debug("Load iteration failed for {}: {}", name, e.getMessage());
+        }
+        long end = System.nanoTime();
+        metrics.recordIteration(name, end - intendedStart, end - actualStart, end, success);
+    }
+
+    private T nextScenario() {
+        return scenarios.get((int) (cursor.getAndIncrement() % scenarios.size()));
+    }
+
+    private static void drain(ExecutorService users) {
+        users.shutdown();
+        try {
+            if (!users.awaitTermination(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Load iterations still running after {}s drain timeout, abandoning them", DRAIN_TIMEOUT_SECONDS);
+                users.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            users.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "virtual-user-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
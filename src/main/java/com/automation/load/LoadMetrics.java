@@ -0,0 +1,82 @@
+package com.automation.load;
+
+import com.automation.metrics.LatencyRecorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics collected during a single load run.
+ * The active instance is published statically so that Cucumber plugins and API exchange
+ * listeners (which are created outside the generator) can record into it.
+ */
+public class LoadMetrics {
+    private static volatile LoadMetrics active;
+
+    // Response time measured from the intended start, so queueing delay is not omitted
+    private final LatencyRecorder responseTimes = new LatencyRecorder();
+    // Time from actual start to end of the iteration
+    private final LatencyRecorder serviceTimes = new LatencyRecorder();
+    private final LatencyRecorder steps = new LatencyRecorder();
+    private final LatencyRecorder endpoints = new LatencyRecorder();
+    private final ConcurrentHashMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final LongAdder iterations = new LongAdder();
+    private final ThroughputTimeline timeline;
+
+    public LoadMetrics(long startNanos) {
+        this.timeline = new ThroughputTimeline(startNanos);
+    }
+
+    /**
+     * Metrics of the run in progress, or null when no load run is active
+     */
+    public static LoadMetrics active() {
+        return active;
+    }
+
+    static void activate(LoadMetrics metrics) {
+        active = metrics;
+    }
+
+    static void deactivate() {
+        active = null;
+    }
+
+    void recordIteration(String scenario, long responseNanos, long serviceNanos, long endNanos, boolean success) {
+        iterations.increment();
+        responseTimes.record(scenario, responseNanos);
+        serviceTimes.record(scenario, serviceNanos);
+        timeline.record(endNanos, success);
+    }
+
+    void recordError(String scenario, Throwable error) {
+        String key = scenario + ": " + error.getClass().getSimpleName();
+        errors.computeIfAbsent(key, k -> new LongAdder()).increment();
+    }
+
+    public void recordStep(String pattern, long elapsedNanos) {
+        steps.record(pattern, elapsedNanos);
+    }
+
+    public void recordEndpoint(String endpoint, long elapsedNanos) {
+        endpoints.record(endpoint, elapsedNanos);
+    }
+
+    public LatencyRecorder getResponseTimes() { return responseTimes; }
+    public LatencyRecorder getServiceTimes() { return serviceTimes; }
+    public LatencyRecorder getSteps() { return steps; }
+    public LatencyRecorder getEndpoints() { return endpoints; }
+    public ThroughputTimeline getTimeline() { return timeline; }
+
+    public long getIterations() {
+        return iterations.sum();
+    }
+
+    public Map<String, Long> getErrors() {
+        Map<String, Long> sorted = new TreeMap<>();
+        errors.forEach((key, count) -> sorted.put(key, count.sum()));
+        return sorted;
+    }
+}
@@ -0,0 +1,69 @@
+package com.automation.load;
+
+import com.automation.config.ConfigManager;
+
+import java.time.Duration;
+
+/**
+ * Workload shape for a load run
+ * CLOSED: a fixed number of virtual users, each starting its next iteration as soon as the previous one ends.
+ * OPEN: iterations arrive at a fixed rate regardless of how long earlier ones take.
+ */
+public class LoadProfile {
+
+    public enum Model { CLOSED, OPEN }
+
+    private final Model model;
+    private final int users;
+    private final double ratePerSecond;
+    private final int maxUsers;
+    private final Duration duration;
+
+    public LoadProfile(Model model, int users, double ratePerSecond, int maxUsers, Duration duration) {
+        if (users < 1 || maxUsers < 1) {
+            throw new IllegalArgumentException("Load users and max users must be at least 1");
+        }
+        if (model == Model.OPEN && ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Open load model requires a positive arrival rate");
+        }
+        if (duration.isZero() || duration.isNegative()) {
+            throw new IllegalArgumentException("Load duration must be positive");
+        }
+        this.model = model;
+        this.users = users;
+        this.ratePerSecond = ratePerSecond;
+        this.maxUsers = maxUsers;
+        this.duration = duration;
+    }
+
+    /**
+     * Build profile from load.* configuration properties
+     */
+    public static LoadProfile fromConfig() {
+        ConfigManager config = ConfigManager.getInstance();
+        Model model;
+        try {
+            model = Model.valueOf(config.getLoadModel().trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported load.model: " + config.getLoadModel() + " (expected closed or open)");
+        }
+        return new LoadProfile(model,
+                config.getLoadUsers(),
+                config.getLoadRatePerSecond(),
+                config.getLoadMaxUsers(),
+                Duration.ofSeconds(config.getLoadDurationSeconds()));
+    }
+
+    public Model getModel() { return model; }
+    public int getUsers() { return users; }
+    public double getRatePerSecond() { return ratePerSecond; }
+    public int getMaxUsers() { return maxUsers; }
+    public Duration getDuration() { return duration; }
+
+    @Override
+    public String toString() {
+        return model == Model.CLOSED
+                ? String.format("closed model, %d users, %ds", users, duration.getSeconds())
+                : String.format("open model, %.1f/s arrival rate, max %d users, %ds", ratePerSecond, maxUsers, duration.getSeconds());
+    }
+}
@@ -0,0 +1,88 @@
+package com.automation.load;
+
+import com.automation.metrics.LatencySummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summary of a finished load run
+ */
+public class LoadReport {
+    private static final Logger logger = LogManager.getLogger(LoadReport.class);
+
+    private final LoadProfile profile;
+    private final LoadMetrics metrics;
+    private final long elapsedNanos;
+
+    LoadReport(LoadProfile profile, LoadMetrics metrics, long elapsedNanos) {
+        this.profile = profile;
+        this.metrics = metrics;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getIterations() {
+        return metrics.getIterations();
+    }
+
+    public long getErrorCount() {
+        return metrics.getErrors().values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public double getThroughputPerSecond() {
+        double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        return seconds > 0 ? getIterations() / seconds : 0;
+    }
+
+    /**
+     * Log a human-readable summary
+     */
+    public void log() {
+        logger.info("========== Load Summary ==========");
+        logger.info("Profile: {}", profile);
+        logger.info("Iterations: {} ({} errors), throughput: {} it/s",
+                getIterations(), getErrorCount(), String.format("%.2f", getThroughputPerSecond()));
+        logSection("Scenario response time", metrics.getResponseTimes().summaries());
+        logSection("Scenario service time", metrics.getServiceTimes().summaries());
+        logSection("Step latency", metrics.getSteps().summaries());
+        logSection("Endpoint latency", metrics.getEndpoints().summaries());
+        metrics.getErrors().forEach((error, count) -> logger.info("Error: {} x{}", error, count));
+    }
+
+    private static void logSection(String title, Map<String, LatencySummary> summaries) {
+        logger.info("--- {} ---", title);
+        summaries.forEach((key, summary) -> logger.info("{}: {}", key, summary));
+    }
+
+    /**
+     * Write the full report, including per-second throughput buckets, as JSON
+     */
+    public void writeJson(Path file) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("model", profile.getModel().name().toLowerCase());
+        report.put("users", profile.getModel() == LoadProfile.Model.CLOSED ? profile.getUsers() : profile.getMaxUsers());
+        report.put("ratePerSecond", profile.getRatePerSecond());
+        report.put("durationMs", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        report.put("iterations", getIterations());
+        report.put("errors", metrics.getErrors());
+        report.put("throughputPerSecond", getThroughputPerSecond());
+        report.put("completedPerSecond", metrics.getTimeline().completedPerSecond());
+        report.put("failedPerSecond", metrics.getTimeline().failedPerSecond());
+        report.put("scenarioResponseTime", metrics.getResponseTimes().summaries());
+        report.put("scenarioServiceTime", metrics.getServiceTimes().summaries());
+        report.put("steps", metrics.getSteps().summaries());
+        report.put("endpoints", metrics.getEndpoints().summaries());
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        logger.info("Load report written to: {}", file);
+    }
+}
@@ -0,0 +1,26 @@
+package com.automation.load;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+
+/**
+ * Cucumber plugin recording per-step latency, keyed by step definition pattern,
+ * into the active load run. Does nothing outside a load run.
+ */
+public class LoadStepListener implements ConcurrentEventListener {
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
+    }
+
+    private void onStepFinished(TestStepFinished event) {
+        LoadMetrics metrics = LoadMetrics.active();
+        if (metrics != null && event.getTestStep() instanceof PickleStepTestStep) {
+            PickleStepTestStep step = (PickleStepTestStep) event.getTestStep();
+            metrics.recordStep(step.getPattern(), event.getResult().getDuration().toNanos());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.automation.load;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Completed and failed iterations bucketed by the second (relative to run start) in which they ended
+ */
+public class ThroughputTimeline {
+    private final long startNanos;
+    private final ConcurrentHashMap<Long, LongAdder> completed = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, LongAdder> failed = new ConcurrentHashMap<>();
+
+    public ThroughputTimeline(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    public void record(long endNanos, boolean success) {
+        long second = TimeUnit.NANOSECONDS.toSeconds(endNanos - startNanos);
+        completed.computeIfAbsent(second, k -> new LongAdder()).increment();
+        if (!success) {
+            failed.computeIfAbsent(second, k -> new LongAdder()).increment();
+        }
+    }
+
+    public Map<Long, Long> completedPerSecond() {
+        return toSortedMap(completed);
+    }
+
+    public Map<Long, Long> failedPerSecond() {
+        return toSortedMap(failed);
+    }
+
+    private static Map<Long, Long> toSortedMap(ConcurrentHashMap<Long, LongAdder> buckets) {
+        Map<Long, Long> sorted = new TreeMap<>();
+        buckets.forEach((second, count) -> sorted.put(second, count.sum()));
+        return sorted;
+    }
+}
@@ -0,0 +1,60 @@
+package com.automation.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread-safe set of HDR latency histograms keyed by name (step pattern, endpoint, scenario)
+ * Values are recorded in microseconds with 3 significant digits; histograms auto-resize.
+ */
+public class LatencyRecorder {
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final ConcurrentHashMap<String, ConcurrentHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Record a duration measured in nanoseconds
+     */
+    public void record(String key, long elapsedNanos) {
+        histogram(key).recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(elapsedNanos)));
+    }
+
+    private ConcurrentHistogram histogram(String key) {
+        ConcurrentHistogram histogram = histograms.get(key);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(key, k -> new ConcurrentHistogram(SIGNIFICANT_DIGITS));
+        }
+        return histogram;
+    }
+
+    /**
+     * Point-in-time copies of all histograms, sorted by key
+     */
+    public Map<String, Histogram> snapshot() {
+        Map<String, Histogram> copies = new TreeMap<>();
+        histograms.forEach((key, histogram) -> copies.put(key, histogram.copy()));
+        return copies;
+    }
+
+    /**
+     * Summary statistics for every key, sorted by key
+     */
+    public Map<String, LatencySummary> summaries() {
+        Map<String, LatencySummary> summaries = new TreeMap<>();
+        snapshot().forEach((key, histogram) -> summaries.put(key, LatencySummary.of(histogram)));
+        return summaries;
+    }
+
+    public boolean isEmpty() {
+        return histograms.isEmpty();
+    }
+
+    public void reset() {
+        histograms.clear();
+    }
+}
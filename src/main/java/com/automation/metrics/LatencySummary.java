@@ -0,0 +1,54 @@
+package com.automation.metrics;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Percentile summary of a latency histogram, in milliseconds
+ */
+public class LatencySummary {
+    private final long count;
+    private final double mean;
+    private final double p50;
+    private final double p90;
+    private final double p99;
+    private final double p999;
+    private final double max;
+
+    private LatencySummary(long count, double mean, double p50, double p90, double p99, double p999, double max) {
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.max = max;
+    }
+
+    /**
+     * Summarize a histogram recorded in microseconds
+     */
+    public static LatencySummary of(Histogram histogram) {
+        return new LatencySummary(
+                histogram.getTotalCount(),
+                histogram.getMean() / 1000.0,
+                histogram.getValueAtPercentile(50.0) / 1000.0,
+                histogram.getValueAtPercentile(90.0) / 1000.0,
+                histogram.getValueAtPercentile(99.0) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    public long getCount() { return count; }
+    public double getMean() { return mean; }
+    public double getP50() { return p50; }
+    public double getP90() { return p90; }
+    public double getP99() { return p99; }
+    public double getP999() { return p999; }
+    public double getMax() { return max; }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.2fms p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms",
+                count, mean, p50, p90, p99, p999, max);
+    }
+}
@@ -0,0 +1,115 @@
+package com.automation.metrics;
+
+import com.automation.config.ConfigManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestRunStarted;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cucumber plugin measuring time to first scenario: milliseconds from JVM start until Cucumber
+ * starts the run and until the first scenario starts, with the classes loaded by then.
+ * Runs are classified ui-only, api-only or mixed from the @ui and @api tags of their scenarios,
+ * and each type is written to its own file under startup.report.dir so the three can be compared
+ * with and without the class data sharing archive of the fast-start profile.
+ */
+public class StartupTimingPlugin implements ConcurrentEventListener {
+    private static final Logger logger = LogManager.getLogger(StartupTimingPlugin.class);
+
+    private final RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+    private final AtomicBoolean firstScenarioSeen = new AtomicBoolean();
+    private final AtomicBoolean uiSeen = new AtomicBoolean();
+    private final AtomicBoolean apiSeen = new AtomicBoolean();
+
+    private volatile long runStartedMs = -1;
+    private volatile long firstScenarioMs = -1;
+    private volatile long classesLoadedAtFirstScenario;
+    private volatile String firstScenario;
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestRunStarted.class, event -> runStartedMs = runtime.getUptime());
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onTestCaseStarted);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> onTestRunFinished());
+    }
+
+    private void onTestCaseStarted(TestCaseStarted event) {
+        if (firstScenarioSeen.compareAndSet(false, true)) {
+            firstScenarioMs = runtime.getUptime();
+            classesLoadedAtFirstScenario = ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount();
+            firstScenario = event.getTestCase().getName();
+        }
+        List<String> tags = event.getTestCase().getTags();
+        if (tags.contains("@ui")) {
+            uiSeen.set(true);
+        }
+        if (tags.contains("@api")) {
+            apiSeen.set(true);
+        }
+    }
+
+    private void onTestRunFinished() {
+        if (!firstScenarioSeen.get()) {
+            return;
+        }
+        String runType = runType();
+        String archive = sharedArchive();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("runType", runType);
+        report.put("jvmStartToRunStartedMs", runStartedMs);
+        report.put("timeToFirstScenarioMs", firstScenarioMs);
+        report.put("classesLoadedAtFirstScenario", classesLoadedAtFirstScenario);
+        report.put("firstScenario", firstScenario);
+        report.put("sharedArchive", archive);
+        // "sharing" in java.vm.info means the JVM mapped a CDS archive, its default JDK archive included
+        report.put("classDataSharing", System.getProperty("java.vm.info", "").contains("sharing"));
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("timestamp", System.currentTimeMillis());
+
+        logger.info("Startup ({}): run started {} ms and first scenario {} ms after JVM start, {} classes loaded, CDS archive {}",
+                runType, runStartedMs, firstScenarioMs, classesLoadedAtFirstScenario, archive == null ? "none" : archive);
+
+        Path file = Paths.get(ConfigManager.getInstance().getStartupReportDir(), runType + ".json");
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        } catch (IOException e) {
+            logger.warn("Could not write startup timing {}: {}", file, e.getMessage());
+        }
+    }
+
+    private String runType() {
+        if (uiSeen.get() && apiSeen.get()) {
+            return "mixed";
+        }
+        if (uiSeen.get()) {
+            return "ui-only";
+        }
+        return apiSeen.get() ? "api-only" : "untagged";
+    }
+
+    private String sharedArchive() {
+        String prefix = "-XX:SharedArchiveFile=";
+        return runtime.getInputArguments().stream()
+                .filter(argument -> argument.startsWith(prefix))
+                .map(argument -> argument.substring(prefix.length()))
+                .findFirst()
+                .orElse(null);
+    }
+}
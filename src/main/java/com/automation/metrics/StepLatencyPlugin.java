@@ -0,0 +1,170 @@
+package com.automation.metrics;
+
+import com.automation.config.ConfigManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+import org.HdrHistogram.Histogram;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cucumber plugin recording the wall time of every step, keyed by step definition pattern
+ * (e.g. "I send a GET request to {string}"), and of every hook, keyed by hook type and glue method.
+ * When the run finishes, percentiles per key are written as Prometheus text format, for a
+ * node_exporter textfile collector or a push gateway, and as JSON that also carries each
+ * compressed HDR histogram, so runs can be merged without losing percentile accuracy.
+ */
+public class StepLatencyPlugin implements ConcurrentEventListener {
+    private static final Logger logger = LogManager.getLogger(StepLatencyPlugin.class);
+    private static final String METRIC = "cucumber_step_duration_seconds";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final int SLOWEST_LOGGED = 5;
+
+    private final LatencyRecorder steps = new LatencyRecorder();
+    private final LatencyRecorder hooks = new LatencyRecorder();
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepFinished.class, this::onTestStepFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> onTestRunFinished());
+    }
+
+    private void onTestStepFinished(TestStepFinished event) {
+        Status status = event.getResult().getStatus();
+        // Skipped, undefined and pending steps never ran their glue
+        if (status != Status.PASSED && status != Status.FAILED) {
+            return;
+        }
+        long nanos = event.getResult().getDuration().toNanos();
+        TestStep step = event.getTestStep();
+        if (step instanceof PickleStepTestStep) {
+            steps.record(((PickleStepTestStep) step).getPattern(), nanos);
+        } else if (step instanceof HookTestStep) {
+            hooks.record(((HookTestStep) step).getHookType() + " " + step.getCodeLocation(), nanos);
+        }
+    }
+
+    private void onTestRunFinished() {
+        if (steps.isEmpty() && hooks.isEmpty()) {
+            return;
+        }
+        List<Entry> entries = new ArrayList<>();
+        steps.snapshot().forEach((key, histogram) -> entries.add(new Entry("step", key, histogram)));
+        hooks.snapshot().forEach((key, histogram) -> entries.add(new Entry("hook", key, histogram)));
+        entries.sort(Comparator.comparingDouble(Entry::totalMs).reversed());
+
+        entries.stream().limit(SLOWEST_LOGGED).forEach(entry ->
+                logger.info("Slow glue ({} ms in total): {} {} {}", Math.round(entry.totalMs()), entry.kind, entry.name,
+                        LatencySummary.of(entry.histogram)));
+
+        Path dir = Paths.get(ConfigManager.getInstance().getStepLatencyDir());
+        try {
+            Files.createDirectories(dir);
+            Files.write(dir.resolve("step-latency.prom"), prometheus(entries).getBytes(StandardCharsets.UTF_8));
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(dir.resolve("step-latency.json").toFile(), json(entries));
+            logger.info("Latency of {} step definition(s) and hook(s) written to: {}", entries.size(), dir);
+        } catch (IOException e) {
+            logger.warn("Could not write step latency to {}: {}", dir, e.getMessage());
+        }
+    }
+
+    private static String prometheus(List<Entry> entries) {
+        StringBuilder text = new StringBuilder()
+                .append("# HELP ").append(METRIC).append(" Wall time of Cucumber steps by step definition pattern, and of hooks\n")
+                .append("# TYPE ").append(METRIC).append(" summary\n");
+        for (Entry entry : entries) {
+            String labels = "kind=\"" + entry.kind + "\",step=\"" + escapeLabel(entry.name) + "\"";
+            for (double quantile : QUANTILES) {
+                text.append(METRIC).append('{').append(labels).append(",quantile=\"").append(quantile).append("\"} ")
+                        .append(seconds(entry.histogram.getValueAtPercentile(quantile * 100))).append('\n');
+            }
+            text.append(METRIC).append("_sum{").append(labels).append("} ")
+                    .append(entry.totalMs() / 1000.0).append('\n')
+                    .append(METRIC).append("_count{").append(labels).append("} ")
+                    .append(entry.histogram.getTotalCount()).append('\n');
+        }
+        return text.toString();
+    }
+
+    private static Map<String, Object> json(List<Entry> entries) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Entry entry : entries) {
+            LatencySummary summary = LatencySummary.of(entry.histogram);
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("kind", entry.kind);
+            row.put("name", entry.name);
+            row.put("count", summary.getCount());
+            row.put("totalMs", entry.totalMs());
+            row.put("meanMs", summary.getMean());
+            row.put("p50Ms", summary.getP50());
+            row.put("p90Ms", summary.getP90());
+            row.put("p99Ms", summary.getP99());
+            row.put("p999Ms", summary.getP999());
+            row.put("maxMs", summary.getMax());
+            row.put("histogram", encode(entry.histogram));
+            rows.add(row);
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("build", ConfigManager.getInstance().getHistoryBuildId());
+        report.put("timestamp", System.currentTimeMillis());
+        report.put("histogramUnit", "microseconds");
+        report.put("steps", rows);
+        return report;
+    }
+
+    /**
+     * Base64 of the compressed histogram; Histogram.decodeFromCompressedByteBuffer reads it back
+     */
+    private static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+
+    private static double seconds(long micros) {
+        return micros / 1_000_000.0;
+    }
+
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static final class Entry {
+        private final String kind;
+        private final String name;
+        private final Histogram histogram;
+
+        private Entry(String kind, String name, Histogram histogram) {
+            this.kind = kind;
+            this.name = name;
+            this.histogram = histogram;
+        }
+
+        private double totalMs() {
+            return histogram.getMean() * histogram.getTotalCount() / 1000.0;
+        }
+    }
+}
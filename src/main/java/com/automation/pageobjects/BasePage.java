@@ -1,6 +1,8 @@
 package com.automation.pageobjects;
 
+import com.automation.config.ConfigManager;
 import com.automation.drivers.DriverManager;
+import com.automation.impact.ImpactRecorder;
 import com.automation.utils.ScreenshotUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -24,8 +26,16 @@ public abstract class BasePage {
     protected ScreenshotUtils screenshotUtils;
 
     public BasePage() {
-        this.driver = DriverManager.getDriver();
-        this.wait = DriverManager.getWait();
+        this(DriverManager.getDriver(), DriverManager.getWait());
+    }
+
+    /**
+     * Page bound to a given driver rather than the current thread's, e.g. in benchmarks
+     */
+    protected BasePage(WebDriver driver, WebDriverWait wait) {
+        ImpactRecorder.recordClass(getClass());
+        this.driver = driver;
+        this.wait = wait;
         this.actions = new Actions(driver);
         this.screenshotUtils = new ScreenshotUtils();
         PageFactory.initElements(driver, this);
@@ -37,6 +47,7 @@ public abstract class BasePage {
     public void navigateTo(String url) {
         logger.info("Navigating to URL: {}", url);
         driver.get(url);
+        collectPerformance();
     }
 
     /**
@@ -346,6 +357,22 @@ public abstract class BasePage {
     public void waitForPageLoad() {
         wait.until(webDriver -> ((JavascriptExecutor) webDriver)
                 .executeScript("return document.readyState").equals("complete"));
+        collectPerformance();
+    }
+
+    /**
+     * Record the loaded page's timings when browser.performance.enabled is set; failing to read
+     * them never fails the page interaction
+     */
+    protected void collectPerformance() {
+        if (!ConfigManager.getInstance().isBrowserPerformanceEnabled()) {
+            return;
+        }
+        try {
+            PagePerformance.collect(driver, getClass().getSimpleName());
+        } catch (WebDriverException e) {
+            logger.warn("Could not collect page performance: {}", e.getMessage());
+        }
     }
 
     /**
@@ -1,8 +1,10 @@
 package com.automation.pageobjects;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -34,6 +36,14 @@ public class GoogleSearchPage extends BasePage {
     @FindBy(css = "div[role='status']")
     private WebElement noResultsMessage;
 
+    public GoogleSearchPage() {
+        super();
+    }
+
+    public GoogleSearchPage(WebDriver driver, WebDriverWait wait) {
+        super(driver, wait);
+    }
+
     /**
      * Search for a term
      */
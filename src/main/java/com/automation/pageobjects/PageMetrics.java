@@ -0,0 +1,56 @@
+package com.automation.pageobjects;
+
+import java.util.Map;
+
+/**
+ * Front-end performance of one page load: Navigation Timing milestones relative to navigation
+ * start, resource timing totals, and the Web Vitals LCP and CLS. LCP is -1 when the browser
+ * does not report it.
+ */
+public class PageMetrics {
+    private final String page;
+    private final String url;
+    private final double timeOrigin;
+    private final double ttfbMs;
+    private final double domContentLoadedMs;
+    private final double loadMs;
+    private final int resourceCount;
+    private final double transferKb;
+    private final double lcpMs;
+    private final double cls;
+
+    PageMetrics(String page, Map<String, Object> values) {
+        this.page = page;
+        this.url = String.valueOf(values.get("url"));
+        this.timeOrigin = number(values, "timeOrigin");
+        this.ttfbMs = number(values, "ttfb");
+        this.domContentLoadedMs = number(values, "domContentLoaded");
+        this.loadMs = number(values, "load");
+        this.resourceCount = (int) number(values, "resourceCount");
+        this.transferKb = number(values, "transferBytes") / 1024.0;
+        this.lcpMs = number(values, "lcp");
+        this.cls = number(values, "cls");
+    }
+
+    private static double number(Map<String, Object> values, String key) {
+        Object value = values.get(key);
+        return value instanceof Number ? ((Number) value).doubleValue() : -1;
+    }
+
+    public String getPage() { return page; }
+    public String getUrl() { return url; }
+    public double getTimeOrigin() { return timeOrigin; }
+    public double getTtfbMs() { return ttfbMs; }
+    public double getDomContentLoadedMs() { return domContentLoadedMs; }
+    public double getLoadMs() { return loadMs; }
+    public int getResourceCount() { return resourceCount; }
+    public double getTransferKb() { return transferKb; }
+    public double getLcpMs() { return lcpMs; }
+    public double getCls() { return cls; }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s: ttfb=%.0fms domContentLoaded=%.0fms load=%.0fms lcp=%.0fms cls=%.3f resources=%d transfer=%.1fKB",
+                page, url, ttfbMs, domContentLoadedMs, loadMs, lcpMs, cls, resourceCount, transferKb);
+    }
+}
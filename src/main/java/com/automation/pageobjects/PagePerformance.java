@@ -0,0 +1,127 @@
+package com.automation.pageobjects;
+
+import com.automation.config.ConfigManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Collects page performance from the browser: Navigation Timing, resource timing totals and
+ * LCP/CLS, the latter through a PerformanceObserver injected into the page that replays the
+ * buffered entries. Pages are kept per thread for the scenario report and per run for the JSON report.
+ */
+public final class PagePerformance {
+    private static final Logger logger = LogManager.getLogger(PagePerformance.class);
+
+    // Waits for the load event to end, then reads the timing entries; CLS sums shifts not caused by input
+    private static final String COLLECT_SCRIPT = String.join("\n",
+            "var done = arguments[arguments.length - 1];",
+            "function observed(type) {",
+            "  var entries = [];",
+            "  try {",
+            "    var observer = new PerformanceObserver(function (list) { entries = entries.concat(list.getEntries()); });",
+            "    observer.observe({type: type, buffered: true});",
+            "    entries = entries.concat(observer.takeRecords());",
+            "    return {entries: function () { observer.disconnect(); return entries; }};",
+            "  } catch (e) {",
+            "    return null;",
+            "  }",
+            "}",
+            "function collect() {",
+            "  var nav = performance.getEntriesByType('navigation')[0];",
+            "  if (!nav || nav.loadEventEnd === 0) { setTimeout(collect, 50); return; }",
+            "  var lcpObserver = observed('largest-contentful-paint');",
+            "  var clsObserver = observed('layout-shift');",
+            "  setTimeout(function () {",
+            "    var lcp = -1, cls = 0, seen = [];",
+            "    if (lcpObserver) { lcpObserver.entries().forEach(function (e) { lcp = Math.max(lcp, e.startTime); }); }",
+            "    if (clsObserver) {",
+            "      clsObserver.entries().forEach(function (e) {",
+            "        if (!e.hadRecentInput && seen.indexOf(e) < 0) { seen.push(e); cls += e.value; }",
+            "      });",
+            "    }",
+            "    var resources = performance.getEntriesByType('resource');",
+            "    var transfer = nav.transferSize || 0;",
+            "    resources.forEach(function (r) { transfer += r.transferSize || 0; });",
+            "    done({url: location.href, timeOrigin: performance.timeOrigin, ttfb: nav.responseStart,",
+            "      domContentLoaded: nav.domContentLoadedEventEnd, load: nav.loadEventEnd,",
+            "      resourceCount: resources.length, transferBytes: transfer, lcp: lcp, cls: cls});",
+            "  }, 0);",
+            "}",
+            "collect();");
+
+    private static final ThreadLocal<List<PageMetrics>> scenarioPages = ThreadLocal.withInitial(ArrayList::new);
+    private static final Queue<PageMetrics> runPages = new ConcurrentLinkedQueue<>();
+
+    private PagePerformance() {
+    }
+
+    /**
+     * Read the current page's metrics; a page already collected (same navigation) is replaced
+     */
+    @SuppressWarnings("unchecked")
+    public static PageMetrics collect(WebDriver driver, String page) {
+        Map<String, Object> values = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(COLLECT_SCRIPT);
+        PageMetrics metrics = new PageMetrics(page, values);
+        List<PageMetrics> pages = scenarioPages.get();
+        if (!pages.isEmpty() && pages.get(pages.size() - 1).getTimeOrigin() == metrics.getTimeOrigin()) {
+            PageMetrics previous = pages.remove(pages.size() - 1);
+            runPages.remove(previous);
+        }
+        pages.add(metrics);
+        runPages.add(metrics);
+        logger.info("Page performance: {}", metrics);
+        return metrics;
+    }
+
+    /**
+     * The last page collected on this thread in the current scenario, or null
+     */
+    public static PageMetrics last() {
+        List<PageMetrics> pages = scenarioPages.get();
+        return pages.isEmpty() ? null : pages.get(pages.size() - 1);
+    }
+
+    /**
+     * Pages collected on this thread since the last call, one line each, or null when there were none
+     */
+    public static String finishScenario() {
+        List<PageMetrics> pages = scenarioPages.get();
+        scenarioPages.remove();
+        if (pages.isEmpty()) {
+            return null;
+        }
+        return pages.stream().map(PageMetrics::toString).collect(Collectors.joining("\n", "Page performance:\n", ""));
+    }
+
+    /**
+     * Write every page collected in the run to browser.performance.report.path
+     */
+    public static void report() {
+        if (runPages.isEmpty()) {
+            return;
+        }
+        Path file = Paths.get(ConfigManager.getInstance().getBrowserPerformanceReportPath());
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), new ArrayList<>(runPages));
+            logger.info("Performance of {} page load(s) written to: {}", runPages.size(), file);
+        } catch (IOException e) {
+            logger.warn("Could not write page performance {}: {}", file, e.getMessage());
+        }
+    }
+}
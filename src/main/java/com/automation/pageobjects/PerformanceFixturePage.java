@@ -0,0 +1,36 @@
+package com.automation.pageobjects;
+
+import org.openqa.selenium.By;
+
+/**
+ * Page Object for the locally served performance fixture page
+ */
+public class PerformanceFixturePage extends BasePage {
+    private static final By STATUS = By.id("status");
+
+    public PerformanceFixturePage() {
+        super();
+    }
+
+    /**
+     * Open the fixture page and wait until it has loaded
+     */
+    public void open(String url) {
+        navigateTo(url);
+        waitForPageLoad();
+    }
+
+    /**
+     * Status text set by the page's script once it has run
+     */
+    public String getStatus() {
+        return getText(STATUS);
+    }
+
+    /**
+     * Performance of the current page load, collected whether or not browser.performance.enabled is set
+     */
+    public PageMetrics measure() {
+        return PagePerformance.collect(driver, getClass().getSimpleName());
+    }
+}
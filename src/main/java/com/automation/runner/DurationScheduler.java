@@ -0,0 +1,174 @@
+package com.automation.runner;
+
+import com.automation.config.ConfigManager;
+import com.automation.history.ScenarioHistory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Orders scenarios longest-expected-first so a slow scenario never starts last and stretches the
+ * tail of a parallel run while the other threads sit idle (the LPT rule).
+ * Expected durations are the median of recent runs in ScenarioHistory. A scenario with no history
+ * is estimated from its feature, then from scenarios sharing its @ui/@api tag, then from all scenarios.
+ * Records when each scenario actually started and finished, so the achieved makespan can be
+ * compared with the lower bound max(total work / threads, longest scenario).
+ */
+public class DurationScheduler {
+    private static final Logger logger = LogManager.getLogger(DurationScheduler.class);
+    private static final List<String> LANE_TAGS = Arrays.asList("@ui", "@api");
+
+    private final Map<String, Long> known = new HashMap<>();
+    private final Map<String, Long> featureMeans = new HashMap<>();
+    private final long globalMedian;
+    private final Map<String, long[]> executed = new ConcurrentHashMap<>();
+    private final Map<String, Long> laneMedians = new HashMap<>();
+
+    public DurationScheduler(ScenarioHistory history) {
+        Map<String, List<Long>> byFeature = new HashMap<>();
+        for (String scenario : history.getScenarios()) {
+            long expected = history.expectedDurationMs(scenario);
+            if (expected >= 0) {
+                known.put(scenario, expected);
+                byFeature.computeIfAbsent(featureOf(scenario), feature -> new ArrayList<>()).add(expected);
+            }
+        }
+        byFeature.forEach((feature, durations) -> featureMeans.put(feature,
+                Math.round(durations.stream().mapToLong(Long::longValue).average().orElse(0))));
+        for (String tag : LANE_TAGS) {
+            // Scenario keys carry the feature path, which sits under features/ui or features/api
+            String folder = "features/" + tag.substring(1) + "/";
+            List<Long> durations = new ArrayList<>();
+            known.forEach((scenario, expected) -> {
+                if (scenario.startsWith(folder)) {
+                    durations.add(expected);
+                }
+            });
+            if (!durations.isEmpty()) {
+                laneMedians.put(tag, median(durations));
+            }
+        }
+        globalMedian = median(new ArrayList<>(known.values()));
+    }
+
+    /**
+     * Scheduler fed by the history at history.path, or null when schedule.order is "file"
+     */
+    public static DurationScheduler fromConfig() {
+        if (!"longest-first".equals(ConfigManager.getInstance().getScheduleOrder())) {
+            return null;
+        }
+        return fromHistory();
+    }
+
+    /**
+     * Scheduler fed by the history at history.path regardless of schedule.order, e.g. for duration estimates
+     */
+    public static DurationScheduler fromHistory() {
+        ConfigManager config = ConfigManager.getInstance();
+        return new DurationScheduler(ScenarioHistory.load(Paths.get(config.getHistoryPath()),
+                config.getHistoryMaxRuns()));
+    }
+
+    /**
+     * Expected duration in milliseconds; 0 only when there is no history at all
+     */
+    public long estimateMs(String scenario, Collection<String> tags) {
+        Long expected = known.get(scenario);
+        if (expected != null) {
+            return expected;
+        }
+        Long featureMean = featureMeans.get(featureOf(scenario));
+        if (featureMean != null) {
+            return featureMean;
+        }
+        for (String tag : LANE_TAGS) {
+            if (tags.contains(tag)) {
+                Long laneMedian = laneMedians.get(tag);
+                if (laneMedian != null) {
+                    return laneMedian;
+                }
+            }
+        }
+        return globalMedian;
+    }
+
+    /**
+     * Stable sort by expected duration, longest first; with no history the original order is kept
+     */
+    public <T> List<T> longestFirst(List<T> items, Function<T, String> keyFn, Function<T, Collection<String>> tagsFn) {
+        Map<T, Long> estimates = new HashMap<>();
+        for (T item : items) {
+            estimates.put(item, estimateMs(keyFn.apply(item), tagsFn.apply(item)));
+        }
+        List<T> ordered = new ArrayList<>(items);
+        ordered.sort(Comparator.comparing((T item) -> estimates.get(item)).reversed());
+
+        long total = estimates.values().stream().mapToLong(Long::longValue).sum();
+        long unseen = items.stream().map(keyFn).filter(key -> !known.containsKey(key)).count();
+        logger.info("Scheduling {} scenario(s) longest-first: {} ms expected work, {} without history",
+                items.size(), total, unseen);
+        if (logger.isDebugEnabled()) {
+            ordered.forEach(item -> logger.debug("  {} ms  {}", estimates.get(item), keyFn.apply(item)));
+        }
+        return ordered;
+    }
+
+    /**
+     * @param execution unique per pickle; outline examples share a history key but not an execution id
+     */
+    public void recordStart(String execution) {
+        executed.put(execution, new long[]{System.nanoTime(), 0});
+    }
+
+    public void recordFinish(String execution) {
+        executed.computeIfPresent(execution, (id, times) -> new long[]{times[0], System.nanoTime()});
+    }
+
+    /**
+     * Log the makespan achieved by this run against its lower bound for the given thread count
+     */
+    public void report(int threads) {
+        List<long[]> finished = new ArrayList<>();
+        executed.values().forEach(times -> {
+            if (times[1] != 0) {
+                finished.add(times);
+            }
+        });
+        if (finished.isEmpty()) {
+            return;
+        }
+        long firstStart = finished.stream().mapToLong(times -> times[0]).min().getAsLong();
+        long lastFinish = finished.stream().mapToLong(times -> times[1]).max().getAsLong();
+        long makespanMs = (lastFinish - firstStart) / 1_000_000;
+        long totalMs = finished.stream().mapToLong(times -> (times[1] - times[0]) / 1_000_000).sum();
+        long longestMs = finished.stream().mapToLong(times -> (times[1] - times[0]) / 1_000_000).max().getAsLong();
+        long lowerBoundMs = Math.max((totalMs + threads - 1) / threads, longestMs);
+        logger.info("Schedule: makespan {} ms for {} scenario(s) on {} thread(s), lower bound {} ms ({}% of optimal)",
+                makespanMs, finished.size(), threads, lowerBoundMs,
+                makespanMs == 0 ? 100 : Math.round(100.0 * lowerBoundMs / makespanMs));
+    }
+
+    private static String featureOf(String scenario) {
+        int separator = scenario.indexOf("::");
+        return separator >= 0 ? scenario.substring(0, separator) : scenario;
+    }
+
+    private static long median(List<Long> values) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        values.sort(null);
+        return values.get(values.size() / 2);
+    }
+}
@@ -0,0 +1,196 @@
+package com.automation.runner;
+
+import com.automation.config.ConfigManager;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Drains a WorkQueue with a fixed number of threads in this runner process. Each thread leases a
+ * scenario, runs it and marks it done until the queue is empty, so faster runners simply take more.
+ * The lease of each running scenario is renewed in the background until the scenario has run for
+ * maxLeaseMs; a scenario hung past that loses its lease, so another runner takes it over. When the
+ * runner finishes, its throughput and idle time are stored with the queue and logged for every runner.
+ */
+public class QueueWorker {
+    private static final Logger logger = LogManager.getLogger(QueueWorker.class);
+
+    private final WorkQueue queue;
+    private final int threads;
+    private final long pollMs;
+    private final long renewMs;
+    private final long maxLeaseMs;
+    // Scenarios this runner's threads are running, with the time each was claimed
+    private final ConcurrentHashMap<String, Long> running = new ConcurrentHashMap<>();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicLong busyNanos = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private long wallNanos;
+
+    /**
+     * @param pollMs  pause before asking again when only other runners' leases are left
+     * @param renewMs    interval between lease renewals; must be well below the lease time
+     * @param maxLeaseMs longest a scenario may run before its lease is no longer renewed
+     */
+    public QueueWorker(WorkQueue queue, int threads, long pollMs, long renewMs, long maxLeaseMs) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Queue worker needs at least 1 thread");
+        }
+        this.queue = queue;
+        this.threads = threads;
+        this.pollMs = pollMs;
+        this.renewMs = renewMs;
+        this.maxLeaseMs = maxLeaseMs;
+    }
+
+    /**
+     * Worker for the queue configured by queue.* properties, or null when queue mode is disabled
+     */
+    public static QueueWorker fromConfig(int threads) {
+        ConfigManager config = ConfigManager.getInstance();
+        if (!config.isQueueEnabled()) {
+            return null;
+        }
+        String workerId = config.getQueueWorkerId().isEmpty()
+                ? ManagementFactory.getRuntimeMXBean().getName()
+                : config.getQueueWorkerId();
+        WorkQueue queue = new WorkQueue(Paths.get(config.getQueuePath()), config.getQueueRunId(), workerId,
+                config.getQueueLeaseMs());
+        // Three renewals per lease period, so one slow renewal never lets a live lease expire
+        return new QueueWorker(queue, threads, config.getQueuePollMs(), Math.max(1, config.getQueueLeaseMs() / 3),
+                config.getQueueLeaseMaxMs());
+    }
+
+    public WorkQueue getQueue() {
+        return queue;
+    }
+
+    /**
+     * Run queued scenarios until the queue is drained, returning a description of each failure
+     */
+    public List<String> run(Consumer<String> task) {
+        ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+        ScheduledExecutorService renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "work-queue-renewer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        renewer.scheduleWithFixedDelay(this::renew, renewMs, renewMs, TimeUnit.MILLISECONDS);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        logger.info("Runner {} draining the work queue with {} thread(s)", queue.getWorkerId(), threads);
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < threads; i++) {
+                executor.execute(() -> drain(task, failures));
+            }
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            failures.add("Work queue runner interrupted");
+        } finally {
+            renewer.shutdownNow();
+            wallNanos = System.nanoTime() - start;
+        }
+        return new ArrayList<>(failures);
+    }
+
+    private void drain(Consumer<String> task, ConcurrentLinkedQueue<String> failures) {
+        while (true) {
+            long waitStart = System.nanoTime();
+            WorkQueue.Claim claim = queue.claim();
+            while (claim.getId() == null && !claim.isDrained()) {
+                try {
+                    Thread.sleep(pollMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                claim = queue.claim();
+            }
+            waitNanos.addAndGet(System.nanoTime() - waitStart);
+            if (claim.isDrained()) {
+                return;
+            }
+
+            long taskStart = System.nanoTime();
+            running.put(claim.getId(), taskStart);
+            try {
+                task.accept(claim.getId());
+            } catch (Exception | AssertionError e) {
+                failures.add(claim.getId() + ": " + e.getMessage());
+            } finally {
+                running.remove(claim.getId());
+                busyNanos.addAndGet(System.nanoTime() - taskStart);
+                queue.complete(claim.getId());
+                completed.incrementAndGet();
+            }
+        }
+    }
+
+    private void renew() {
+        long now = System.nanoTime();
+        List<String> renewed = new ArrayList<>();
+        running.forEach((id, claimedAt) -> {
+            long runningMs = TimeUnit.NANOSECONDS.toMillis(now - claimedAt);
+            if (runningMs < maxLeaseMs) {
+                renewed.add(id);
+            } else if (runningMs < maxLeaseMs + renewMs) {
+                logger.warn("{} has run for {} ms on {}, over the {} ms limit; its lease is no longer renewed",
+                        id, runningMs, queue.getWorkerId(), maxLeaseMs);
+            }
+        });
+        try {
+            queue.renew(renewed);
+        } catch (RuntimeException e) {
+            logger.warn("Could not renew work queue leases of {}: {}", queue.getWorkerId(), e.getMessage());
+        }
+    }
+
+    /**
+     * This runner's statistics; idle time is thread time not spent running scenarios,
+     * including the tail after a thread found the queue empty
+     */
+    public Map<String, Object> getStats() {
+        long wallMs = TimeUnit.NANOSECONDS.toMillis(wallNanos);
+        long busyMs = TimeUnit.NANOSECONDS.toMillis(busyNanos.get());
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("threads", threads);
+        stats.put("completed", completed.get());
+        stats.put("wallMs", wallMs);
+        stats.put("busyMs", busyMs);
+        stats.put("idleMs", Math.max(0, threads * wallMs - busyMs));
+        stats.put("waitMs", TimeUnit.NANOSECONDS.toMillis(waitNanos.get()));
+        stats.put("scenariosPerMinute", wallMs == 0 ? 0 : Math.round(completed.get() * 60_000.0 / wallMs * 10) / 10.0);
+        return stats;
+    }
+
+    /**
+     * Store this runner's statistics with the queue and log those of every runner that has finished
+     */
+    public void report() {
+        Map<String, JsonNode> runners = queue.report(getStats());
+        runners.forEach((runner, stats) -> logger.info("Work queue runner {}: {} scenario(s), {}/min, "
+                        + "busy {} ms, idle {} ms ({} ms waiting on other runners' leases) over {} ms on {} thread(s)",
+                runner, stats.path("completed").asInt(), stats.path("scenariosPerMinute").asDouble(),
+                stats.path("busyMs").asLong(), stats.path("idleMs").asLong(), stats.path("waitMs").asLong(),
+                stats.path("wallMs").asLong(), stats.path("threads").asInt()));
+    }
+}
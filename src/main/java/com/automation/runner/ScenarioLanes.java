@@ -0,0 +1,169 @@
+package com.automation.runner;
+
+import com.automation.config.ConfigManager;
+import com.automation.metrics.LatencyRecorder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Independently sized execution lanes, so cheap API scenarios never queue behind browser-bound UI
+ * scenarios: the UI lane is bounded by browser slots on the grid, the API lane by HTTP concurrency.
+ * Every lane runs its tasks in submission order; a semaphore caps each lane at its size, which also
+ * bounds a virtual thread lane that creates one thread per task.
+ * Per lane, the time each task waited for a slot is recorded, along with how busy the slots were.
+ */
+public class ScenarioLanes {
+    private static final Logger logger = LogManager.getLogger(ScenarioLanes.class);
+
+    public static final String UI = "ui";
+    public static final String API = "api";
+
+    private final Map<String, Lane> lanes = new LinkedHashMap<>();
+    private final LatencyRecorder queueTimes = new LatencyRecorder();
+
+    /**
+     * @param virtual run the lane on virtual threads where the JVM supports them
+     */
+    public ScenarioLanes addLane(String name, int threads, boolean virtual) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Lane " + name + " needs at least 1 thread");
+        }
+        lanes.put(name, new Lane(name, threads, virtual));
+        return this;
+    }
+
+    /**
+     * UI and API lanes sized by lanes.* properties, or null when dual lanes are disabled
+     */
+    public static ScenarioLanes fromConfig() {
+        ConfigManager config = ConfigManager.getInstance();
+        if (!config.isLanesEnabled()) {
+            return null;
+        }
+        return new ScenarioLanes()
+                .addLane(UI, config.getLanesUiThreads(), false)
+                .addLane(API, config.getLanesApiThreads(), config.isApiVirtualThreadsEnabled());
+    }
+
+    public int getTotalThreads() {
+        return lanes.values().stream().mapToInt(lane -> lane.threads).sum();
+    }
+
+    /**
+     * Run every item on the lane it is routed to, all lanes at once, returning a description of each failure
+     *
+     * @param router lane name for an item; unknown names are rejected up front
+     */
+    public <T> List<String> run(List<T> items, Function<T, String> router, Function<T, String> namer, Consumer<T> task) {
+        Map<Lane, List<T>> routed = new LinkedHashMap<>();
+        lanes.values().forEach(lane -> routed.put(lane, new ArrayList<>()));
+        for (T item : items) {
+            Lane lane = lanes.get(router.apply(item));
+            if (lane == null) {
+                throw new IllegalArgumentException("No lane " + router.apply(item) + " for " + namer.apply(item));
+            }
+            routed.get(lane).add(item);
+        }
+
+        ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+        List<ExecutorService> executors = new ArrayList<>();
+        routed.forEach((lane, laneItems) -> {
+            logger.info("Lane {}: {} scenario(s) on {} {}thread(s)", lane.name, laneItems.size(), lane.threads,
+                    lane.virtual ? "virtual " : "");
+            executors.add(lane.start(laneItems, namer, task, failures));
+        });
+        try {
+            for (ExecutorService executor : executors) {
+                executor.shutdown();
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            executors.forEach(ExecutorService::shutdownNow);
+            Thread.currentThread().interrupt();
+            failures.add("Scenario lanes interrupted");
+        }
+        return new ArrayList<>(failures);
+    }
+
+    /**
+     * Log each lane's task count, slot utilisation and queue time percentiles
+     */
+    public void report() {
+        lanes.values().forEach(lane -> {
+            if (lane.completed.get() == 0) {
+                logger.info("Lane {}: no scenarios", lane.name);
+                return;
+            }
+            long wallNanos = lane.lastFinish.get() - lane.firstStart.get();
+            double utilisation = wallNanos <= 0 ? 0 : 100.0 * lane.busyNanos.get() / (lane.threads * (double) wallNanos);
+            logger.info("Lane {}: {} scenario(s) in {} ms on {} thread(s), utilisation {}%, queue time {}",
+                    lane.name, lane.completed.get(), TimeUnit.NANOSECONDS.toMillis(Math.max(0, wallNanos)),
+                    lane.threads, Math.round(utilisation), queueTimes.summaries().get(lane.name));
+        });
+    }
+
+    private final class Lane {
+        private final String name;
+        private final int threads;
+        private final boolean virtual;
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicLong busyNanos = new AtomicLong();
+        private final AtomicLong firstStart = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong lastFinish = new AtomicLong(Long.MIN_VALUE);
+
+        private Lane(String name, int threads, boolean virtual) {
+            this.name = name;
+            this.threads = threads;
+            this.virtual = virtual;
+        }
+
+        private <T> ExecutorService start(List<T> items, Function<T, String> namer, Consumer<T> task,
+                                          ConcurrentLinkedQueue<String> failures) {
+            ExecutorService executor = virtual
+                    ? VirtualThreadLane.newExecutor(threads)
+                    : Executors.newFixedThreadPool(threads);
+            Semaphore slots = new Semaphore(threads, true);
+            long submitted = System.nanoTime();
+            for (T item : items) {
+                executor.execute(() -> {
+                    try {
+                        slots.acquire();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        failures.add(namer.apply(item) + ": interrupted waiting for the " + name + " lane");
+                        return;
+                    }
+                    long started = System.nanoTime();
+                    queueTimes.record(name, started - submitted);
+                    firstStart.accumulateAndGet(started, Math::min);
+                    try {
+                        task.accept(item);
+                    } catch (Exception | AssertionError e) {
+                        failures.add(namer.apply(item) + ": " + e.getMessage());
+                    } finally {
+                        long finished = System.nanoTime();
+                        busyNanos.addAndGet(finished - started);
+                        lastFinish.accumulateAndGet(finished, Math::max);
+                        completed.incrementAndGet();
+                        slots.release();
+                    }
+                });
+            }
+            return executor;
+        }
+    }
+}
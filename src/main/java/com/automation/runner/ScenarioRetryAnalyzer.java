@@ -0,0 +1,41 @@
+package com.automation.runner;
+
+import com.automation.config.ConfigManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TestNG retry analyzer driven by retry.count and retry.delay.
+ * Attempts are counted per data provider row, so each scenario gets its own retry budget.
+ */
+public class ScenarioRetryAnalyzer implements IRetryAnalyzer {
+    private static final Logger logger = LogManager.getLogger(ScenarioRetryAnalyzer.class);
+    private static final ConfigManager config = ConfigManager.getInstance();
+    // Keyed by the data provider row itself: scenario outline examples share a name
+    private static final Map<List<Object>, AtomicInteger> attempts = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean retry(ITestResult result) {
+        List<Object> scenario = Arrays.asList(result.getParameters());
+        int attempt = attempts.computeIfAbsent(scenario, key -> new AtomicInteger()).incrementAndGet();
+        if (attempt > config.getRetryCount()) {
+            return false;
+        }
+        logger.warn("Retrying {} (attempt {} of {})", scenario, attempt, config.getRetryCount());
+        try {
+            Thread.sleep(config.getRetryDelay());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,191 @@
+package com.automation.runner;
+
+import com.automation.config.ConfigManager;
+import com.automation.history.ScenarioHistory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Splits a run into shard.count shards of roughly equal expected duration, so N JVMs or containers
+ * can share a suite without talking to each other.
+ * Every shard computes the same plan independently: scenarios are taken longest-expected-first,
+ * ties broken by id, and each goes to the currently lightest shard (the lowest index on ties).
+ * The plan only depends on the scenario ids and their estimates, so all shards must see the same
+ * scenarios (tags, impact selection) and the same history. As shards write their timings back to the
+ * shared history when they finish, they plan from a snapshot taken by the first shard of the run.
+ */
+public class ShardPlanner {
+    private static final Logger logger = LogManager.getLogger(ShardPlanner.class);
+    // Snapshots of earlier runs are removed once they are this old
+    private static final Duration SNAPSHOT_RETENTION = Duration.ofDays(7);
+
+    private final int shardCount;
+    private final DurationScheduler estimator;
+
+    public ShardPlanner(int shardCount, DurationScheduler estimator) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1");
+        }
+        this.shardCount = shardCount;
+        this.estimator = estimator;
+    }
+
+    /**
+     * Planner for shard.count shards estimating from this run's snapshot of history.path, or null when
+     * the run is not sharded
+     */
+    public static ShardPlanner fromConfig() {
+        ConfigManager config = ConfigManager.getInstance();
+        int shardCount = config.getShardCount();
+        if (shardCount <= 1) {
+            return null;
+        }
+        pruneSnapshots(Paths.get(config.getShardSnapshotDir()));
+        Path historyFile = Paths.get(config.getHistoryPath());
+        try {
+            return new ShardPlanner(shardCount, new DurationScheduler(
+                    ScenarioHistory.loadSnapshot(historyFile, snapshotOf(historyFile), config.getHistoryMaxRuns())));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not snapshot scenario history " + historyFile + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The copy of a shared file that the shards of this run (history.build.id) plan from, in shard.snapshot.dir
+     */
+    public static Path snapshotOf(Path file) {
+        ConfigManager config = ConfigManager.getInstance();
+        return Paths.get(config.getShardSnapshotDir(), config.getHistoryBuildId() + "-" + file.getFileName());
+    }
+
+    private static void pruneSnapshots(Path dir) {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(SNAPSHOT_RETENTION);
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not prune shard snapshots in {}: {}", dir, e.getMessage());
+        }
+    }
+
+    /**
+     * Partition scenarios given their expected durations
+     *
+     * @param estimates expected milliseconds per scenario id; ids must be unique across the run
+     */
+    public Plan plan(Map<String, Long> estimates) {
+        List<Map.Entry<String, Long>> ordered = new ArrayList<>(new TreeMap<>(estimates).entrySet());
+        // Stable after the TreeMap, so equal estimates stay in id order on every shard
+        ordered.sort(Comparator.comparing((Map.Entry<String, Long> entry) -> entry.getValue()).reversed());
+
+        long[] loads = new long[shardCount];
+        Map<String, Integer> assignments = new TreeMap<>();
+        for (Map.Entry<String, Long> scenario : ordered) {
+            int lightest = 0;
+            for (int shard = 1; shard < shardCount; shard++) {
+                if (loads[shard] < loads[lightest]) {
+                    lightest = shard;
+                }
+            }
+            loads[lightest] += scenario.getValue();
+            assignments.put(scenario.getKey(), lightest);
+        }
+        return new Plan(assignments, loads);
+    }
+
+    /**
+     * The items belonging to one shard, in their original order
+     *
+     * @param idFn  unique per item, e.g. feature path and line; outline examples share a history key
+     * @param keyFn ScenarioHistory key used for the duration estimate
+     */
+    public <T> List<T> select(List<T> items, int shardIndex, Function<T, String> idFn, Function<T, String> keyFn,
+                              Function<T, Collection<String>> tagsFn) {
+        if (shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("Shard index " + shardIndex + " is outside 0.." + (shardCount - 1));
+        }
+        Map<String, Long> estimates = new TreeMap<>();
+        items.forEach(item -> estimates.put(idFn.apply(item), estimator.estimateMs(keyFn.apply(item), tagsFn.apply(item))));
+        Plan plan = plan(estimates);
+        List<T> selected = items.stream()
+                .filter(item -> plan.shardOf(idFn.apply(item)) == shardIndex)
+                .collect(Collectors.toList());
+        logger.info("Shard {}/{}: {} of {} scenario(s), {} ms expected; {}", shardIndex, shardCount,
+                selected.size(), items.size(), plan.getLoad(shardIndex), plan);
+        return selected;
+    }
+
+    /**
+     * Shard assignment of every scenario and the expected load of each shard
+     */
+    public static final class Plan {
+        private final Map<String, Integer> assignments;
+        private final long[] loads;
+
+        Plan(Map<String, Integer> assignments, long[] loads) {
+            this.assignments = assignments;
+            this.loads = loads;
+        }
+
+        public int shardOf(String id) {
+            Integer shard = assignments.get(id);
+            if (shard == null) {
+                throw new IllegalArgumentException("Scenario " + id + " is not part of the plan");
+            }
+            return shard;
+        }
+
+        public int getShardCount() {
+            return loads.length;
+        }
+
+        public long getLoad(int shard) {
+            return loads[shard];
+        }
+
+        public long getMaxLoad() {
+            return Arrays.stream(loads).max().orElse(0);
+        }
+
+        /**
+         * The largest shard relative to a perfectly even split; 1.0 is ideal
+         */
+        public double getImbalance() {
+            double mean = Arrays.stream(loads).average().orElse(0);
+            return mean == 0 ? 1.0 : getMaxLoad() / mean;
+        }
+
+        public Map<String, Integer> getAssignments() {
+            return assignments;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("shard loads %s ms, imbalance %.3f", Arrays.toString(loads), getImbalance());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.automation.runner;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Execution lane that runs I/O-bound tasks on virtual threads (Java 21+).
+ * Concurrency is capped by a semaphore rather than a pool size, so thousands of tasks
+ * can wait on I/O at once without growing the platform thread pool.
+ * The framework still compiles for Java 11: virtual threads are looked up reflectively and
+ * the lane falls back to a bounded platform thread pool on older runtimes.
+ */
+public class VirtualThreadLane {
+    private static final Logger logger = LogManager.getLogger(VirtualThreadLane.class);
+
+    // Upper bound on platform threads used when virtual threads are unavailable
+    private static final int FALLBACK_MAX_THREADS = 64;
+
+    private final int maxConcurrency;
+
+    public VirtualThreadLane(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Virtual thread lane concurrency must be at least 1");
+        }
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Check if the running JVM supports virtual threads
+     */
+    public static boolean isSupported() {
+        return virtualThreadFactoryMethod() != null;
+    }
+
+    private static Method virtualThreadFactoryMethod() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Executor creating one virtual thread per task, or a bounded platform pool on older JVMs
+     */
+    static ExecutorService newExecutor(int maxConcurrency) {
+        Method factory = virtualThreadFactoryMethod();
+        if (factory != null) {
+            try {
+                return (ExecutorService) factory.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                logger.warn("Could not create virtual thread executor: {}", e.getMessage());
+            }
+        }
+        int threads = Math.min(maxConcurrency, FALLBACK_MAX_THREADS);
+        logger.warn("Virtual threads are not available on Java {}, using {} platform threads",
+                System.getProperty("java.version"), threads);
+        return Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * Run all tasks, returning a description of each failure (empty when all passed)
+     */
+    public <T> List<String> run(List<T> tasks, Function<T, String> namer, Consumer<T> task) {
+        ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+        Semaphore permits = new Semaphore(maxConcurrency);
+        ExecutorService executor = newExecutor(maxConcurrency);
+        logger.info("Running {} tasks on virtual thread lane (max concurrency: {})", tasks.size(), maxConcurrency);
+        try {
+            for (T item : tasks) {
+                permits.acquire();
+                executor.execute(() -> {
+                    try {
+                        task.accept(item);
+                    } catch (Exception | AssertionError e) {
+                        failures.add(namer.apply(item) + ": " + e.getMessage());
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            failures.add("Virtual thread lane interrupted");
+        }
+        return new ArrayList<>(failures);
+    }
+}
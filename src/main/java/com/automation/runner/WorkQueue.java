@@ -0,0 +1,280 @@
+package com.automation.runner;
+
+import com.automation.utils.FileLocks;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Work queue shared by runner processes on one host through a lock-protected JSON file.
+ * A runner leases one scenario at a time; a lease not renewed within the lease time (because its
+ * runner crashed, or the scenario hung past the runner's limit) expires and the scenario goes back
+ * to the queue for another runner.
+ * The file belongs to one run: a file left by another run id is replaced when the queue is seeded.
+ * Methods are synchronized because an OS file lock does not coordinate threads of the same JVM.
+ */
+public class WorkQueue {
+    private static final Logger logger = LogManager.getLogger(WorkQueue.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    static final String PENDING = "PENDING";
+    static final String LEASED = "LEASED";
+    static final String DONE = "DONE";
+
+    private final Path file;
+    private final String runId;
+    private final String workerId;
+    private final long leaseMs;
+
+    public WorkQueue(Path file, String runId, String workerId, long leaseMs) {
+        this.file = file;
+        this.runId = runId;
+        this.workerId = workerId;
+        this.leaseMs = leaseMs;
+    }
+
+    public String getWorkerId() {
+        return workerId;
+    }
+
+    /**
+     * Add scenarios in priority order; ids already queued for this run are left as they are,
+     * so every runner can seed the queue with the same list
+     *
+     * @return false when this run's queue had already been drained
+     */
+    public synchronized boolean seed(List<String> ids) {
+        return update(state -> {
+            if (!runId.equals(state.runId)) {
+                if (state.runId != null) {
+                    logger.info("Replacing work queue of run {} with run {}", state.runId, runId);
+                }
+                state.reset(runId);
+            }
+            boolean drained = !state.items.isEmpty() && state.items.values().stream().allMatch(item -> DONE.equals(item.state));
+            ids.forEach(id -> state.items.computeIfAbsent(id, Item::new));
+            return !drained;
+        });
+    }
+
+    /**
+     * Lease the next pending scenario, first reclaiming expired leases
+     *
+     * @return the claimed id, or a claim without one that says whether other runners still hold
+     * leases (wait and retry) or every scenario is done
+     */
+    public synchronized Claim claim() {
+        return update(state -> {
+            long now = System.currentTimeMillis();
+            boolean leased = false;
+            for (Item item : state.items.values()) {
+                if (LEASED.equals(item.state) && item.leaseExpiresAt < now) {
+                    logger.warn("Lease on {} held by {} expired, returning it to the queue", item.id, item.owner);
+                    item.state = PENDING;
+                    state.reclaimed++;
+                }
+            }
+            for (Item item : state.items.values()) {
+                if (PENDING.equals(item.state)) {
+                    item.state = LEASED;
+                    item.owner = workerId;
+                    item.leaseExpiresAt = now + leaseMs;
+                    item.attempts++;
+                    return Claim.of(item.id);
+                }
+                leased |= LEASED.equals(item.state);
+            }
+            return leased ? Claim.waiting() : Claim.drained();
+        });
+    }
+
+    /**
+     * Extend this runner's leases on the given scenarios; called periodically while they run
+     */
+    public synchronized void renew(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        update(state -> {
+            long expiresAt = System.currentTimeMillis() + leaseMs;
+            ids.stream()
+                    .map(state.items::get)
+                    .filter(item -> item != null && LEASED.equals(item.state) && workerId.equals(item.owner))
+                    .forEach(item -> item.leaseExpiresAt = expiresAt);
+            return null;
+        });
+    }
+
+    /**
+     * Mark a leased scenario done; ignored when the lease expired and another runner took it over
+     */
+    public synchronized void complete(String id) {
+        update(state -> {
+            Item item = state.items.get(id);
+            if (item != null && workerId.equals(item.owner) && !DONE.equals(item.state)) {
+                item.state = DONE;
+                item.leaseExpiresAt = 0;
+            } else {
+                logger.warn("{} finished {} after its lease was taken over", workerId, id);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Store this runner's statistics next to the queue and return those of every runner seen so far
+     */
+    public synchronized Map<String, JsonNode> report(Map<String, Object> workerStats) {
+        return update(state -> {
+            state.workers.put(workerId, MAPPER.valueToTree(workerStats));
+            return new LinkedHashMap<>(state.workers);
+        });
+    }
+
+    /**
+     * State and lease count of every queued scenario, e.g. "DONE x2" for one taken over after a crash
+     */
+    public synchronized Map<String, String> snapshot() {
+        return update(state -> {
+            Map<String, String> view = new LinkedHashMap<>();
+            state.items.values().forEach(item -> view.put(item.id, item.state + " x" + item.attempts));
+            return view;
+        });
+    }
+
+    private <T> T update(Function<State, T> change) {
+        List<T> result = new ArrayList<>(1);
+        try {
+            FileLocks.withLock(file, () -> {
+                State state = read();
+                result.add(change.apply(state));
+                write(state);
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Work queue " + file + " is not accessible", e);
+        }
+        return result.get(0);
+    }
+
+    private State read() throws IOException {
+        State state = new State();
+        if (!Files.isRegularFile(file) || Files.size(file) == 0) {
+            return state;
+        }
+        JsonNode root = MAPPER.readTree(file.toFile());
+        state.runId = root.path("run").asText(null);
+        state.reclaimed = root.path("reclaimed").asInt();
+        for (JsonNode node : root.path("items")) {
+            Item item = new Item(node.path("id").asText());
+            item.state = node.path("state").asText(PENDING);
+            item.owner = node.path("owner").asText(null);
+            item.leaseExpiresAt = node.path("leaseExpiresAt").asLong();
+            item.attempts = node.path("attempts").asInt();
+            state.items.put(item.id, item);
+        }
+        Iterator<Map.Entry<String, JsonNode>> workers = root.path("workers").fields();
+        while (workers.hasNext()) {
+            Map.Entry<String, JsonNode> worker = workers.next();
+            state.workers.put(worker.getKey(), worker.getValue());
+        }
+        return state;
+    }
+
+    private void write(State state) throws IOException {
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("run", state.runId);
+        root.put("reclaimed", state.reclaimed);
+        ArrayNode items = root.putArray("items");
+        state.items.values().forEach(item -> items.addObject()
+                .put("id", item.id)
+                .put("state", item.state)
+                .put("owner", item.owner)
+                .put("leaseExpiresAt", item.leaseExpiresAt)
+                .put("attempts", item.attempts));
+        root.putObject("workers").setAll(state.workers);
+
+        Path target = file.toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        MAPPER.writeValue(temp.toFile(), root);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Result of a claim: a scenario id, or why there is none
+     */
+    public static final class Claim {
+        private static final Claim WAITING = new Claim(null, false);
+        private static final Claim DRAINED = new Claim(null, true);
+
+        private final String id;
+        private final boolean drained;
+
+        private Claim(String id, boolean drained) {
+            this.id = id;
+            this.drained = drained;
+        }
+
+        static Claim of(String id) {
+            return new Claim(id, false);
+        }
+
+        static Claim waiting() {
+            return WAITING;
+        }
+
+        static Claim drained() {
+            return DRAINED;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public boolean isDrained() {
+            return drained;
+        }
+    }
+
+    private static final class State {
+        private String runId;
+        private int reclaimed;
+        private final Map<String, Item> items = new LinkedHashMap<>();
+        private final Map<String, JsonNode> workers = new LinkedHashMap<>();
+
+        private void reset(String newRunId) {
+            runId = newRunId;
+            reclaimed = 0;
+            items.clear();
+            workers.clear();
+        }
+    }
+
+    private static final class Item {
+        private final String id;
+        private String state = PENDING;
+        private String owner;
+        private long leaseExpiresAt;
+        private int attempts;
+
+        private Item(String id) {
+            this.id = id;
+        }
+    }
+}
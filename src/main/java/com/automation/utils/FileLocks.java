@@ -0,0 +1,44 @@
+package com.automation.utils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Exclusive locks on shared files, held through a sibling ".lock" file.
+ * OS-level locks coordinate separate JVMs and containers sharing a volume, e.g. shards
+ * updating the same scenario history; they do not coordinate threads within one JVM.
+ */
+public final class FileLocks {
+
+    private FileLocks() {
+    }
+
+    /**
+     * An action that reads or writes the locked file
+     */
+    @FunctionalInterface
+    public interface LockedAction {
+        void run() throws IOException;
+    }
+
+    /**
+     * Run the action while holding the exclusive lock for the file, waiting for other processes to release it
+     */
+    public static void withLock(Path file, LockedAction action) throws IOException {
+        Path lockFile = lockFileOf(file);
+        Files.createDirectories(lockFile.getParent());
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            action.run();
+        }
+    }
+
+    private static Path lockFileOf(Path file) {
+        Path absolute = file.toAbsolutePath();
+        return absolute.resolveSibling(absolute.getFileName() + ".lock");
+    }
+}
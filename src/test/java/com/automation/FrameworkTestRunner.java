@@ -0,0 +1,29 @@
+package com.automation;
+
+import io.cucumber.testng.AbstractTestNGCucumberTests;
+import io.cucumber.testng.CucumberOptions;
+
+/**
+ * TestNG Test Runner for the framework's own scenarios under features/framework (tagged @framework)
+ * They check framework components against local servers and synthetic data, need neither a browser
+ * nor the real API, and are kept out of the UI/API runs and the load profile: mvn test -Pframework
+ * Scenarios run one at a time, as some of them register interceptors for the whole JVM
+ */
+@CucumberOptions(
+    features = {
+        "src/test/resources/features/framework"
+    },
+    glue = {
+        "com.automation.steps",
+        "com.automation.hooks"
+    },
+    plugin = {
+        "pretty",
+        "html:target/cucumber-reports/framework-test-report.html",
+        "json:target/cucumber-reports/framework-test-report.json",
+        "junit:target/cucumber-reports/framework-test-report.xml"
+    },
+    monochrome = true
+)
+public class FrameworkTestRunner extends AbstractTestNGCucumberTests {
+}
@@ -0,0 +1,87 @@
+package com.automation;
+
+import com.automation.api.cassette.CassetteInterceptor;
+import com.automation.api.stub.StubServer;
+import com.automation.config.ConfigManager;
+import com.automation.load.LoadGenerator;
+import com.automation.load.LoadProfile;
+import com.automation.load.LoadReport;
+import io.cucumber.testng.AbstractTestNGCucumberTests;
+import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.PickleWrapper;
+import org.testng.Assert;
+import org.testng.ITestContext;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Load-generation runner: replays API feature scenarios as concurrent virtual users
+ * Scenarios are selected with cucumber.filter.tags (the load profile defaults to @api);
+ * the workload shape comes from the load.* configuration properties.
+ * With api.stub.enabled the load targets the embedded stub server for deterministic baselines.
+ */
+@CucumberOptions(
+    features = {
+        "src/test/resources/features/api"
+    },
+    glue = {
+        "com.automation.steps"
+    },
+    plugin = {
+        "com.automation.load.LoadStepListener"
+    },
+    monochrome = true
+)
+public class LoadTestRunner extends AbstractTestNGCucumberTests {
+    private StubServer stubServer;
+
+    @Override
+    @BeforeClass(alwaysRun = true)
+    public void setUpClass(ITestContext context) {
+        stubServer = StubServer.startIfEnabled();
+        super.setUpClass(context);
+    }
+
+    @Override
+    @AfterClass(alwaysRun = true)
+    public void tearDownClass() {
+        super.tearDownClass();
+        CassetteInterceptor.closeShared();
+        if (stubServer != null) {
+            stubServer.close();
+        }
+    }
+
+    /**
+     * Scenarios are replayed by the load generator, not run once each by TestNG
+     */
+    @Override
+    @DataProvider
+    public Object[][] scenarios() {
+        return new Object[0][0];
+    }
+
+    @Test(description = "Replays API scenarios as virtual users")
+    public void generateLoad() throws IOException {
+        List<Object[]> scenarios = Arrays.asList(super.scenarios());
+        LoadGenerator<Object[]> generator = new LoadGenerator<>(
+                LoadProfile.fromConfig(),
+                scenarios,
+                scenario -> ((PickleWrapper) scenario[0]).getPickle().getName(),
+                scenario -> runScenario((PickleWrapper) scenario[0], (FeatureWrapper) scenario[1]));
+
+        LoadReport report = generator.run();
+        report.log();
+        report.writeJson(Paths.get(ConfigManager.getInstance().getLoadReportPath()));
+
+        Assert.assertTrue(report.getIterations() > 0, "Load run should complete at least one iteration");
+    }
+}
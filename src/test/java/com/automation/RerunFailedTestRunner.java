@@ -0,0 +1,99 @@
+package com.automation;
+
+import com.automation.api.cassette.CassetteInterceptor;
+import com.automation.api.stub.StubServer;
+import com.automation.drivers.DriverManager;
+import com.automation.runner.ScenarioRetryAnalyzer;
+import com.automation.utils.ExtentReportsUtils;
+import io.cucumber.testng.AbstractTestNGCucumberTests;
+import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.PickleWrapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestContext;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Rerun phase: runs only the scenarios UnifiedTestRunner wrote to the rerun file,
+ * retrying each failure up to retry.count times with retry.delay between attempts.
+ * Run with mvn test -Prerun (without clean, so the rerun file survives).
+ */
+@CucumberOptions(
+    features = "@" + RerunFailedTestRunner.RERUN_FILE,
+    glue = {
+        "com.automation.steps",
+        "com.automation.hooks"
+    },
+    plugin = {
+        "pretty",
+        "html:target/cucumber-reports/rerun-test-report.html",
+        "json:target/cucumber-reports/rerun-test-report.json",
+        "junit:target/cucumber-reports/rerun-test-report.xml",
+        "rerun:target/rerun/still-failing.txt",
+        "com.automation.history.ScenarioHistoryPlugin",
+        "com.automation.impact.ImpactMapPlugin"
+    },
+    monochrome = true
+)
+public class RerunFailedTestRunner extends AbstractTestNGCucumberTests {
+    static final String RERUN_FILE = "target/rerun/failed-scenarios.txt";
+
+    private static final Logger logger = LogManager.getLogger(RerunFailedTestRunner.class);
+    private StubServer stubServer;
+
+    @Override
+    @BeforeClass(alwaysRun = true)
+    public void setUpClass(ITestContext context) {
+        Path rerunFile = Paths.get(RERUN_FILE);
+        try {
+            if (!Files.exists(rerunFile)) {
+                // Cucumber rejects a missing rerun file; an empty one simply runs nothing
+                Files.createDirectories(rerunFile.getParent());
+                Files.createFile(rerunFile);
+            }
+            String failed = Files.readString(rerunFile).trim();
+            logger.info("Rerunning failed scenarios from {}: {}", rerunFile, failed.isEmpty() ? "none" : failed);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to prepare rerun file " + rerunFile, e);
+        }
+        stubServer = StubServer.startIfEnabled();
+        super.setUpClass(context);
+    }
+
+    @Override
+    @Test(groups = "cucumber", description = "Runs Cucumber Scenarios", dataProvider = "scenarios",
+            retryAnalyzer = ScenarioRetryAnalyzer.class)
+    public void runScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) {
+        super.runScenario(pickleWrapper, featureWrapper);
+    }
+
+    @Override
+    @DataProvider(parallel = true)
+    public Object[][] scenarios() {
+        return super.scenarios();
+    }
+
+    @Override
+    @AfterClass(alwaysRun = true)
+    public void tearDownClass() {
+        super.tearDownClass();
+        // Hooks quits each scenario's browser; this catches any left behind by an aborted scenario
+        DriverManager.quitAllDrivers();
+        // Rendered once for the whole run, as the Spark reporter rewrites the full report on every flush
+        ExtentReportsUtils.flushReports();
+        CassetteInterceptor.closeShared();
+        if (stubServer != null) {
+            stubServer.close();
+        }
+    }
+}
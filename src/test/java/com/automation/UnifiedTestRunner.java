@@ -1,13 +1,63 @@
 package com.automation;
 
+import com.automation.api.cache.ResponseCache;
+import com.automation.api.json.JsonSchemaRegistry;
+import com.automation.api.AsyncHttpTransport;
+import com.automation.api.cassette.CassetteInterceptor;
+import com.automation.api.stub.StubServer;
+import com.automation.api.throttle.ThrottlingInterceptor;
+import com.automation.config.ConfigManager;
+import com.automation.drivers.CommandTracker;
+import com.automation.drivers.DriverManager;
+import com.automation.history.ScenarioHistory;
+import com.automation.impact.ImpactSelector;
+import com.automation.pageobjects.PagePerformance;
+import com.automation.runner.DurationScheduler;
+import com.automation.runner.QueueWorker;
+import com.automation.runner.ScenarioLanes;
+import com.automation.runner.ShardPlanner;
+import com.automation.runner.VirtualThreadLane;
+import com.automation.utils.ExtentReportsUtils;
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Unified TestNG Test Runner for All Tests (UI + API)
  * Supports both sequential and parallel execution
  * Generates a single comprehensive report for all test scenarios
+ * When api.virtual.threads.enabled is set, @api scenarios run on a separate virtual thread lane
+ * When api.stub.enabled is set, @api scenarios are served by the embedded stub server
+ * Failed scenarios are written to target/rerun/failed-scenarios.txt for RerunFailedTestRunner
+ * When impact.selection.enabled is set, only scenarios affected by the current change run
+ * Scenarios are started longest-expected-first (schedule.order) using durations from the scenario history
+ * When shard.count is above 1, only the scenarios of shard.index run, balanced by expected duration
+ * When queue.enabled is set, scenarios are leased from a work queue shared with other runner processes
+ * When lanes.enabled is set, @api scenarios and all others run on separately sized lanes
+ * Lane methods whose mode is off are left out of the run rather than reported as skipped
  */
 @CucumberOptions(
     features = {
@@ -15,25 +65,302 @@ import org.testng.annotations.DataProvider;
         "src/test/resources/features/api"
     },
     glue = {
-        "com.automation.steps", 
-        "com.automation.hooks.Hooks",
-        "com.automation.hooks.APIHooks"
+        "com.automation.steps",
+        "com.automation.hooks"
     },
     plugin = {
         "pretty",
         "html:target/cucumber-reports/unified-test-report.html",
         "json:target/cucumber-reports/unified-test-report.json",
         "junit:target/cucumber-reports/unified-test-report.xml",
-        "com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter:"
+        "com.aventstack.extentreports.cucumber.adapter.ExtentCucumberAdapter:",
+        "rerun:target/rerun/failed-scenarios.txt",
+        "com.automation.history.ScenarioHistoryPlugin",
+        "com.automation.impact.ImpactMapPlugin",
+        "com.automation.metrics.StartupTimingPlugin",
+        "com.automation.metrics.StepLatencyPlugin"
     },
     monochrome = true,
     dryRun = false
 )
+@Listeners(UnifiedTestRunner.LaneMethodSelector.class)
 public class UnifiedTestRunner extends AbstractTestNGCucumberTests {
+    private static final Logger logger = LogManager.getLogger(UnifiedTestRunner.class);
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final Set<String> LANE_METHODS = Set.of(
+            "runApiScenariosOnVirtualThreads", "runScenariosFromWorkQueue", "runScenariosOnLanes");
+    private StubServer stubServer;
+    private ImpactSelector impactSelector;
+    private DurationScheduler scheduler;
+    private ShardPlanner shardPlanner;
+    private QueueWorker queueWorker;
+    private ScenarioLanes lanes;
+    private int dataProviderThreads;
+    private Object[][] selected;
+    // Outcome of every scenario run on a lane or the work queue, reported by laneScenario
+    private final Map<String, Optional<Throwable>> laneOutcomes = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    @Override
+    @BeforeClass(alwaysRun = true)
+    public void setUpClass(ITestContext context) {
+        stubServer = StubServer.startIfEnabled();
+        impactSelector = ImpactSelector.fromConfig();
+        scheduler = DurationScheduler.fromConfig();
+        shardPlanner = ShardPlanner.fromConfig();
+        dataProviderThreads = context.getSuite().getXmlSuite().getDataProviderThreadCount();
+        queueWorker = QueueWorker.fromConfig(dataProviderThreads);
+        lanes = ScenarioLanes.fromConfig();
+        super.setUpClass(context);
+    }
+
+    @Override
+    @Test(groups = "cucumber", description = "Runs Cucumber Scenarios", dataProvider = "scenarios")
+    public void runScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) {
+        if (scheduler == null) {
+            super.runScenario(pickleWrapper, featureWrapper);
+            return;
+        }
+        String execution = executionId(pickleWrapper);
+        scheduler.recordStart(execution);
+        try {
+            super.runScenario(pickleWrapper, featureWrapper);
+        } finally {
+            scheduler.recordFinish(execution);
+        }
+    }
 
     @Override
     @DataProvider(parallel = true)
     public Object[][] scenarios() {
-        return super.scenarios();
+        if (queueWorker != null || lanes != null) {
+            // Every scenario is run by runScenariosFromWorkQueue or runScenariosOnLanes instead
+            return new Object[0][];
+        }
+        Object[][] scenarios = selectedScenarios();
+        if (!config.isApiVirtualThreadsEnabled()) {
+            return schedule(Arrays.asList(scenarios)).toArray(new Object[0][]);
+        }
+        // @api scenarios are run by runApiScenariosOnVirtualThreads instead
+        return schedule(Arrays.stream(scenarios)
+                .filter(scenario -> !isApiScenario(scenario))
+                .collect(Collectors.toList()))
+                .toArray(new Object[0][]);
+    }
+
+    @Test(description = "Runs @api scenarios on the virtual thread lane")
+    public void runApiScenariosOnVirtualThreads() {
+        List<Object[]> apiScenarios = Arrays.stream(selectedScenarios())
+                .filter(UnifiedTestRunner::isApiScenario)
+                .collect(Collectors.toList());
+
+        List<String> failures = new VirtualThreadLane(config.getApiVirtualThreadsMaxConcurrency()).run(
+                apiScenarios,
+                scenario -> ((PickleWrapper) scenario[0]).getPickle().getName(),
+                this::runOnLane);
+        logFailures(failures, "the virtual thread lane");
+    }
+
+    @Test(description = "Runs scenarios leased from the work queue shared with other runner processes")
+    public void runScenariosFromWorkQueue() {
+        List<Object[]> scenarios = schedule(Arrays.asList(selectedScenarios()));
+        Map<String, Object[]> byId = new LinkedHashMap<>();
+        scenarios.forEach(scenario -> byId.put(executionId((PickleWrapper) scenario[0]), scenario));
+        if (!queueWorker.getQueue().seed(new ArrayList<>(byId.keySet()))) {
+            logger.warn("Work queue for run {} was already drained; set queue.run.id to start a new run",
+                    config.getQueueRunId());
+        }
+
+        List<String> failures = queueWorker.run(id -> {
+            Object[] scenario = byId.get(id);
+            if (scenario == null) {
+                IllegalStateException unknown = new IllegalStateException("Queued scenario is unknown to this runner; "
+                        + "all runners must use the same features and tags");
+                laneOutcomes.put(id, Optional.of(unknown));
+                throw unknown;
+            }
+            runOnLane(scenario);
+        });
+        queueWorker.report();
+        logFailures(failures, "the work queue");
+    }
+
+    @Test(description = "Runs @api scenarios and all others on separately sized lanes")
+    public void runScenariosOnLanes() {
+        List<Object[]> scenarios = schedule(Arrays.asList(selectedScenarios()));
+        // Untagged scenarios may well need a browser, so only @api scenarios leave the UI lane
+        List<String> failures = lanes.run(scenarios,
+                scenario -> isApiScenario(scenario) ? ScenarioLanes.API : ScenarioLanes.UI,
+                scenario -> ((PickleWrapper) scenario[0]).getPickle().getName(),
+                this::runOnLane);
+        lanes.report();
+        logFailures(failures, "the UI and API lanes");
+    }
+
+    /**
+     * One result per scenario run by the methods above, so each failure is reported with its own
+     * scenario name and cause rather than folded into the lane method's result
+     */
+    @Test(description = "Reports a scenario run on a lane or the work queue", dataProvider = "laneScenarios",
+            dependsOnMethods = {"runApiScenariosOnVirtualThreads", "runScenariosFromWorkQueue", "runScenariosOnLanes"},
+            ignoreMissingDependencies = true, alwaysRun = true)
+    public void laneScenario(String scenario, Throwable failure) throws Throwable {
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @DataProvider
+    public Object[][] laneScenarios() {
+        synchronized (laneOutcomes) {
+            return laneOutcomes.entrySet().stream()
+                    .map(outcome -> new Object[]{outcome.getKey(), outcome.getValue().orElse(null)})
+                    .toArray(Object[][]::new);
+        }
+    }
+
+    /**
+     * Whether a lane method's mode is on; the methods read the same settings through the fields set in setUpClass
+     */
+    private static boolean isLaneEnabled(String method) {
+        switch (method) {
+            case "runApiScenariosOnVirtualThreads":
+                return config.isApiVirtualThreadsEnabled() && !config.isQueueEnabled() && !config.isLanesEnabled();
+            case "runScenariosFromWorkQueue":
+                return config.isQueueEnabled();
+            case "runScenariosOnLanes":
+                return config.isLanesEnabled();
+            default:
+                return true;
+        }
+    }
+
+    @Override
+    @AfterClass(alwaysRun = true)
+    public void tearDownClass() {
+        super.tearDownClass();
+        // Hooks quits each scenario's browser; this catches any left behind by an aborted scenario
+        DriverManager.quitAllDrivers();
+        // Rendered once for the whole run, as the Spark reporter rewrites the full report on every flush
+        ExtentReportsUtils.flushReports();
+        CassetteInterceptor.closeShared();
+        if (stubServer != null) {
+            stubServer.close();
+        }
+        if (config.isApiCacheEnabled()) {
+            logger.info("API response cache: {}", ResponseCache.shared().getStats());
+        }
+        if (config.isApiThrottleEnabled()) {
+            ThrottlingInterceptor.shared().getStats().values()
+                    .forEach(stats -> logger.info("API throttling: {}", stats));
+        }
+        if (AsyncHttpTransport.isHttp2()) {
+            logger.info("API transport: {}", AsyncHttpTransport.stats());
+        }
+        if (impactSelector != null) {
+            impactSelector.report(Paths.get(config.getImpactReportPath()));
+        }
+        if (scheduler != null) {
+            scheduler.report(lanes != null ? lanes.getTotalThreads() : dataProviderThreads);
+        }
+        JsonSchemaRegistry.latencies().summaries()
+                .forEach((schema, summary) -> logger.info("Schema validation {}: {}", schema, summary));
+        if (config.isBrowserCommandTrackingEnabled()) {
+            CommandTracker.getInstance().report();
+        }
+        PagePerformance.report();
+    }
+
+    private void runOnLane(Object[] scenario) {
+        PickleWrapper pickleWrapper = (PickleWrapper) scenario[0];
+        String execution = executionId(pickleWrapper);
+        try {
+            runScenario(pickleWrapper, (FeatureWrapper) scenario[1]);
+            laneOutcomes.put(execution, Optional.empty());
+        } catch (RuntimeException | Error e) {
+            laneOutcomes.put(execution, Optional.of(e));
+            throw e;
+        }
+    }
+
+    private static void logFailures(List<String> failures, String lane) {
+        if (!failures.isEmpty()) {
+            logger.warn("{} scenario(s) failed on {}:\n{}", failures.size(), lane, String.join("\n", failures));
+        }
+    }
+
+    /**
+     * All scenarios, or only those affected by the current change when impact selection is enabled,
+     * narrowed down to this shard's share when the run is sharded
+     */
+    private synchronized Object[][] selectedScenarios() {
+        if (selected != null) {
+            return selected;
+        }
+        List<Object[]> scenarios = Arrays.asList(super.scenarios());
+        if (impactSelector != null) {
+            scenarios = scenarios.stream()
+                    .filter(scenario -> impactSelector.shouldRun(historyKey((PickleWrapper) scenario[0]),
+                            ((PickleWrapper) scenario[0]).getPickle().getTags()))
+                    .collect(Collectors.toList());
+        }
+        if (shardPlanner != null) {
+            scenarios = shardPlanner.select(scenarios, config.getShardIndex(),
+                    scenario -> executionId((PickleWrapper) scenario[0]),
+                    scenario -> historyKey((PickleWrapper) scenario[0]),
+                    scenario -> ((PickleWrapper) scenario[0]).getPickle().getTags());
+        }
+        selected = scenarios.toArray(new Object[0][]);
+        return selected;
+    }
+
+    /**
+     * Scenarios in the order the TestNG pool should start them: longest expected first, or file order
+     */
+    private List<Object[]> schedule(List<Object[]> scenarios) {
+        if (scheduler == null) {
+            return scenarios;
+        }
+        return scheduler.longestFirst(scenarios,
+                scenario -> historyKey((PickleWrapper) scenario[0]),
+                scenario -> ((PickleWrapper) scenario[0]).getPickle().getTags());
+    }
+
+    private static String historyKey(PickleWrapper pickleWrapper) {
+        Pickle pickle = pickleWrapper.getPickle();
+        return ScenarioHistory.keyOf(pickle.getUri(), pickle.getName());
+    }
+
+    /**
+     * Unique per pickle and identical on every machine: outline examples share a history key but not a line
+     */
+    private static String executionId(PickleWrapper pickleWrapper) {
+        return historyKey(pickleWrapper) + ":" + pickleWrapper.getPickle().getLine();
+    }
+
+    private static boolean isApiScenario(Object[] scenario) {
+        return ((PickleWrapper) scenario[0]).getPickle().getTags().contains("@api");
+    }
+
+    /**
+     * Drops the lane methods whose mode is off from the run, and laneScenario when none is left to report on
+     */
+    public static class LaneMethodSelector implements IMethodInterceptor {
+        @Override
+        public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+            List<IMethodInstance> selected = methods.stream()
+                    .filter(method -> !isRunnerMethod(method) || !LANE_METHODS.contains(method.getMethod().getMethodName())
+                            || isLaneEnabled(method.getMethod().getMethodName()))
+                    .collect(Collectors.toCollection(ArrayList::new));
+            boolean anyLane = selected.stream()
+                    .anyMatch(method -> isRunnerMethod(method) && LANE_METHODS.contains(method.getMethod().getMethodName()));
+            if (!anyLane) {
+                selected.removeIf(method -> isRunnerMethod(method) && method.getMethod().getMethodName().equals("laneScenario"));
+            }
+            return selected;
+        }
+
+        private static boolean isRunnerMethod(IMethodInstance method) {
+            return method.getMethod().getRealClass() == UnifiedTestRunner.class;
+        }
     }
-} 
\ No newline at end of file
+}
@@ -1,6 +1,6 @@
 package com.automation.hooks;
 
-import com.automation.utils.ExtentReportsUtils;
+import com.automation.api.cache.ResponseCache;
 import io.cucumber.java.After;
 import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
@@ -14,33 +14,36 @@ public class APIHooks {
     private static final Logger logger = LogManager.getLogger(APIHooks.class);
 
     /**
-     * Setup before each API scenario
+     * Setup before each API scenario; the ExtentReports test is started by Hooks, which runs for every scenario
      */
-    @Before
+    @Before("@api")
     public void setUp(Scenario scenario) {
         logger.info("Starting API scenario: {}", scenario.getName());
-        
-        // Start ExtentReports test for API scenario
-        ExtentReportsUtils.startTest(scenario.getName());
     }
 
     /**
      * Cleanup after each API scenario
      */
-    @After
+    @After("@api")
     public void tearDown(Scenario scenario) {
-        logger.info("Finishing API scenario: {}", scenario.getName());
-        
-        boolean testPassed = !scenario.isFailed();
-        
-        // End ExtentReports test for API scenario
-        ExtentReportsUtils.endTest(scenario.getName(), !testPassed);
-        
         logger.info("API scenario completed: {} - Status: {}", 
                    scenario.getName(), 
                    scenario.getStatus());
     }
 
+    /**
+     * Scenarios that need fresh data bypass the API response cache
+     */
+    @Before("@fresh")
+    public void bypassResponseCache() {
+        ResponseCache.setBypassForCurrentThread(true);
+    }
+
+    @After("@fresh")
+    public void restoreResponseCache() {
+        ResponseCache.setBypassForCurrentThread(false);
+    }
+
     /**
      * Setup before all API scenarios (runs once)
      */
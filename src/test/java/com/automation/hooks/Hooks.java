@@ -1,6 +1,9 @@
 package com.automation.hooks;
 
+import com.automation.config.ConfigManager;
+import com.automation.drivers.CommandTracker;
 import com.automation.drivers.DriverManager;
+import com.automation.pageobjects.PagePerformance;
 import com.automation.utils.ExtentReportsUtils;
 import io.cucumber.java.After;
 import io.cucumber.java.Before;
@@ -15,6 +18,7 @@ import org.apache.logging.log4j.Logger;
  */
 public class Hooks {
     private static final Logger logger = LogManager.getLogger(Hooks.class);
+    private static final ConfigManager config = ConfigManager.getInstance();
 
 
     /**
@@ -27,6 +31,10 @@ public class Hooks {
         
         // Start ExtentReports test
         ExtentReportsUtils.startTest(scenario.getName());
+
+        if (config.isBrowserCommandTrackingEnabled()) {
+            CommandTracker.getInstance().startScenario();
+        }
     }
 
     /**
@@ -41,6 +49,20 @@ public class Hooks {
 
         // End ExtentReports test
         ExtentReportsUtils.endTest(scenario.getName(), testPassed);
+
+        // Attach the scenario's WebDriver round trips to both reports; null when tracking was off at setUp
+        String commands = CommandTracker.getInstance().finishScenario();
+        if (commands != null) {
+            scenario.log(commands);
+            ExtentReportsUtils.logInfo(scenario.getName(), commands);
+        }
+
+        // Pages the scenario loaded, with their timings
+        String performance = PagePerformance.finishScenario();
+        if (performance != null) {
+            scenario.log(performance);
+            ExtentReportsUtils.logInfo(scenario.getName(), performance);
+        }
         
         // Cleanup WebDriver
         try {
@@ -54,29 +76,11 @@ public class Hooks {
     }
 
     /**
-     * Setup before all scenarios (runs once)
+     * Setup before each scenario, ahead of setUp
+     * The ExtentReports report is flushed once per run by the runners' tearDownClass
      */
     @Before(order = 1)
     public void beforeAll() {
         logger.info("Starting test execution");
     }
-
-    /**
-     * Cleanup after all scenarios (runs once)
-     */
-    @After(order = 1)
-    public void afterAll() {
-        logger.info("Test execution completed");
-        
-        // Flush ExtentReports
-        ExtentReportsUtils.flushReports();
-        
-        // Cleanup all WebDrivers
-        try {
-            DriverManager.quitAllDrivers();
-            logger.info("All WebDrivers quit successfully");
-        } catch (Exception e) {
-            logger.error("Error quitting all WebDrivers: {}", e.getMessage());
-        }
-    }
 } 
\ No newline at end of file
@@ -1,7 +1,13 @@
 package com.automation.steps;
 
 import com.automation.api.RestApiClient;
+import com.automation.api.json.BodyTemplate;
+import com.automation.api.json.JsonDocument;
+import com.automation.api.json.JsonSchemaRegistry;
+import com.automation.api.stream.StreamingResponse;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.cucumber.datatable.DataTable;
+import io.cucumber.java.After;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
@@ -10,6 +16,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.testng.Assert;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -20,6 +27,10 @@ public class ApiTestSteps {
     private static final Logger logger = LogManager.getLogger(ApiTestSteps.class);
     private RestApiClient apiClient;
     private Response response;
+    // Response body parsed once, shared by all assertions on the same response
+    private JsonDocument document;
+    // Large response streamed by "I stream a GET request to", asserted element by element
+    private StreamingResponse streamingResponse;
 
     public ApiTestSteps() {
         this.apiClient = new RestApiClient();
@@ -40,40 +51,34 @@ public class ApiTestSteps {
     @When("I send a GET request to {string}")
     public void i_send_a_get_request_to(String endpoint) {
         logger.info("Sending GET request to: {}", endpoint);
-        response = apiClient.get(endpoint);
+        setResponse(apiClient.get(endpoint));
     }
 
     @When("I send a POST request to {string} with the following data:")
     public void i_send_a_post_request_to_with_the_following_data(String endpoint, DataTable dataTable) {
         logger.info("Sending POST request to: {} with data", endpoint);
-        List<Map<String, String>> rows = dataTable.asMaps(String.class, String.class);
-        Map<String, String> requestData = rows.get(0); // Take first row
-        apiClient.setBody(requestData);
-        response = apiClient.post(endpoint);
+        setBodyFromTable(dataTable);
+        setResponse(apiClient.post(endpoint));
     }
 
     @When("I send a PUT request to {string} with the following data:")
     public void i_send_a_put_request_to_with_the_following_data(String endpoint, DataTable dataTable) {
         logger.info("Sending PUT request to: {} with data", endpoint);
-        List<Map<String, String>> rows = dataTable.asMaps(String.class, String.class);
-        Map<String, String> requestData = rows.get(0); // Take first row
-        apiClient.setBody(requestData);
-        response = apiClient.put(endpoint);
+        setBodyFromTable(dataTable);
+        setResponse(apiClient.put(endpoint));
     }
 
     @When("I send a PATCH request to {string} with the following data:")
     public void i_send_a_patch_request_to_with_the_following_data(String endpoint, DataTable dataTable) {
         logger.info("Sending PATCH request to: {} with data", endpoint);
-        List<Map<String, String>> rows = dataTable.asMaps(String.class, String.class);
-        Map<String, String> requestData = rows.get(0); // Take first row
-        apiClient.setBody(requestData);
-        response = apiClient.patch(endpoint);
+        setBodyFromTable(dataTable);
+        setResponse(apiClient.patch(endpoint));
     }
 
     @When("I send a DELETE request to {string}")
     public void i_send_a_delete_request_to(String endpoint) {
         logger.info("Sending DELETE request to: {}", endpoint);
-        response = apiClient.delete(endpoint);
+        setResponse(apiClient.delete(endpoint));
     }
 
     @When("I send a GET request to {string} with query parameter {string}")
@@ -83,80 +88,83 @@ public class ApiTestSteps {
         if (parts.length == 2) {
             apiClient.addQueryParam(parts[0], parts[1]);
         }
-        response = apiClient.get(endpoint);
+        setResponse(apiClient.get(endpoint));
+    }
+
+    @When("I stream a GET request to {string}")
+    public void i_stream_a_get_request_to(String endpoint) {
+        logger.info("Streaming GET request to: {}", endpoint);
+        closeStreamingResponse();
+        response = null;
+        document = null;
+        streamingResponse = apiClient.getStreaming(endpoint);
     }
 
     @Then("the response status should be {int}")
     public void the_response_status_should_be(int expectedStatusCode) {
         logger.info("Verifying response status: {}", expectedStatusCode);
-        Assert.assertEquals(expectedStatusCode, response.getStatusCode(), "Response status should be " + expectedStatusCode);
+        Assert.assertEquals(expectedStatusCode, statusCode(), "Response status should be " + expectedStatusCode);
     }
 
     @Then("the response status code should be {int}")
     public void the_response_status_code_should_be(int expectedStatusCode) {
         logger.info("Verifying response status code: {}", expectedStatusCode);
-        Assert.assertEquals(expectedStatusCode, response.getStatusCode(), "Response status code should be " + expectedStatusCode);
+        Assert.assertEquals(expectedStatusCode, statusCode(), "Response status code should be " + expectedStatusCode);
     }
 
     @Then("the response should contain a list of posts")
     public void the_response_should_contain_a_list_of_posts() {
         logger.info("Verifying response contains a list of posts");
-        List<Map<String, Object>> posts = response.jsonPath().getList("$");
-        Assert.assertNotNull(posts.toString(), "Response should contain a list");
+        JsonNode posts = document().root();
+        Assert.assertTrue(posts.isArray(), "Response should contain a list");
         Assert.assertTrue(posts.size() > 0, "Response should contain posts");
     }
 
     @Then("each post should have an {string}, {string}, and {string} field")
     public void each_post_should_have_required_fields(String field1, String field2, String field3) {
         logger.info("Verifying each post has required fields: {}, {}, {}", field1, field2, field3);
-        List<Map<String, Object>> posts = response.jsonPath().getList("$");
-        
-        for (Map<String, Object> post : posts) {
-            Assert.assertTrue(post.containsKey(field1), "Post should have " + field1);
-            Assert.assertTrue(post.containsKey(field2), "Post should have " + field2);
-            Assert.assertTrue(post.containsKey(field3), "Post should have " + field3);
+        for (JsonNode post : document().getArray("$")) {
+            Assert.assertTrue(post.has(field1), "Post should have " + field1);
+            Assert.assertTrue(post.has(field2), "Post should have " + field2);
+            Assert.assertTrue(post.has(field3), "Post should have " + field3);
         }
     }
 
     @Then("the response should contain a single post")
     public void the_response_should_contain_a_single_post() {
         logger.info("Verifying response contains a single post");
-        Map<String, Object> post = response.jsonPath().getMap("$");
-        Assert.assertNotNull(post.toString(), "Response should contain a single post");
+        Assert.assertTrue(document().root().isObject(), "Response should contain a single post");
     }
 
     @Then("the post should have id {string}")
     public void the_post_should_have_id(String expectedId) {
         logger.info("Verifying post has id: {}", expectedId);
-        String actualId = response.jsonPath().getString("id");
+        String actualId = document().getString("id");
         Assert.assertEquals(expectedId, actualId, "Post should have id " + expectedId);
     }
 
     @Then("the response should contain the created post")
     public void the_response_should_contain_the_created_post() {
         logger.info("Verifying response contains the created post");
-        Map<String, Object> post = response.jsonPath().getMap("$");
-        Assert.assertNotNull(post.toString(), "Response should contain the created post");
+        Assert.assertTrue(document().root().isObject(), "Response should contain the created post");
     }
 
     @Then("the post should have an {string} field")
     public void the_post_should_have_an_id_field(String fieldName) {
         logger.info("Verifying post has field: {}", fieldName);
-        Object fieldValue = response.jsonPath().get(fieldName);
-        Assert.assertNotNull( fieldValue.toString(), "Post should have " + fieldName + " field");
+        Assert.assertTrue(document().has(fieldName), "Post should have " + fieldName + " field");
     }
 
     @Then("the response should contain the updated post")
     public void the_response_should_contain_the_updated_post() {
         logger.info("Verifying response contains the updated post");
-        Map<String, Object> post = response.jsonPath().getMap("$");
-        Assert.assertNotNull(post.toString(), "Response should contain the updated post");
+        Assert.assertTrue(document().root().isObject(), "Response should contain the updated post");
     }
 
     @Then("the post title should be {string}")
     public void the_post_title_should_be(String expectedTitle) {
         logger.info("Verifying post title is: {}", expectedTitle);
-        String actualTitle = response.jsonPath().getString("title");
+        String actualTitle = document().getString("title");
         logger.info("Actual title from response: {}", actualTitle);
         
         // Handle case where expected title might be null or empty
@@ -170,10 +178,8 @@ public class ApiTestSteps {
     @Then("all posts should have userId {string}")
     public void all_posts_should_have_user_id(String expectedUserId) {
         logger.info("Verifying all posts have userId: {}", expectedUserId);
-        List<Map<String, Object>> posts = response.jsonPath().getList("$");
-        
-        for (Map<String, Object> post : posts) {
-            String actualUserId = post.get("userId").toString();
+        for (JsonNode post : document().getArray("$")) {
+            String actualUserId = post.path("userId").asText();
             Assert.assertEquals(expectedUserId, actualUserId, "Post should have userId " + expectedUserId);
         }
     }
@@ -181,18 +187,16 @@ public class ApiTestSteps {
     @Then("the response should contain a list of comments")
     public void the_response_should_contain_a_list_of_comments() {
         logger.info("Verifying response contains a list of comments");
-        List<Map<String, Object>> comments = response.jsonPath().getList("$");
-        Assert.assertNotNull( comments.toString(), "Response should contain a list of comments");
+        JsonNode comments = document().root();
+        Assert.assertTrue(comments.isArray(), "Response should contain a list of comments");
         Assert.assertTrue(comments.size() > 0, "Response should contain comments");
     }
 
     @Then("all comments should have postId {string}")
     public void all_comments_should_have_post_id(String expectedPostId) {
         logger.info("Verifying all comments have postId: {}", expectedPostId);
-        List<Map<String, Object>> comments = response.jsonPath().getList("$");
-        
-        for (Map<String, Object> comment : comments) {
-            String actualPostId = comment.get("postId").toString();
+        for (JsonNode comment : document().getArray("$")) {
+            String actualPostId = comment.path("postId").asText();
             Assert.assertEquals(expectedPostId, actualPostId, "Comment should have postId " + expectedPostId);
         }
     }
@@ -200,22 +204,17 @@ public class ApiTestSteps {
     @Then("the response should contain a list of users")
     public void the_response_should_contain_a_list_of_users() {
         logger.info("Verifying response contains a list of users");
-        List<Map<String, Object>> users = response.jsonPath().getList("$");
-        Assert.assertNotNull( users.toString(), "Response should contain a list of users");
+        JsonNode users = document().root();
+        Assert.assertTrue(users.isArray(), "Response should contain a list of users");
         Assert.assertTrue(users.size() > 0, "Response should contain users");
     }
 
-    @Then("each user should have required fields")
-    public void each_user_should_have_required_fields() {
-        logger.info("Verifying each user has required fields");
-        List<Map<String, Object>> users = response.jsonPath().getList("$");
-        String[] requiredFields = {"id", "name", "username", "email"};
-        
-        for (Map<String, Object> user : users) {
-            for (String field : requiredFields) {
-                Assert.assertTrue(user.containsKey(field), "User should have " + field);
-            }
-        }
+    @Then("the response should match the schema {string}")
+    public void the_response_should_match_the_schema(String schemaName) {
+        logger.info("Validating response against schema: {}", schemaName);
+        List<String> errors = JsonSchemaRegistry.validate("schemas/" + schemaName, document().root());
+        Assert.assertTrue(errors.isEmpty(),
+                "Response should match schema " + schemaName + ":\n" + String.join("\n", errors));
     }
 
     @Then("the response body should not be empty")
@@ -232,4 +231,88 @@ public class ApiTestSteps {
         Assert.assertTrue(responseBody.contains(expectedText),
                 "Response should contain " + expectedText);
     }
-} 
\ No newline at end of file
+
+    @Then("every streamed element should have field {string}")
+    public void every_streamed_element_should_have_field(String fieldName) {
+        logger.info("Verifying every streamed element has field: {}", fieldName);
+        long[] failedIndex = {-1};
+        long visited = streamingResponse().forEachElement((index, element) -> {
+            if (!element.has(fieldName)) {
+                failedIndex[0] = index;
+                return false;
+            }
+            return true;
+        });
+        Assert.assertEquals(failedIndex[0], -1L, "Element " + failedIndex[0] + " should have " + fieldName + " field");
+        Assert.assertTrue(visited > 0, "Streamed response should contain at least one element");
+    }
+
+    @Then("every streamed element should have {string} equal to {string}")
+    public void every_streamed_element_should_have_equal_to(String fieldName, String expectedValue) {
+        logger.info("Verifying every streamed element has {} = {}", fieldName, expectedValue);
+        String[] mismatch = new String[1];
+        long visited = streamingResponse().forEachElement((index, element) -> {
+            JsonNode value = element.get(fieldName);
+            String actual = value == null || value.isNull() ? null : value.asText();
+            if (!expectedValue.equals(actual)) {
+                mismatch[0] = "Element " + index + " has " + fieldName + " = " + actual;
+                return false;
+            }
+            return true;
+        });
+        Assert.assertNull(mismatch[0], mismatch[0] + ", expected " + expectedValue);
+        Assert.assertTrue(visited > 0, "Streamed response should contain at least one element");
+    }
+
+    @Then("the streamed response should contain {int} elements")
+    public void the_streamed_response_should_contain_elements(int expectedCount) {
+        logger.info("Verifying streamed response contains {} elements", expectedCount);
+        long count = streamingResponse().forEachElement((index, element) -> true);
+        Assert.assertEquals(count, (long) expectedCount, "Streamed response should contain " + expectedCount + " elements");
+    }
+
+    /**
+     * Delete any spilled response body once the scenario is done
+     */
+    @After("@stream")
+    public void closeStreamingResponse() {
+        if (streamingResponse != null) {
+            streamingResponse.close();
+            streamingResponse = null;
+        }
+    }
+
+    private StreamingResponse streamingResponse() {
+        Assert.assertNotNull(streamingResponse, "No streamed response; use \"I stream a GET request to\" first");
+        return streamingResponse;
+    }
+
+    private int statusCode() {
+        return streamingResponse != null ? streamingResponse.getStatusCode() : response.getStatusCode();
+    }
+
+    /**
+     * Set the first DataTable row as a JSON body, rendered from a template cached per column set
+     */
+    private void setBodyFromTable(DataTable dataTable) {
+        List<Map<String, String>> rows = dataTable.asMaps(String.class, String.class);
+        Map<String, String> requestData = rows.get(0); // Take first row
+        apiClient.setBody(BodyTemplate.forFields(new ArrayList<>(requestData.keySet())), requestData);
+    }
+
+    private void setResponse(Response response) {
+        closeStreamingResponse();
+        this.response = response;
+        this.document = null;
+    }
+
+    /**
+     * Parsed response body, parsed on first use and reused by later assertions
+     */
+    private JsonDocument document() {
+        if (document == null) {
+            document = JsonDocument.parse(response.asByteArray());
+        }
+        return document;
+    }
+}
\ No newline at end of file
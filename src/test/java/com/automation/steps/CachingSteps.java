@@ -0,0 +1,94 @@
+package com.automation.steps;
+
+import com.automation.api.ApiInterceptors;
+import com.automation.api.RestApiClient;
+import com.automation.api.cache.CacheStats;
+import com.automation.api.cache.CachingInterceptor;
+import com.automation.api.cache.ResponseCache;
+import com.automation.api.stub.StubServer;
+import com.automation.config.ConfigManager;
+import io.cucumber.datatable.DataTable;
+import io.cucumber.java.After;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Step definitions sending requests through a CachingInterceptor to the local stub server,
+ * whose framework routes serve fresh responses and revalidate ETags with 304
+ */
+public class CachingSteps {
+    private static final Logger logger = LogManager.getLogger(CachingSteps.class);
+    private final ConfigManager config = ConfigManager.getInstance();
+    private final RestApiClient apiClient = new RestApiClient();
+    private final List<Response> responses = new ArrayList<>();
+    private final ResponseCache cache = new ResponseCache(100, Collections.emptyList());
+    private final CachingInterceptor interceptor = new CachingInterceptor(cache);
+    private StubServer server;
+
+    @Given("a local API server is serving cacheable responses")
+    public void a_local_api_server_is_serving_cacheable_responses() throws IOException {
+        server = StubServer.start(Paths.get(config.getApiStubRoutesPath()).resolve("framework"), 4);
+        apiClient.setBaseUri(server.getBaseUrl());
+        ApiInterceptors.register(interceptor);
+        logger.info("Local API server running at {}", server.getBaseUrl());
+    }
+
+    @When("I send {int} GET requests to {string} through the response cache")
+    public void i_send_get_requests_through_the_response_cache(int count, String path) {
+        for (int i = 0; i < count; i++) {
+            responses.add(apiClient.get(path));
+        }
+    }
+
+    @Then("every cached response should have status {int} and the same body")
+    public void every_cached_response_should_have_status_and_the_same_body(int expectedStatus) {
+        String firstBody = responses.get(0).asString();
+        Assert.assertFalse(firstBody.isEmpty(), "First response body should not be empty");
+        for (Response response : responses) {
+            Assert.assertEquals(response.getStatusCode(), expectedStatus, "Status through the cache");
+            Assert.assertEquals(response.asString(), firstBody, "Body through the cache");
+        }
+    }
+
+    @Then("the cache's API server should have received {int} request(s)")
+    public void the_caches_api_server_should_have_received_requests(int expected) {
+        Assert.assertEquals(server.getRequestCount(), (long) expected, "Requests that reached the server");
+    }
+
+    @Then("the response cache should report:")
+    public void the_response_cache_should_report(DataTable expected) {
+        CacheStats stats = cache.getStats();
+        logger.info("Response cache statistics: {}", stats);
+        Map<String, String> counts = expected.asMaps().get(0);
+        Map<String, Long> actual = Map.of(
+                "hits", stats.getHits(),
+                "misses", stats.getMisses(),
+                "revalidations", stats.getRevalidations(),
+                "notModified", stats.getNotModified(),
+                "bypasses", stats.getBypasses());
+        counts.forEach((name, value) -> {
+            Assert.assertTrue(actual.containsKey(name), "Unknown cache statistic " + name + ", expected one of " + actual.keySet());
+            Assert.assertEquals(actual.get(name), Long.valueOf(value), "Cache " + name + " in " + stats);
+        });
+    }
+
+    @After("@caching")
+    public void cleanUp() {
+        ApiInterceptors.unregister(interceptor);
+        if (server != null) {
+            server.close();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.automation.steps;
+
+import com.automation.api.ApiInterceptors;
+import com.automation.api.ApiResponse;
+import com.automation.api.RestApiClient;
+import com.automation.api.cassette.CassetteInterceptor;
+import com.automation.api.stub.StubServer;
+import com.automation.config.ConfigManager;
+import io.cucumber.java.After;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Step definitions exercising cassette record and replay against the local stub server.
+ * Requests go through RestApiClient's blocking and async verbs with the cassette registered as an interceptor.
+ */
+public class CassetteSteps {
+    private static final Logger logger = LogManager.getLogger(CassetteSteps.class);
+    private final ConfigManager config = ConfigManager.getInstance();
+    private final RestApiClient apiClient = new RestApiClient();
+    private final Map<String, Response> recordedResponses = new HashMap<>();
+    private StubServer server;
+    private Path cassettePath;
+    private CassetteInterceptor replayer;
+
+    @Given("a local API server is running")
+    public void a_local_api_server_is_running() throws IOException {
+        server = StubServer.start(Paths.get(config.getApiStubRoutesPath()), 4);
+        apiClient.setBaseUri(server.getBaseUrl());
+        logger.info("Local API server running at {}", server.getBaseUrl());
+    }
+
+    @When("I record GET requests to {string} into a cassette")
+    public void i_record_get_requests_into_a_cassette(String paths) throws IOException {
+        cassettePath = Files.createTempFile("api-", ".cassette");
+        CassetteInterceptor recorder = CassetteInterceptor.record(cassettePath);
+        ApiInterceptors.register(recorder);
+        try {
+            for (String path : paths.split(",")) {
+                String trimmed = path.trim();
+                logger.info("Recording GET {}", trimmed);
+                recordedResponses.put(trimmed, apiClient.get(trimmed));
+            }
+        } finally {
+            ApiInterceptors.unregister(recorder);
+            recorder.close();
+        }
+        replayer = CassetteInterceptor.replay(cassettePath);
+        ApiInterceptors.register(replayer);
+    }
+
+    @When("the local API server is stopped")
+    public void the_local_api_server_is_stopped() {
+        server.close();
+        server = null;
+    }
+
+    @Then("replaying a GET request to {string} should return status {int} with the recorded body")
+    public void replaying_a_get_request_should_return_status_with_the_recorded_body(String path, int expectedStatus) {
+        Response replayed = apiClient.get(path);
+        Assert.assertEquals(replayed.getStatusCode(), expectedStatus, "Replayed status for " + path);
+        Assert.assertEquals(replayed.asString(), recordedResponses.get(path).asString(), "Replayed body for " + path);
+    }
+
+    @Then("replaying a GET request to {string} should be reported as unmatched")
+    public void replaying_a_get_request_should_be_reported_as_unmatched(String path) {
+        try {
+            apiClient.get(path);
+            Assert.fail("Replaying " + path + " should fail: it was never recorded");
+        } catch (IllegalStateException e) {
+            Assert.assertTrue(e.getMessage().contains(path), "Failure should name the request: " + e.getMessage());
+        }
+        Assert.assertTrue(replayer.getUnmatched().stream().anyMatch(key -> key.startsWith("GET ") && key.endsWith(path)),
+                "Unmatched requests should include " + path + ": " + replayer.getUnmatched());
+    }
+
+    @Then("streaming a GET request to {string} should fail instead of bypassing the cassette")
+    public void streaming_a_get_request_should_fail_instead_of_bypassing_the_cassette(String path) {
+        IllegalStateException failure = Assert.expectThrows(IllegalStateException.class, () -> apiClient.getStreaming(path));
+        Assert.assertTrue(failure.getMessage().contains("cassette"), "Failure should name the cassette: " + failure.getMessage());
+    }
+
+    @Then("{int} parallel replays of GET {string} should all return status {int}")
+    public void parallel_replays_should_all_return_status(int replays, String path, int expectedStatus) {
+        List<CompletableFuture<ApiResponse>> futures = IntStream.range(0, replays)
+                .mapToObj(i -> apiClient.getAsync(path))
+                .collect(Collectors.toList());
+        List<Integer> statuses = futures.stream()
+                .map(future -> future.join().getStatusCode())
+                .distinct()
+                .collect(Collectors.toList());
+        Assert.assertEquals(statuses, Arrays.asList(expectedStatus), "Statuses of " + replays + " parallel replays");
+    }
+
+    @After("@cassette")
+    public void cleanUp() throws IOException {
+        if (replayer != null) {
+            ApiInterceptors.unregister(replayer);
+            replayer.close();
+        }
+        if (server != null) {
+            server.close();
+        }
+        if (cassettePath != null) {
+            Files.deleteIfExists(cassettePath);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.automation.steps;
+
+import com.automation.config.ConfigManager;
+import com.automation.drivers.CommandTracker;
+import io.cucumber.java.After;
+import io.cucumber.java.Before;
+import io.cucumber.java.en.Then;
+import org.testng.Assert;
+
+/**
+ * Step definitions checking that a UI scenario's WebDriver commands are collected for its report.
+ * @commands scenarios turn tracking on ahead of Hooks.setUp, which starts the collection,
+ * and back off after Hooks.tearDown has attached the summary.
+ */
+public class CommandTrackingSteps {
+    private static final String TRACKING_KEY = "browser.command.tracking.enabled";
+    private final ConfigManager config = ConfigManager.getInstance();
+
+    @Before(value = "@commands", order = 0)
+    public void enableCommandTracking() {
+        config.setOverride(TRACKING_KEY, "true");
+    }
+
+    @Then("the scenario's WebDriver commands should include page method {string}")
+    public void the_scenarios_webdriver_commands_should_include_page_method(String pageMethod) {
+        String summary = CommandTracker.getInstance().scenarioSummary();
+        Assert.assertNotNull(summary, "No WebDriver commands were collected for this scenario");
+        Assert.assertTrue(summary.contains(pageMethod + " x"),
+                "Scenario command summary should list " + pageMethod + ": " + summary);
+    }
+
+    @After(value = "@commands", order = 0)
+    public void restoreCommandTracking() {
+        config.setOverride(TRACKING_KEY, null);
+    }
+}
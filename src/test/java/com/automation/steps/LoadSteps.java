@@ -0,0 +1,144 @@
+package com.automation.steps;
+
+import com.automation.api.RestApiClient;
+import com.automation.api.stub.StubServer;
+import com.automation.config.ConfigManager;
+import com.automation.load.LoadGenerator;
+import com.automation.load.LoadProfile;
+import com.automation.load.LoadReport;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.cucumber.java.After;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Step definitions running the load generator against the local stub server and checking its report
+ */
+public class LoadSteps {
+    private static final Logger logger = LogManager.getLogger(LoadSteps.class);
+    private final ConfigManager config = ConfigManager.getInstance();
+    private StubServer server;
+    private List<String> paths;
+    private LoadReport report;
+    private Path reportFile;
+    private JsonNode reportJson;
+
+    @Given("a local API server is serving the stub routes")
+    public void a_local_api_server_is_serving_the_stub_routes() throws IOException {
+        server = StubServer.start(Paths.get(config.getApiStubRoutesPath()), 8);
+        logger.info("Local API server running at {}", server.getBaseUrl());
+    }
+
+    @Given("a local API server is serving slow responses")
+    public void a_local_api_server_is_serving_slow_responses() throws IOException {
+        server = StubServer.start(Paths.get(config.getApiStubRoutesPath()).resolve("framework"), 8);
+        logger.info("Local API server running at {}", server.getBaseUrl());
+    }
+
+    @When("{int} virtual users send GET requests to {string} for {int} second(s)")
+    public void virtual_users_send_get_requests_for_seconds(int users, String requestPaths, int seconds) throws IOException {
+        run(new LoadProfile(LoadProfile.Model.CLOSED, users, 0, users, Duration.ofSeconds(seconds)), requestPaths);
+    }
+
+    @When("GET requests to {string} arrive at {int} per second for {int} second(s) with at most {int} virtual user(s)")
+    public void get_requests_arrive_at_per_second(String requestPaths, int rate, int seconds, int maxUsers) throws IOException {
+        run(new LoadProfile(LoadProfile.Model.OPEN, 1, rate, maxUsers, Duration.ofSeconds(seconds)), requestPaths);
+    }
+
+    private void run(LoadProfile profile, String requestPaths) throws IOException {
+        paths = Arrays.stream(requestPaths.split(",")).map(String::trim).collect(Collectors.toList());
+        LoadGenerator<String> generator = new LoadGenerator<>(
+                profile,
+                paths,
+                path -> "GET " + path,
+                path -> {
+                    Response response = new RestApiClient().setBaseUri(server.getBaseUrl()).get(path);
+                    Assert.assertEquals(response.getStatusCode(), 200, "Status of GET " + path);
+                });
+        report = generator.run();
+        report.log();
+        reportFile = Files.createTempFile("load-report-", ".json");
+        report.writeJson(reportFile);
+        reportJson = new ObjectMapper().readTree(reportFile.toFile());
+    }
+
+    @Then("the load report should show no errors and a throughput above {int} iterations per second")
+    public void the_load_report_should_show_no_errors_and_a_throughput_above(int minimum) {
+        Assert.assertEquals(report.getErrorCount(), 0L, "Load errors: " + reportJson.path("errors"));
+        Assert.assertTrue(report.getThroughputPerSecond() > minimum,
+                "Throughput " + report.getThroughputPerSecond() + " it/s, expected above " + minimum);
+        Assert.assertEquals(reportJson.path("iterations").asLong(), report.getIterations(), "Iterations in the JSON report");
+        Assert.assertTrue(server.getRequestCount() >= report.getIterations(),
+                "The stub server served " + server.getRequestCount() + " of " + report.getIterations() + " iterations");
+    }
+
+    @Then("the load report should have ordered response time percentiles for every request")
+    public void the_load_report_should_have_ordered_response_time_percentiles() {
+        for (String section : Arrays.asList("scenarioResponseTime", "endpoints")) {
+            for (String path : paths) {
+                JsonNode summary = reportJson.path(section).path("GET " + path);
+                Assert.assertTrue(summary.path("count").asLong() > 0, section + " should include GET " + path + ": "
+                        + reportJson.path(section));
+                double p50 = summary.path("p50").asDouble();
+                double p90 = summary.path("p90").asDouble();
+                double p99 = summary.path("p99").asDouble();
+                Assert.assertTrue(p50 > 0 && p50 <= p90 && p90 <= p99 && p99 <= summary.path("max").asDouble(),
+                        section + " percentiles of GET " + path + " should be ordered: " + summary);
+            }
+        }
+    }
+
+    /**
+     * Response time runs from the intended start and service time from the actual start of each iteration,
+     * so once arrivals queue behind busy users the former must pull ahead at every percentile
+     */
+    @Then("the load report's response time percentiles should be at least its service time percentiles")
+    public void the_load_reports_response_time_percentiles_should_be_at_least_its_service_time_percentiles() {
+        for (String path : paths) {
+            JsonNode response = reportJson.path("scenarioResponseTime").path("GET " + path);
+            JsonNode service = reportJson.path("scenarioServiceTime").path("GET " + path);
+            Assert.assertTrue(service.path("count").asLong() > 0, "scenarioServiceTime should include GET " + path);
+            Assert.assertEquals(response.path("count").asLong(), service.path("count").asLong(),
+                    "Iterations of GET " + path + " in both sections");
+            for (String percentile : Arrays.asList("p50", "p90", "p99", "p999", "max")) {
+                Assert.assertTrue(response.path(percentile).asDouble() >= service.path(percentile).asDouble(),
+                        percentile + " of GET " + path + ": response time " + response + " should not be below service time " + service);
+            }
+        }
+    }
+
+    @Then("the load report's p99 response time should exceed its p99 service time by at least {int} ms")
+    public void the_load_reports_p99_response_time_should_exceed_its_service_time(int minimumMs) {
+        for (String path : paths) {
+            double response = reportJson.path("scenarioResponseTime").path("GET " + path).path("p99").asDouble();
+            double service = reportJson.path("scenarioServiceTime").path("GET " + path).path("p99").asDouble();
+            Assert.assertTrue(response - service >= minimumMs, "p99 of GET " + path + ": response time " + response
+                    + " ms should include at least " + minimumMs + " ms of queueing over service time " + service + " ms");
+        }
+    }
+
+    @After("@load")
+    public void cleanUp() throws IOException {
+        if (server != null) {
+            server.close();
+        }
+        if (reportFile != null) {
+            Files.deleteIfExists(reportFile);
+        }
+    }
+}
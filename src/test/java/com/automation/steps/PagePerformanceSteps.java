@@ -0,0 +1,108 @@
+package com.automation.steps;
+
+import com.automation.pageobjects.PageMetrics;
+import com.automation.pageobjects.PerformanceFixturePage;
+import com.automation.utils.FixtureServer;
+import io.cucumber.java.After;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+
+import java.io.IOException;
+
+/**
+ * Step definitions holding page loads to performance budgets, exercised against the locally served fixture page
+ */
+public class PagePerformanceSteps {
+    private static final Logger logger = LogManager.getLogger(PagePerformanceSteps.class);
+    private FixtureServer server;
+    private PerformanceFixturePage page;
+    private PageMetrics metrics;
+
+    @Given("the performance fixture page is served locally")
+    public void the_performance_fixture_page_is_served_locally() throws IOException {
+        server = FixtureServer.start();
+    }
+
+    @When("I open the performance fixture page")
+    public void i_open_the_performance_fixture_page() {
+        open("performance/index.html");
+    }
+
+    @When("I open the performance fixture page with a {int} ms delay on its script")
+    public void i_open_the_performance_fixture_page_with_a_delay_on_its_script(int delayMs) {
+        open("performance/index.html?scriptDelay=" + delayMs);
+    }
+
+    @Then("page load should be under {int} ms")
+    public void page_load_should_be_under(int budgetMs) {
+        double loadMs = metrics().getLoadMs();
+        Assert.assertTrue(loadMs < budgetMs, "Page load took " + Math.round(loadMs) + " ms, budget is " + budgetMs + " ms");
+    }
+
+    @Then("time to first byte should be under {int} ms")
+    public void time_to_first_byte_should_be_under(int budgetMs) {
+        double ttfbMs = metrics().getTtfbMs();
+        Assert.assertTrue(ttfbMs < budgetMs, "Time to first byte was " + Math.round(ttfbMs) + " ms, budget is " + budgetMs + " ms");
+    }
+
+    @Then("largest contentful paint should be under {int} ms")
+    public void largest_contentful_paint_should_be_under(int budgetMs) {
+        double lcpMs = metrics().getLcpMs();
+        Assert.assertTrue(lcpMs >= 0, "The browser did not report largest contentful paint");
+        Assert.assertTrue(lcpMs < budgetMs, "Largest contentful paint was " + Math.round(lcpMs) + " ms, budget is " + budgetMs + " ms");
+    }
+
+    @Then("cumulative layout shift should be under {double}")
+    public void cumulative_layout_shift_should_be_under(double budget) {
+        double cls = metrics().getCls();
+        Assert.assertTrue(cls < budget, String.format("Cumulative layout shift was %.3f, budget is %s", cls, budget));
+    }
+
+    @Then("the page should load at most {int} resources")
+    public void the_page_should_load_at_most_resources(int budget) {
+        int resources = metrics().getResourceCount();
+        Assert.assertTrue(resources <= budget, "The page loaded " + resources + " resources, budget is " + budget);
+    }
+
+    @Then("a page load budget of {int} ms should fail the scenario")
+    public void a_page_load_budget_should_fail_the_scenario(int budgetMs) {
+        AssertionError breach = Assert.expectThrows(AssertionError.class, () -> page_load_should_be_under(budgetMs));
+        logger.info("Budget breach reported as: {}", breach.getMessage());
+        Assert.assertTrue(breach.getMessage().contains("budget is " + budgetMs + " ms"),
+                "The budget step should name the budget it missed: " + breach.getMessage());
+    }
+
+    @Then("the page should have shifted its layout")
+    public void the_page_should_have_shifted_its_layout() {
+        Assert.assertTrue(metrics().getCls() > 0, "Expected a layout shift on the fixture page");
+    }
+
+    private void open(String path) {
+        page = new PerformanceFixturePage();
+        page.open(server.url(path));
+        Assert.assertEquals(page.getStatus(), "ready", "The fixture page's script should have run");
+        metrics = null;
+    }
+
+    /**
+     * Measured once per page load, after the assertions on the page itself
+     */
+    private PageMetrics metrics() {
+        if (metrics == null) {
+            metrics = page.measure();
+            logger.info("Measured {}", metrics);
+        }
+        return metrics;
+    }
+
+    @After("@performance")
+    public void stopFixtureServer() {
+        if (server != null) {
+            server.close();
+        }
+    }
+}
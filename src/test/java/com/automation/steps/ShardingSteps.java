@@ -0,0 +1,174 @@
+package com.automation.steps;
+
+import com.automation.history.ScenarioHistory;
+import com.automation.history.ScenarioRun;
+import com.automation.runner.DurationScheduler;
+import com.automation.runner.ShardPlanner;
+import com.automation.utils.FileLocks;
+import io.cucumber.java.After;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Step definitions planning shards from a synthetic scenario history, in memory or shared through files
+ */
+public class ShardingSteps {
+    private static final Logger logger = LogManager.getLogger(ShardingSteps.class);
+    private static final int FEATURES = 10;
+    private static final int RUNS_PER_SCENARIO = 5;
+
+    // Fixed seed so a failure reproduces with the same history
+    private final Random random = new Random(42);
+    private final ScenarioHistory history = new ScenarioHistory(RUNS_PER_SCENARIO);
+    private final List<String> scenarios = new ArrayList<>();
+    private final List<String> newScenarios = new ArrayList<>();
+    private Map<String, Long> estimates;
+    private ShardPlanner planner;
+    private ShardPlanner.Plan plan;
+    private Path sharedDir;
+    private Path historyFile;
+    private Path snapshotFile;
+
+    @Given("a synthetic history of {int} scenarios lasting between {int} and {int} seconds")
+    public void a_synthetic_history_of_scenarios(int count, int minSeconds, int maxSeconds) {
+        for (int i = 0; i < count; i++) {
+            String scenario = "features/ui/synthetic_" + (i % FEATURES) + ".feature::Scenario " + i;
+            long typicalMs = (minSeconds + random.nextInt(maxSeconds - minSeconds + 1)) * 1000L;
+            for (int run = 0; run < RUNS_PER_SCENARIO; run++) {
+                // Up to 20% jitter between runs, with the odd failure
+                long durationMs = typicalMs + (long) (typicalMs * 0.2 * (random.nextDouble() - 0.5));
+                history.record(scenario, new ScenarioRun(String.valueOf(run),
+                        random.nextInt(10) == 0 ? "FAILED" : "PASSED", durationMs, run));
+            }
+            scenarios.add(scenario);
+        }
+    }
+
+    @Given("{int} new scenarios without history")
+    public void new_scenarios_without_history(int count) {
+        for (int i = 0; i < count; i++) {
+            String scenario = "features/ui/synthetic_" + (i % FEATURES) + ".feature::New scenario " + i;
+            scenarios.add(scenario);
+            newScenarios.add(scenario);
+        }
+    }
+
+    @Given("the history is shared by the shards of a run")
+    public void the_history_is_shared_by_the_shards_of_a_run() throws IOException {
+        sharedDir = Files.createTempDirectory("shards-");
+        historyFile = sharedDir.resolve("scenario-history.json");
+        snapshotFile = sharedDir.resolve("run-1-scenario-history.json");
+        history.save(historyFile);
+    }
+
+    @When("the scenarios are planned into {int} shards")
+    public void the_scenarios_are_planned_into_shards(int shards) {
+        planFrom(history, shards);
+    }
+
+    @When("the scenarios are planned into {int} shards from the run's snapshot")
+    public void the_scenarios_are_planned_into_shards_from_the_runs_snapshot(int shards) throws IOException {
+        planFrom(ScenarioHistory.loadSnapshot(historyFile, snapshotFile, RUNS_PER_SCENARIO), shards);
+    }
+
+    @When("another shard records new timings for every scenario")
+    public void another_shard_records_new_timings_for_every_scenario() throws IOException {
+        FileLocks.withLock(historyFile, () -> {
+            ScenarioHistory updated = ScenarioHistory.load(historyFile, RUNS_PER_SCENARIO);
+            for (String scenario : scenarios) {
+                long durationMs = (1 + random.nextInt(120)) * 1000L;
+                for (int run = 0; run < RUNS_PER_SCENARIO; run++) {
+                    updated.record(scenario, new ScenarioRun("next", "PASSED", durationMs, RUNS_PER_SCENARIO + run));
+                }
+            }
+            updated.save(historyFile);
+        });
+    }
+
+    @Then("a shard starting now should plan the same partition from the run's snapshot")
+    public void a_shard_starting_now_should_plan_the_same_partition_from_the_runs_snapshot() throws IOException {
+        ShardPlanner.Plan first = plan;
+        planFrom(ScenarioHistory.loadSnapshot(historyFile, snapshotFile, RUNS_PER_SCENARIO), first.getShardCount());
+        Assert.assertEquals(plan.getAssignments(), first.getAssignments(), "Plan of the late shard");
+
+        planFrom(ScenarioHistory.load(historyFile, RUNS_PER_SCENARIO), first.getShardCount());
+        Assert.assertNotEquals(plan.getAssignments(), first.getAssignments(),
+                "Planning from the updated shared history should differ, or this scenario proves nothing");
+    }
+
+    @Then("every scenario should be assigned to exactly one shard")
+    public void every_scenario_should_be_assigned_to_exactly_one_shard() {
+        Assert.assertEquals(plan.getAssignments().keySet(), estimates.keySet(), "Planned scenarios");
+        long total = estimates.values().stream().mapToLong(Long::longValue).sum();
+        long planned = 0;
+        for (int shard = 0; shard < plan.getShardCount(); shard++) {
+            planned += plan.getLoad(shard);
+        }
+        Assert.assertEquals(planned, total, "Sum of shard loads");
+    }
+
+    @Then("the largest shard should be within {int} percent of the lower bound")
+    public void the_largest_shard_should_be_within_percent_of_the_lower_bound(int percent) {
+        long total = estimates.values().stream().mapToLong(Long::longValue).sum();
+        long longest = estimates.values().stream().mapToLong(Long::longValue).max().orElse(0);
+        long lowerBound = Math.max((total + plan.getShardCount() - 1) / plan.getShardCount(), longest);
+        logger.info("Largest shard {} ms, lower bound {} ms", plan.getMaxLoad(), lowerBound);
+        Assert.assertTrue(plan.getMaxLoad() <= lowerBound * (100 + percent) / 100,
+                "Largest shard " + plan.getMaxLoad() + " ms exceeds lower bound " + lowerBound + " ms by more than "
+                        + percent + "%");
+    }
+
+    @Then("planning the scenarios in shuffled order should give the same plan")
+    public void planning_the_scenarios_in_shuffled_order_should_give_the_same_plan() {
+        List<String> shuffled = new ArrayList<>(estimates.keySet());
+        Collections.shuffle(shuffled, random);
+        Map<String, Long> reordered = new LinkedHashMap<>();
+        shuffled.forEach(scenario -> reordered.put(scenario, estimates.get(scenario)));
+        Assert.assertEquals(planner.plan(reordered).getAssignments(), plan.getAssignments(),
+                "Plan computed from shuffled input");
+    }
+
+    @After("@sharding")
+    public void cleanUp() throws IOException {
+        if (sharedDir == null) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(sharedDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(sharedDir);
+    }
+
+    private void planFrom(ScenarioHistory source, int shards) {
+        DurationScheduler estimator = new DurationScheduler(source);
+        estimates = new LinkedHashMap<>();
+        scenarios.forEach(scenario -> estimates.put(scenario,
+                estimator.estimateMs(scenario, Collections.singletonList("@ui"))));
+        planner = new ShardPlanner(shards, estimator);
+        plan = planner.plan(estimates);
+        logger.info("Planned {} scenario(s): {}", scenarios.size(), plan);
+    }
+
+    @Then("no new scenario should be estimated as zero")
+    public void no_new_scenario_should_be_estimated_as_zero() {
+        newScenarios.forEach(scenario -> Assert.assertTrue(estimates.get(scenario) > 0,
+                "Scenario without history estimated as 0 ms: " + scenario));
+    }
+}
@@ -0,0 +1,84 @@
+package com.automation.steps;
+
+import com.automation.api.RestApiClient;
+import com.automation.api.stream.StreamingResponse;
+import com.automation.api.stub.StubServer;
+import com.automation.config.ConfigManager;
+import io.cucumber.java.After;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Step definitions streaming a large response from the local stub server with a lowered spill threshold,
+ * checking that the body goes through a temp file and that closing the response removes it
+ */
+public class StreamingSteps {
+    private static final Logger logger = LogManager.getLogger(StreamingSteps.class);
+    private static final String THRESHOLD_KEY = "api.stream.spill.threshold.bytes";
+    private final ConfigManager config = ConfigManager.getInstance();
+    private final RestApiClient apiClient = new RestApiClient();
+    private StubServer server;
+    private boolean thresholdOverridden;
+    private StreamingResponse response;
+    private Path spillFile;
+
+    @Given("a local API server is serving large responses")
+    public void a_local_api_server_is_serving_large_responses() throws IOException {
+        server = StubServer.start(Paths.get(config.getApiStubRoutesPath()).resolve("framework"), 4);
+        apiClient.setBaseUri(server.getBaseUrl());
+        logger.info("Local API server running at {}", server.getBaseUrl());
+    }
+
+    @Given("streamed bodies larger than {int} bytes are spilled to disk")
+    public void streamed_bodies_larger_than_bytes_are_spilled_to_disk(int thresholdBytes) {
+        config.setOverride(THRESHOLD_KEY, String.valueOf(thresholdBytes));
+        thresholdOverridden = true;
+    }
+
+    @When("I stream a GET request to {string} from the local API server")
+    public void i_stream_a_get_request_from_the_local_api_server(String path) {
+        response = apiClient.getStreaming(path);
+        spillFile = response.getSpillFile();
+        Assert.assertEquals(response.getStatusCode(), 200, "Status of streamed GET " + path);
+    }
+
+    @Then("the streamed body should have been spilled to a temp file")
+    public void the_streamed_body_should_have_been_spilled_to_a_temp_file() throws IOException {
+        Assert.assertTrue(response.isSpilledToDisk(), "A " + response.getSize() + " byte body should be spilled above "
+                + config.getApiStreamSpillThresholdBytes() + " bytes");
+        Assert.assertTrue(spillFile.toAbsolutePath().startsWith(Paths.get(config.getApiStreamTempDir()).toAbsolutePath()),
+                "Spill file " + spillFile + " should be under " + config.getApiStreamTempDir());
+        Assert.assertEquals(Files.size(spillFile), response.getSize(), "Size of spill file " + spillFile);
+    }
+
+    @Then("the spilled body should contain {int} elements")
+    public void the_spilled_body_should_contain_elements(int expectedCount) {
+        Assert.assertEquals(response.forEachElement((index, element) -> true), (long) expectedCount,
+                "Elements streamed from " + spillFile);
+    }
+
+    @After("@stream")
+    public void cleanUp() {
+        if (thresholdOverridden) {
+            config.setOverride(THRESHOLD_KEY, null);
+        }
+        if (server != null) {
+            server.close();
+        }
+        if (response != null) {
+            response.close();
+            if (spillFile != null) {
+                Assert.assertFalse(Files.exists(spillFile), "Closing the response should delete " + spillFile);
+            }
+        }
+    }
+}
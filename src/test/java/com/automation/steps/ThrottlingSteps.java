@@ -0,0 +1,109 @@
+package com.automation.steps;
+
+import com.automation.api.ApiInterceptors;
+import com.automation.api.RestApiClient;
+import com.automation.api.stream.StreamingResponse;
+import com.automation.api.stub.StubServer;
+import com.automation.api.throttle.ThrottlePolicy;
+import com.automation.api.throttle.ThrottleStats;
+import com.automation.api.throttle.ThrottlingInterceptor;
+import com.automation.config.ConfigManager;
+import io.cucumber.java.After;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Step definitions sending requests through a ThrottlingInterceptor to the local stub server,
+ * whose framework routes answer 429 with Retry-After or require basic auth
+ */
+public class ThrottlingSteps {
+    private static final Logger logger = LogManager.getLogger(ThrottlingSteps.class);
+    private final ConfigManager config = ConfigManager.getInstance();
+    private final RestApiClient apiClient = new RestApiClient();
+    private StubServer server;
+    private ThrottlingInterceptor throttle;
+    private int status;
+    private long elapsedMs;
+
+    @Given("a local API server is serving the framework routes")
+    public void a_local_api_server_is_serving_the_framework_routes() throws IOException {
+        server = StubServer.start(Paths.get(config.getApiStubRoutesPath()).resolve("framework"), 4);
+        apiClient.setBaseUri(server.getBaseUrl());
+        logger.info("Local API server running at {}", server.getBaseUrl());
+    }
+
+    @Given("API requests are throttled with at most {int} retries")
+    public void api_requests_are_throttled_with_at_most_retries(int maxRetries) {
+        throttle = new ThrottlingInterceptor(new ThrottlePolicy(100, 10, 8), Collections.emptyMap(), maxRetries);
+        ApiInterceptors.register(throttle);
+    }
+
+    @When("I send a GET request to {string} through the throttle")
+    public void i_send_a_get_request_through_the_throttle(String path) {
+        long start = System.nanoTime();
+        Response response = apiClient.get(path);
+        status = response.getStatusCode();
+        elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        logger.info("GET {} answered {} after {} ms", path, status, elapsedMs);
+    }
+
+    @When("I stream a GET request to {string} through the throttle")
+    public void i_stream_a_get_request_through_the_throttle(String path) {
+        long start = System.nanoTime();
+        try (StreamingResponse response = apiClient.getStreaming(path)) {
+            status = response.getStatusCode();
+        }
+        elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        logger.info("Streaming GET {} answered {} after {} ms", path, status, elapsedMs);
+    }
+
+    @When("I send a GET request to {string} as {string} with password {string} through the throttle")
+    public void i_send_an_authenticated_get_request_through_the_throttle(String path, String username, String password) {
+        apiClient.setAuth(username, password);
+        i_send_a_get_request_through_the_throttle(path);
+    }
+
+    @Then("the throttled response status should be {int}")
+    public void the_throttled_response_status_should_be(int expectedStatus) {
+        Assert.assertEquals(status, expectedStatus, "Status after throttling");
+    }
+
+    @Then("the request should have been retried {int} times, waiting at least {int} ms")
+    public void the_request_should_have_been_retried_times(int retries, int minimumMs) {
+        ThrottleStats stats = hostStats();
+        logger.info("Throttling statistics: {}", stats);
+        Assert.assertEquals(stats.getTooManyRequests(), (long) retries + 1, "429 responses seen");
+        Assert.assertEquals(stats.getRetries(), (long) retries, "Retries after Retry-After");
+        Assert.assertTrue(elapsedMs >= minimumMs, "Retries waited " + elapsedMs + " ms, expected at least " + minimumMs);
+    }
+
+    @Then("the local API server should have received {int} request(s)")
+    public void the_local_api_server_should_have_received_requests(int expected) {
+        Assert.assertEquals(server.getRequestCount(), (long) expected, "Requests that reached the server");
+    }
+
+    @After("@throttle")
+    public void cleanUp() {
+        if (throttle != null) {
+            ApiInterceptors.unregister(throttle);
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    private ThrottleStats hostStats() {
+        Assert.assertEquals(throttle.getStats().size(), 1, "Hosts seen by the throttle: " + throttle.getStats().keySet());
+        return throttle.getStats().values().iterator().next();
+    }
+}
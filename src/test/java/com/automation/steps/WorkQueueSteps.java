@@ -0,0 +1,158 @@
+package com.automation.steps;
+
+import com.automation.runner.WorkQueue;
+import com.automation.utils.SyntheticQueueWorker;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.cucumber.java.After;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Step definitions running separate runner JVMs against a work queue of synthetic scenarios
+ */
+public class WorkQueueSteps {
+    private static final Logger logger = LogManager.getLogger(WorkQueueSteps.class);
+    private static final long PROCESS_TIMEOUT_SECONDS = 120;
+
+    private final Random random = new Random(42);
+    private final List<String> scenarios = new ArrayList<>();
+    private Path directory;
+    private Path queueFile;
+    private String runId;
+    private long leaseMs = 10000;
+    private long maxLeaseMs = 1800000;
+    private int runnerCount;
+    private Process hungRunner;
+
+    @Given("a synthetic suite of {int} scenarios lasting between {int} and {int} ms")
+    public void a_synthetic_suite_of_scenarios(int count, int minMs, int maxMs) throws IOException {
+        for (int i = 0; i < count; i++) {
+            scenarios.add("synthetic-" + i + "::" + (minMs + random.nextInt(maxMs - minMs + 1)));
+        }
+        directory = Files.createTempDirectory("work-queue-");
+        queueFile = directory.resolve("queue.json");
+        runId = directory.getFileName().toString();
+    }
+
+    @Given("the work queue lease time is {int} ms")
+    public void the_work_queue_lease_time_is_ms(int lease) {
+        leaseMs = lease;
+    }
+
+    @Given("a lease is renewed for at most {int} ms")
+    public void a_lease_is_renewed_for_at_most_ms(int maxLease) {
+        maxLeaseMs = maxLease;
+    }
+
+    @When("a runner process crashes on scenario {int} while holding its lease")
+    public void a_runner_process_crashes_on_scenario(int crashAfter) throws Exception {
+        Process process = start("crashing-runner", 1, crashAfter, 0);
+        Assert.assertTrue(process.waitFor(PROCESS_TIMEOUT_SECONDS, TimeUnit.SECONDS), "Crashing runner finished");
+        Assert.assertEquals(process.exitValue(), 1, "Crashing runner exit code");
+    }
+
+    @When("{int} runner processes with {int} threads each drain the work queue")
+    public void runner_processes_drain_the_work_queue(int runners, int threads) throws Exception {
+        runnerCount = runners;
+        List<Process> processes = new ArrayList<>();
+        for (int i = 0; i < runners; i++) {
+            processes.add(start("runner-" + i, threads, 0, 0));
+        }
+        for (int i = 0; i < runners; i++) {
+            Process process = processes.get(i);
+            Assert.assertTrue(process.waitFor(PROCESS_TIMEOUT_SECONDS, TimeUnit.SECONDS), "runner-" + i + " finished");
+            Assert.assertEquals(process.exitValue(), 0, "runner-" + i + " exit code, see " + directory);
+        }
+    }
+
+    @When("a runner process hangs on scenario {int} while holding its lease")
+    public void a_runner_process_hangs_on_scenario(int hangAfter) throws Exception {
+        hungRunner = start("hanging-runner", 1, 0, hangAfter);
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(PROCESS_TIMEOUT_SECONDS);
+        while (!queueFile.toFile().exists()
+                || queue().snapshot().values().stream().filter(state -> state.startsWith("DONE")).count() < hangAfter - 1
+                || !queue().snapshot().containsValue("LEASED x1")) {
+            Assert.assertTrue(hungRunner.isAlive(), "Hanging runner is alive, see " + directory);
+            Assert.assertTrue(System.currentTimeMillis() < deadline, "Hanging runner reached scenario " + hangAfter);
+            Thread.sleep(50);
+        }
+    }
+
+    @Then("the hanging runner process should still be running")
+    public void the_hanging_runner_process_should_still_be_running() {
+        Assert.assertTrue(hungRunner.isAlive(), "Hanging runner is alive, so its lease expired while it renewed others");
+    }
+
+    @After("@queue")
+    public void stopHungRunner() {
+        if (hungRunner != null) {
+            hungRunner.destroyForcibly();
+        }
+    }
+
+    @Then("every synthetic scenario should be done")
+    public void every_synthetic_scenario_should_be_done() {
+        Map<String, String> queued = queue().snapshot();
+        Assert.assertEquals(queued.keySet(), new LinkedHashSet<>(scenarios), "Queued scenarios");
+        queued.forEach((scenario, state) -> Assert.assertTrue(state.startsWith("DONE"), scenario + " is " + state));
+    }
+
+    @Then("every synthetic scenario should have been leased once")
+    public void every_synthetic_scenario_should_have_been_leased_once() {
+        queue().snapshot().forEach((scenario, state) -> Assert.assertEquals(state, "DONE x1", scenario));
+    }
+
+    @Then("{int} synthetic scenario(s) should have been leased twice")
+    public void synthetic_scenarios_should_have_been_leased_twice(int count) {
+        long twice = queue().snapshot().values().stream().filter("DONE x2"::equals).count();
+        Assert.assertEquals(twice, (long) count, "Scenarios leased twice");
+    }
+
+    @Then("each of the {int} runners should report its throughput and idle time")
+    public void each_runner_should_report_its_throughput_and_idle_time(int runners) throws IOException {
+        JsonNode workers = new ObjectMapper().readTree(queueFile.toFile()).path("workers");
+        Assert.assertEquals(workers.size(), runners, "Runners reporting statistics");
+        int completed = 0;
+        for (JsonNode stats : workers) {
+            logger.info("Runner statistics: {}", stats);
+            Assert.assertTrue(stats.has("scenariosPerMinute") && stats.has("idleMs"), "Statistics reported: " + stats);
+            completed += stats.path("completed").asInt();
+        }
+        Assert.assertEquals(completed, scenarios.size(), "Scenarios completed across runners");
+    }
+
+    private WorkQueue queue() {
+        return new WorkQueue(queueFile, runId, "observer", leaseMs);
+    }
+
+    private Process start(String workerId, int threads, int crashAfter, int hangAfter) throws IOException {
+        List<String> command = new ArrayList<>(Arrays.asList(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                SyntheticQueueWorker.class.getName(),
+                queueFile.toString(), runId, workerId, String.valueOf(threads), String.valueOf(leaseMs),
+                String.valueOf(maxLeaseMs), String.valueOf(crashAfter), String.valueOf(hangAfter)));
+        command.addAll(scenarios);
+        File log = directory.resolve(workerId + ".log").toFile();
+        logger.info("Starting runner process {} ({} thread(s)), output in {}", workerId, threads, log);
+        return new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start();
+    }
+}
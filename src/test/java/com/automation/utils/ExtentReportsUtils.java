@@ -9,8 +9,9 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Utility class for ExtentReports integration with base64 screenshot capture
@@ -18,24 +19,29 @@ import java.util.Map;
  */
 public class ExtentReportsUtils {
     private static final Logger logger = LogManager.getLogger(ExtentReportsUtils.class);
-    private static final ExtentReports extentReports = new ExtentReports();
-    private static final Map<String, ExtentTest> testMap = new HashMap<>();
+    private static final Map<String, ExtentTest> testMap = new ConcurrentHashMap<>();
     private static final ScreenshotUtils screenshotUtils = new ScreenshotUtils();
+    private static final AtomicBoolean sparkAttached = new AtomicBoolean();
     
     private static ExtentTest currentTest;
 
+    /**
+     * Builds the report on first use rather than when the hooks load this class
+     */
+    private static final class Holder {
+        private static final ExtentReports EXTENT_REPORTS = createReports();
+    }
+
+    private static ExtentReports createReports() {
+        ExtentReports extentReports = new ExtentReports();
 
-    static {
-        // Initialize ExtentReports
-        ExtentSparkReporter sparkReporter = new ExtentSparkReporter("target/extent-reports/extent-report.html");
-        extentReports.attachReporter(sparkReporter);
-        
         // Set system info
         extentReports.setSystemInfo("OS", System.getProperty("os.name"));
         extentReports.setSystemInfo("Java Version", System.getProperty("java.version"));
         extentReports.setSystemInfo("Selenium Version", "4.15.0");
         extentReports.setSystemInfo("Framework", "Cucumber + TestNG");
         extentReports.setSystemInfo("Screenshot Format", "Base64 Encoded");
+        return extentReports;
     }
 
     /**
@@ -43,7 +49,7 @@ public class ExtentReportsUtils {
      */
     public static void startTest(String scenarioName) {
 
-        currentTest = extentReports.createTest(scenarioName);
+        currentTest = Holder.EXTENT_REPORTS.createTest(scenarioName);
         testMap.put(scenarioName, currentTest);
         
         logger.info("ExtentReports test started: {}", scenarioName);
@@ -76,9 +82,22 @@ public class ExtentReportsUtils {
     }
 
     /**
-     * Get WebDriver instance
+     * Add an informational entry to a started test
+     */
+    public static void logInfo(String scenarioName, String message) {
+        ExtentTest test = testMap.get(scenarioName);
+        if (test != null) {
+            test.log(Status.INFO, message);
+        }
+    }
+
+    /**
+     * Get this thread's WebDriver instance, or null when the scenario never started a browser
      */
     private static WebDriver getWebDriver() {
+        if (!DriverManager.hasDriver()) {
+            return null;
+        }
         try {
             return DriverManager.getDriver();
         } catch (Exception e) {
@@ -124,6 +143,12 @@ public class ExtentReportsUtils {
      * Flush ExtentReports
      */
     public static void flushReports() {
+        ExtentReports extentReports = Holder.EXTENT_REPORTS;
+        // The Spark reporter renders the whole report on each flush, so attaching it at the first
+        // flush keeps its template engine off the path to the first scenario
+        if (sparkAttached.compareAndSet(false, true)) {
+            extentReports.attachReporter(new ExtentSparkReporter("target/extent-reports/extent-report.html"));
+        }
         extentReports.flush();
     }
 
@@ -0,0 +1,128 @@
+package com.automation.utils;
+
+import com.automation.config.ConfigManager;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves the fixture pages under src/test/resources/fixtures to the browser.
+ * Any request may carry delay=N to answer after N ms; query parameters also fill
+ * {{name}} placeholders in HTML files, e.g. index.html?scriptDelay=1500.
+ * Responses are never cached, so every load goes over the network.
+ */
+public final class FixtureServer implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(FixtureServer.class);
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "html", "text/html; charset=utf-8",
+            "css", "text/css",
+            "js", "application/javascript",
+            "svg", "image/svg+xml");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private FixtureServer() throws IOException {
+        // Bound to all interfaces so a browser on the grid can reach it through browser.fixture.host
+        server = HttpServer.create(new InetSocketAddress(0), 0);
+        executor = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "fixture-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public static FixtureServer start() throws IOException {
+        FixtureServer fixtureServer = new FixtureServer();
+        logger.info("Fixture server listening at {}", fixtureServer.url(""));
+        return fixtureServer;
+    }
+
+    /**
+     * URL of a fixture path as the browser reaches it, e.g. "performance/index.html"
+     */
+    public String url(String path) {
+        return "http://" + ConfigManager.getInstance().getBrowserFixtureHost() + ":"
+                + server.getAddress().getPort() + "/" + path;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        try {
+            pause(Long.parseLong(query.getOrDefault("delay", "0")));
+            byte[] body;
+            try (InputStream resource = path.contains("..") ? null
+                    : FixtureServer.class.getResourceAsStream("/fixtures" + path)) {
+                if (resource == null) {
+                    exchange.sendResponseHeaders(404, -1);
+                    return;
+                }
+                body = resource.readAllBytes();
+            }
+            String extension = path.substring(path.lastIndexOf('.') + 1);
+            if ("html".equals(extension)) {
+                String html = new String(body, StandardCharsets.UTF_8);
+                for (Map.Entry<String, String> parameter : query.entrySet()) {
+                    html = html.replace("{{" + parameter.getKey() + "}}", parameter.getValue());
+                }
+                body = html.replaceAll("\\{\\{\\w+}}", "0").getBytes(StandardCharsets.UTF_8);
+            }
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPES.getOrDefault(extension, "application/octet-stream"));
+            exchange.getResponseHeaders().set("Cache-Control", "no-store");
+            // Lets the page read transfer sizes from resource timing
+            exchange.getResponseHeaders().set("Timing-Allow-Origin", "*");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> parameters = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                parameters.put(pair.substring(0, separator), pair.substring(separator + 1));
+            }
+        }
+        return parameters;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,54 @@
+package com.automation.utils;
+
+import com.automation.runner.QueueWorker;
+import com.automation.runner.WorkQueue;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stand-alone runner process draining a work queue of synthetic scenarios, started by WorkQueueSteps.
+ * A scenario id ends in its duration ("synthetic-7::120" sleeps 120 ms).
+ * Arguments: queue file, run id, worker id, threads, lease ms, longest lease ms, crash on the Nth
+ * scenario (0 never), hang on the Nth scenario (0 never), then the scenario ids in priority order.
+ */
+public final class SyntheticQueueWorker {
+    private static final Logger logger = LogManager.getLogger(SyntheticQueueWorker.class);
+
+    private SyntheticQueueWorker() {
+    }
+
+    public static void main(String[] args) {
+        WorkQueue queue = new WorkQueue(Paths.get(args[0]), args[1], args[2], Long.parseLong(args[4]));
+        int crashAfter = Integer.parseInt(args[6]);
+        int hangAfter = Integer.parseInt(args[7]);
+        queue.seed(Arrays.asList(args).subList(8, args.length));
+
+        long leaseMs = Long.parseLong(args[4]);
+        QueueWorker worker = new QueueWorker(queue, Integer.parseInt(args[3]), 50, Math.max(1, leaseMs / 3),
+                Long.parseLong(args[5]));
+        AtomicInteger started = new AtomicInteger();
+        worker.run(id -> {
+            int scenario = started.incrementAndGet();
+            if (scenario == crashAfter) {
+                // Die holding the lease, like a runner killed mid-scenario
+                logger.info("{} crashing while running {}", queue.getWorkerId(), id);
+                Runtime.getRuntime().halt(1);
+            }
+            try {
+                if (scenario == hangAfter) {
+                    // Stay alive but never finish, like a scenario stuck on a dead socket
+                    logger.info("{} hanging while running {}", queue.getWorkerId(), id);
+                    Thread.sleep(Long.MAX_VALUE);
+                }
+                Thread.sleep(Long.parseLong(id.substring(id.lastIndexOf(':') + 1)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        worker.report();
+    }
+}
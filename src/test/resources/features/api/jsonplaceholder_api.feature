@@ -12,6 +12,7 @@ Feature: JSONPlaceholder API Testing
     When I send a GET request to "/posts"
     Then the response status code should be 200
     And the response should contain a list of posts
+    And the response should match the schema "post-list.json"
     And each post should have an "id", "title", and "body" field
 
   @get @single
@@ -19,6 +20,7 @@ Feature: JSONPlaceholder API Testing
     When I send a GET request to "/posts/1"
     Then the response status code should be 200
     And the response should contain a single post
+    And the response should match the schema "post.json"
     And the post should have id "1"
 
   @get @not_found
@@ -70,10 +72,24 @@ Feature: JSONPlaceholder API Testing
     Then the response status code should be 200
     And the response should contain a list of comments
     And all comments should have postId "1"
+    And the response should match the schema "comment-list.json"
 
   @get @users
   Scenario: Get All Users
     When I send a GET request to "/users"
     Then the response status code should be 200
     And the response should contain a list of users
-    And each user should have required fields 
\ No newline at end of file
+    And the response should match the schema "user-list.json"
+
+  @get @stream
+  Scenario: Stream All Comments
+    When I stream a GET request to "/comments"
+    Then the response status code should be 200
+    And the streamed response should contain 500 elements
+    And every streamed element should have field "email"
+
+  @get @stream
+  Scenario: Stream Comments for a Post
+    When I stream a GET request to "/posts/1/comments"
+    Then the response status code should be 200
+    And every streamed element should have "postId" equal to "1"
@@ -0,0 +1,26 @@
+@framework @throttle
+Feature: API Throttling Against a Rate-Limited Server
+  As a developer
+  I want throttled requests to honour Retry-After and keep their credentials
+  So that API scenarios back off instead of failing when the server rate-limits them
+
+  Background:
+    Given a local API server is serving the framework routes
+    And API requests are throttled with at most 2 retries
+
+  Scenario: A 429 With Retry-After Is Retried After the Requested Delay
+    When I send a GET request to "/throttled" through the throttle
+    Then the throttled response status should be 429
+    And the request should have been retried 2 times, waiting at least 2000 ms
+    And the local API server should have received 3 requests
+
+  Scenario: Throttled Requests Keep Their Basic Auth
+    When I send a GET request to "/private" as "user" with password "secret" through the throttle
+    Then the throttled response status should be 200
+    And the local API server should have received 1 request
+
+  Scenario: Streamed Requests Are Throttled Too
+    When I stream a GET request to "/throttled" through the throttle
+    Then the throttled response status should be 429
+    And the request should have been retried 2 times, waiting at least 2000 ms
+    And the local API server should have received 3 requests
@@ -0,0 +1,22 @@
+@framework @cassette
+Feature: HTTP Cassette Record and Replay
+  As a developer
+  I want to record API traffic once and replay it
+  So that API scenarios can run at memory speed without the real server
+
+  Background:
+    Given a local API server is running
+
+  Scenario: Replay Recorded Exchanges Without the Server
+    When I record GET requests to "/posts/1, /users, /posts/999" into a cassette
+    And the local API server is stopped
+    Then replaying a GET request to "/posts/1" should return status 200 with the recorded body
+    And replaying a GET request to "/users" should return status 200 with the recorded body
+    And replaying a GET request to "/posts/999" should return status 404 with the recorded body
+    And replaying a GET request to "/posts/2" should be reported as unmatched
+    And streaming a GET request to "/posts/1" should fail instead of bypassing the cassette
+
+  Scenario: Replay Recorded Exchanges in Parallel
+    When I record GET requests to "/users" into a cassette
+    And the local API server is stopped
+    Then 500 parallel replays of GET "/users" should all return status 200
@@ -0,0 +1,17 @@
+@framework @load
+Feature: Load Generation Against the Stub Server
+  As a developer
+  I want the load generator checked against a server with known behaviour
+  So that its throughput and percentile figures can be trusted for real targets
+
+  Scenario: A Closed Workload Reports Throughput and Percentiles
+    Given a local API server is serving the stub routes
+    When 4 virtual users send GET requests to "/posts/1, /users" for 2 seconds
+    Then the load report should show no errors and a throughput above 10 iterations per second
+    And the load report should have ordered response time percentiles for every request
+
+  Scenario: An Open Workload Counts Queueing Delay in Its Response Times
+    Given a local API server is serving slow responses
+    When GET requests to "/slow" arrive at 20 per second for 2 seconds with at most 1 virtual user
+    Then the load report's response time percentiles should be at least its service time percentiles
+    And the load report's p99 response time should exceed its p99 service time by at least 500 ms
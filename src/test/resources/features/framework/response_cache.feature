@@ -0,0 +1,33 @@
+@framework @caching
+Feature: API Response Cache
+  As a developer
+  I want repeated GET requests answered from the response cache
+  So that API scenarios do not pay for the same response twice
+
+  Background:
+    Given a local API server is serving cacheable responses
+
+  Scenario: Fresh Responses Are Served From the Cache
+    When I send 3 GET requests to "/cached/fresh" through the response cache
+    Then every cached response should have status 200 and the same body
+    And the cache's API server should have received 1 request
+    And the response cache should report:
+      | hits | misses | revalidations | notModified | bypasses |
+      | 2    | 1      | 0             | 0           | 0        |
+
+  Scenario: Stale Responses Are Revalidated With If-None-Match
+    When I send 3 GET requests to "/cached/etag" through the response cache
+    Then every cached response should have status 200 and the same body
+    And the cache's API server should have received 3 requests
+    And the response cache should report:
+      | hits | misses | revalidations | notModified | bypasses |
+      | 0    | 1      | 2             | 2           | 0        |
+
+  @fresh
+  Scenario: Fresh Scenarios Bypass the Cache
+    When I send 3 GET requests to "/cached/fresh" through the response cache
+    Then every cached response should have status 200 and the same body
+    And the cache's API server should have received 3 requests
+    And the response cache should report:
+      | hits | misses | revalidations | notModified | bypasses |
+      | 0    | 0      | 0             | 0           | 3        |
@@ -0,0 +1,14 @@
+@framework @stream
+Feature: Streaming Large Responses
+  As a developer
+  I want large response bodies spilled to a temp file that is removed afterwards
+  So that streaming assertions keep heap usage flat without leaving files behind
+
+  Background:
+    Given a local API server is serving large responses
+    And streamed bodies larger than 10000 bytes are spilled to disk
+
+  Scenario: A Body Above the Spill Threshold Is Streamed From a Temp File
+    When I stream a GET request to "/large/comments" from the local API server
+    Then the streamed body should have been spilled to a temp file
+    And the spilled body should contain 500 elements
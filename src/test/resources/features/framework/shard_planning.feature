@@ -0,0 +1,32 @@
+@framework @sharding
+Feature: Balanced Scenario Sharding
+  As a developer
+  I want a run split into shards of equal expected duration
+  So that containers running the shards finish at about the same time
+
+  These scenarios plan shards from a synthetic timing history and need no browser or server
+
+  Scenario: Shards Are Balanced Against the Lower Bound
+    Given a synthetic history of 200 scenarios lasting between 1 and 120 seconds
+    When the scenarios are planned into 4 shards
+    Then every scenario should be assigned to exactly one shard
+    And the largest shard should be within 5 percent of the lower bound
+
+  Scenario: Every Shard Computes the Same Plan
+    Given a synthetic history of 200 scenarios lasting between 1 and 120 seconds
+    When the scenarios are planned into 4 shards
+    Then planning the scenarios in shuffled order should give the same plan
+
+  Scenario: Scenarios Without History Are Estimated and Planned
+    Given a synthetic history of 60 scenarios lasting between 1 and 120 seconds
+    And 10 new scenarios without history
+    When the scenarios are planned into 3 shards
+    Then every scenario should be assigned to exactly one shard
+    And no new scenario should be estimated as zero
+
+  Scenario: A Late Shard Plans From the Run's History Snapshot
+    Given a synthetic history of 100 scenarios lasting between 1 and 120 seconds
+    And the history is shared by the shards of a run
+    When the scenarios are planned into 4 shards from the run's snapshot
+    And another shard records new timings for every scenario
+    Then a shard starting now should plan the same partition from the run's snapshot
@@ -0,0 +1,32 @@
+@framework @queue
+Feature: Shared Scenario Work Queue
+  As a developer
+  I want several runner processes to lease scenarios from one queue
+  So that a fast runner takes more work and a crashed runner's scenarios still run
+
+  These scenarios start separate JVMs against a synthetic suite and need no browser or server
+
+  Scenario: Runner Processes Drain the Queue Together
+    Given a synthetic suite of 40 scenarios lasting between 20 and 200 ms
+    When 3 runner processes with 2 threads each drain the work queue
+    Then every synthetic scenario should be done
+    And every synthetic scenario should have been leased once
+    And each of the 3 runners should report its throughput and idle time
+
+  Scenario: Leases of a Crashed Runner Are Reclaimed
+    Given a synthetic suite of 20 scenarios lasting between 20 and 100 ms
+    And the work queue lease time is 1000 ms
+    When a runner process crashes on scenario 3 while holding its lease
+    And 2 runner processes with 2 threads each drain the work queue
+    Then every synthetic scenario should be done
+    And 1 synthetic scenario should have been leased twice
+
+  Scenario: A Hung Scenario Loses Its Lease
+    Given a synthetic suite of 20 scenarios lasting between 20 and 100 ms
+    And the work queue lease time is 1000 ms
+    And a lease is renewed for at most 2000 ms
+    When a runner process hangs on scenario 3 while holding its lease
+    And 2 runner processes with 2 threads each drain the work queue
+    Then every synthetic scenario should be done
+    And 1 synthetic scenario should have been leased twice
+    And the hanging runner process should still be running
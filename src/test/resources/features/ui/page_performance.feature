@@ -0,0 +1,27 @@
+@ui @performance
+Feature: Page Performance Budgets
+  As a test engineer
+  I want page loads held to performance budgets
+  So that front-end regressions fail the build like functional ones
+
+  Background:
+    Given the performance fixture page is served locally
+
+  @smoke
+  Scenario: Fixture page loads within its budgets
+    When I open the performance fixture page
+    Then page load should be under 2000 ms
+    And time to first byte should be under 500 ms
+    And largest contentful paint should be under 2500 ms
+    And cumulative layout shift should be under 0.5
+    And the page should load at most 5 resources
+
+  Scenario: A slow script breaks the page load budget
+    When I open the performance fixture page with a 1500 ms delay on its script
+    Then a page load budget of 1000 ms should fail the scenario
+    And the page should have shifted its layout
+
+  @commands
+  Scenario: Page object commands are collected for the scenario report
+    When I open the performance fixture page
+    Then the scenario's WebDriver commands should include page method "PerformanceFixturePage.open"
@@ -0,0 +1 @@
+document.getElementById('status').textContent = 'ready';